@@ -0,0 +1,184 @@
+package com.opitech.superheroes.reactive.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark de carga que compara la variante servlet (Spring MVC + JPA) con la reactiva (WebFlux + R2DBC).
+ * <p>
+ * Para cada aplicación abre {@code concurrency} conexiones concurrentes (un hilo virtual por conexión) que repiten
+ * la misma petición durante {@code duration}, y mide throughput y latencias. Antes y durante la carga lee de
+ * Actuator la memoria usada y los hilos vivos del servidor para estimar la memoria por conexión.
+ * <p>
+ * Herramienta independiente en {@code src/benchmark/java}: solo se compila con el perfil {@code benchmark}, así que
+ * no entra en el artefacto ni en los tests. Con ambas aplicaciones levantadas:
+ * <pre>
+ * ./mvnw -Pbenchmark compile exec:java \
+ *     -Dexec.args="servlet=http://localhost:5300 reactive=http://localhost:5301 concurrency=2000 duration=30"
+ * </pre>
+ * Opciones ({@code clave=valor}): {@code servlet}, {@code reactive}, {@code concurrency} (1000),
+ * {@code duration} en segundos (30) y {@code path} ({@code /api/v1/heroes?size=20}).
+ */
+public class HeroApiBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String path = options.getOrDefault("path", "/api/v1/heroes?size=20");
+
+        Map<String, String> targets = new LinkedHashMap<>();
+        targets.put("servlet", options.getOrDefault("servlet", "http://localhost:5300"));
+        targets.put("reactive", options.getOrDefault("reactive", "http://localhost:5301"));
+
+        System.out.printf("concurrency=%d duration=%ds path=%s%n%n", concurrency, duration.toSeconds(), path);
+        System.out.printf("%-9s %10s %10s %9s %9s %8s %14s %12s %14s%n",
+                "stack", "requests", "req/s", "p50 ms", "p99 ms", "errors", "heap delta MB", "threads", "KB/connection");
+
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            Result result = run(target.getValue(), path, concurrency, duration);
+            System.out.printf("%-9s %10d %10.0f %9.1f %9.1f %8d %14.1f %12s %14.1f%n",
+                    target.getKey(), result.requests(), result.throughput(), result.percentile(50), result.percentile(99),
+                    result.errors(), result.heapDeltaBytes() / 1024.0 / 1024.0,
+                    result.threadsBefore() + " -> " + result.threadsUnderLoad(),
+                    result.heapDeltaBytes() / 1024.0 / concurrency);
+        }
+    }
+
+    private static Result run(String baseUrl, String path, int concurrency, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        // Calentamiento y línea base
+        for (int i = 0; i < 200; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+        double heapBefore = metric(client, baseUrl, "jvm.memory.used?tag=area:heap");
+        double threadsBefore = metric(client, baseUrl, "jvm.threads.live");
+
+        AtomicLong errors = new AtomicLong();
+        List<LatencyRecorder> recorders = new ArrayList<>(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        long start = System.nanoTime();
+        double heapUnderLoad;
+        double threadsUnderLoad;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        recorder.record(System.nanoTime() - sent);
+                    }
+                    recorder.trim();
+                    return null;
+                });
+            }
+
+            // Muestra del servidor a mitad de la carga, con todas las conexiones abiertas
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos() / 2);
+            heapUnderLoad = metric(client, baseUrl, "jvm.memory.used?tag=area:heap");
+            threadsUnderLoad = metric(client, baseUrl, "jvm.threads.live");
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Al cerrar el executor todos los workers han terminado, sus arrays ya son visibles y definitivos
+        long[] latencies = recorders.stream().map(LatencyRecorder::samples).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(latencies, elapsed, errors.get(),
+                (long) (heapUnderLoad - heapBefore), (long) threadsBefore, (long) threadsUnderLoad);
+    }
+
+    private static double metric(HttpClient client, String baseUrl, String metric) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric)).GET().build();
+        JsonNode body = MAPPER.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return body.path("measurements").path(0).path("value").asDouble();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Latencias de un único worker (sin sincronización: cada hilo escribe solo en su array).
+     */
+    private static final class LatencyRecorder {
+
+        private long[] samples = new long[1024];
+        private int count;
+
+        void record(long nanos) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+        }
+
+        void trim() {
+            samples = Arrays.copyOf(samples, count);
+        }
+
+        long[] samples() {
+            return samples;
+        }
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, long errors,
+                          long heapDeltaBytes, long threadsBefore, long threadsUnderLoad) {
+
+        long requests() {
+            return latencies.length;
+        }
+
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentile(int percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile / 100.0 * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
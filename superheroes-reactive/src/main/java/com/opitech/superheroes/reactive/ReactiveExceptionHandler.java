@@ -0,0 +1,74 @@
+package com.opitech.superheroes.reactive;
+
+import com.opitech.superheroes.error.ApiError;
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mismo formato de error ({@link ApiError}) y mismos códigos HTTP que el GlobalExceptionHandler servlet.
+ */
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+    private ApiError buildError(HttpStatus status, String message, ServerWebExchange exchange) {
+        return new ApiError(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                exchange.getRequest().getPath().value()
+        );
+    }
+
+    // 404 - recurso no encontrado
+    @ExceptionHandler(HeroNotFoundException.class)
+    public ResponseEntity<ApiError> handleHeroNotFound(HeroNotFoundException ex, ServerWebExchange exchange) {
+        HttpStatus status = HttpStatus.NOT_FOUND;
+        return ResponseEntity.status(status).body(buildError(status, ex.getMessage(), exchange));
+    }
+
+    // 409 - conflicto por duplicidad (validación previa o constraint uk_hero_name en carrera)
+    @ExceptionHandler({HeroAlreadyExistsException.class, DataIntegrityViolationException.class})
+    public ResponseEntity<ApiError> handleHeroAlreadyExists(RuntimeException ex, ServerWebExchange exchange) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        String message = ex instanceof HeroAlreadyExistsException ? ex.getMessage() : "Data integrity violation";
+        return ResponseEntity.status(status).body(buildError(status, message, exchange));
+    }
+
+    // 400 - validaciones de body @Valid
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiError> handleValidation(WebExchangeBindException ex, ServerWebExchange exchange) {
+        String message = ex.getBindingResult().getFieldErrors().stream()
+                .findFirst()
+                .map(fieldError -> fieldError.getField() + ": " + fieldError.getDefaultMessage())
+                .orElse("Validation error");
+
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(buildError(status, message, exchange));
+    }
+
+    // 400 - parámetros de request inválidos (por ejemplo, search sin name)
+    @ExceptionHandler({ServerWebInputException.class, IllegalArgumentException.class})
+    public ResponseEntity<ApiError> handleBadRequest(Exception ex, ServerWebExchange exchange) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        String message = ex instanceof ServerWebInputException input ? input.getReason() : ex.getMessage();
+        return ResponseEntity.status(status).body(buildError(status, message, exchange));
+    }
+
+    // 500 - cualquier otra cosa inesperada
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiError> handleUnexpected(Exception ex, ServerWebExchange exchange) {
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(buildError(status, ex.getMessage(), exchange));
+    }
+}
@@ -0,0 +1,219 @@
+package com.opitech.superheroes.reactive;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.error.ApiError;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST no bloqueante para la gestión de héroes.
+ * Expone el mismo contrato que el controlador servlet en {@code /api/v1/heroes}, más una variante
+ * en streaming (NDJSON) del listado en {@code /api/v1/heroes/stream}.
+ */
+@RestController
+@RequestMapping("/api/v1/heroes")
+@Tag(name = "Héroes", description = "API reactiva para la gestión de superhéroes")
+public class ReactiveHeroController {
+
+    private final ReactiveHeroService heroService;
+
+    public ReactiveHeroController(ReactiveHeroService heroService) {
+        this.heroService = heroService;
+    }
+
+    @Operation(
+            summary = "Obtener todos los héroes",
+            description = "Retorna una lista paginada de todos los superhéroes del sistema. Permite ordenamiento y paginación.",
+            operationId = "getAllHeroes"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de héroes obtenida exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+            )
+    })
+    @GetMapping
+    public Mono<Page<HeroResponseDto>> getAllHeroes(
+            @Parameter(
+                    description = "Parámetros de paginación y ordenamiento. Ejemplo: ?page=0&size=10&sort=name,asc"
+            )
+            @PageableDefault(size = 10, sort = "name") Pageable pageable
+    ) {
+        return heroService.getAllHeroes(pageable);
+    }
+
+    /**
+     * Endpoint para obtener todos los héroes en streaming (NDJSON). Cada héroe se escribe en cuanto se lee y
+     * la lectura de la base de datos avanza al ritmo que consume el cliente.
+     *
+     * @param sort ordenamiento del flujo.
+     * @return Flujo de héroes.
+     */
+    @Operation(
+            summary = "Obtener todos los héroes en streaming",
+            description = "Retorna todos los héroes como NDJSON, con backpressure hasta la base de datos.",
+            operationId = "streamAllHeroes"
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<HeroResponseDto> streamAllHeroes(
+            @Parameter(description = "Ordenamiento. Ejemplo: ?sort=name,asc")
+            @SortDefault(sort = "name") Sort sort
+    ) {
+        return heroService.streamAllHeroes(sort);
+    }
+
+    @Operation(
+            summary = "Obtener héroe por ID",
+            description = "Retorna el detalle de un héroe identificado por su ID.",
+            operationId = "getHeroById"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Héroe encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Héroe no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+    })
+    @GetMapping("/{id}")
+    public Mono<HeroResponseDto> getHeroById(
+            @Parameter(description = "Identificador único del héroe", example = "1")
+            @PathVariable Long id) {
+        return heroService.getHeroById(id);
+    }
+
+    @Operation(
+            summary = "Crear un nuevo héroe",
+            description = "Crea un nuevo héroe con los datos proporcionados en el cuerpo de la petición.",
+            operationId = "createHero"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Héroe creado exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos (errores de validación)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Ya existe otro héroe con el mismo nombre",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @PostMapping
+    public Mono<ResponseEntity<HeroResponseDto>> createHero(
+            @Parameter(description = "Datos del héroe a crear", required = true)
+            @Valid @RequestBody HeroRequestDto requestDto,
+            UriComponentsBuilder uriBuilder) {
+
+        return heroService.createHero(requestDto)
+                .map(created -> ResponseEntity
+                        .created(uriBuilder.path("/api/v1/heroes/{id}").buildAndExpand(created.getId()).toUri())
+                        .body(created));
+    }
+
+    @Operation(
+            summary = "Actualizar un héroe existente",
+            description = "Actualiza los datos de un héroe identificado por su ID.",
+            operationId = "updateHero"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Héroe actualizado exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos (errores de validación)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Héroe no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Ya existe otro héroe con el mismo nombre",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @PutMapping("/{id}")
+    public Mono<HeroResponseDto> updateHero(
+            @Parameter(description = "Identificador único del héroe a actualizar", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Nuevos datos del héroe", required = true)
+            @Valid @RequestBody HeroRequestDto requestDto
+    ) {
+        return heroService.updateHero(id, requestDto);
+    }
+
+    @Operation(
+            summary = "Eliminar un héroe",
+            description = "Elimina un héroe identificado por su ID.",
+            operationId = "deleteHero"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Héroe eliminado exitosamente (sin contenido en la respuesta)"),
+            @ApiResponse(responseCode = "404", description = "Héroe no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+    })
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteHero(
+            @Parameter(description = "Identificador único del héroe a eliminar", example = "1")
+            @PathVariable Long id
+    ) {
+        return heroService.deleteHero(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    @Operation(
+            summary = "Buscar héroes por nombre",
+            description = "Busca héroes cuyo nombre contenga el texto indicado. Retorna una lista paginada.",
+            operationId = "searchHeroes"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda de héroes realizada exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+            )
+    })
+    @GetMapping("/search")
+    public Mono<Page<HeroResponseDto>> searchHeroes(
+            @Parameter(
+                    description = "Texto a buscar en el nombre del héroe (búsqueda parcial, case-insensitive)",
+                    example = "man",
+                    required = true
+            )
+            @RequestParam(name = "name") String name,
+            @Parameter(
+                    description = "Parámetros de paginación y ordenamiento. Ejemplo: ?page=0&size=10&sort=name,asc"
+            )
+            @PageableDefault(size = 10, sort = "name") Pageable pageable
+    ) {
+        return heroService.searchHeroesByName(name, pageable);
+    }
+
+    @Operation(
+            summary = "Buscar héroes por nombre en streaming",
+            description = "Retorna como NDJSON todos los héroes cuyo nombre contenga el texto indicado, con backpressure.",
+            operationId = "streamSearchHeroes"
+    )
+    @GetMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<HeroResponseDto> streamSearchHeroes(
+            @Parameter(description = "Texto a buscar en el nombre del héroe", example = "man", required = true)
+            @RequestParam(name = "name") String name,
+            @Parameter(description = "Ordenamiento. Ejemplo: ?sort=name,asc")
+            @SortDefault(sort = "name") Sort sort
+    ) {
+        return heroService.streamHeroesByName(name, sort);
+    }
+}
@@ -0,0 +1,49 @@
+package com.opitech.superheroes.reactive;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+
+/**
+ * Conversión entre {@link HeroRow} y los DTOs compartidos con la variante servlet.
+ * Aplica las mismas reglas que {@code HeroMapper} (nombre recortado, active por defecto a true).
+ */
+public class ReactiveHeroMapper {
+
+    private ReactiveHeroMapper() {
+        // Utility class
+    }
+
+    public static HeroRow toRow(HeroRequestDto dto) {
+        HeroRow row = new HeroRow();
+        row.setName(dto.getName() != null ? dto.getName().trim() : null);
+        row.setAlias(dto.getAlias());
+        row.setUniverse(dto.getUniverse());
+        row.setPowerLevel(dto.getPowerLevel());
+        row.setActive(dto.getActive() != null ? dto.getActive() : Boolean.TRUE);
+        return row;
+    }
+
+    public static void updateRowFromDto(HeroRequestDto dto, HeroRow row) {
+        row.setName(dto.getName() != null ? dto.getName().trim() : null);
+        row.setAlias(dto.getAlias());
+        row.setUniverse(dto.getUniverse());
+        row.setPowerLevel(dto.getPowerLevel());
+        if (dto.getActive() != null) {
+            row.setActive(dto.getActive());
+        }
+    }
+
+    public static HeroResponseDto toResponseDto(HeroRow row) {
+        HeroResponseDto dto = new HeroResponseDto();
+        dto.setId(row.getId());
+        dto.setName(row.getName());
+        dto.setAlias(row.getAlias());
+        dto.setUniverse(row.getUniverse());
+        dto.setPowerLevel(row.getPowerLevel());
+        dto.setActive(row.getActive());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        dto.setVersion(row.getVersion());
+        return dto;
+    }
+}
@@ -0,0 +1,52 @@
+package com.opitech.superheroes.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveHeroRepository extends R2dbcRepository<HeroRow, Long> {
+
+    /**
+     * Retorna una página de héroes (LIMIT/OFFSET y ORDER BY a partir del Pageable).
+     *
+     * @param pageable Información de paginación y ordenamiento.
+     * @return Héroes de la página solicitada.
+     */
+    Flux<HeroRow> findAllBy(Pageable pageable);
+
+    /**
+     * Busca un héroe por su nombre para validacion de duplicados.
+     *
+     * @param name Nombre del héroe a buscar.
+     * @return El héroe si se encuentra, o vacío si no existe.
+     */
+    Mono<HeroRow> findByNameIgnoreCase(String name);
+
+    /**
+     * Busca héroes cuyo nombre contiene el texto especificado, ignorando mayúsculas y minúsculas.
+     *
+     * @param name     Texto a buscar dentro del nombre de los héroes.
+     * @param pageable Información de paginación y ordenamiento.
+     * @return Héroes que coinciden con la búsqueda.
+     */
+    Flux<HeroRow> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    /**
+     * Variante sin paginar de la búsqueda, para el endpoint en streaming.
+     *
+     * @param name Texto a buscar dentro del nombre de los héroes.
+     * @param sort Ordenamiento.
+     * @return Héroes que coinciden con la búsqueda.
+     */
+    Flux<HeroRow> findByNameContainingIgnoreCase(String name, Sort sort);
+
+    /**
+     * Cuenta los héroes cuyo nombre contiene el texto especificado (total de la búsqueda paginada).
+     *
+     * @param name Texto a buscar dentro del nombre de los héroes.
+     * @return Número de héroes que coinciden.
+     */
+    Mono<Long> countByNameContainingIgnoreCase(String name);
+}
@@ -0,0 +1,129 @@
+package com.opitech.superheroes.reactive;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Servicio no bloqueante para la gestión de héroes. Mismas reglas de negocio que {@code HeroService}.
+ */
+@Service
+public class ReactiveHeroService {
+
+    private final ReactiveHeroRepository heroRepository;
+
+    public ReactiveHeroService(ReactiveHeroRepository heroRepository) {
+        this.heroRepository = heroRepository;
+    }
+
+    /**
+     * Retorna una página de héroes; la página y el total se consultan en paralelo.
+     */
+    public Mono<Page<HeroResponseDto>> getAllHeroes(Pageable pageable) {
+        return heroRepository.findAllBy(pageable)
+                .map(ReactiveHeroMapper::toResponseDto)
+                .collectList()
+                .zipWith(heroRepository.count())
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    /**
+     * Retorna todos los héroes como un flujo: las filas se leen de la base de datos a medida que el cliente
+     * las consume (backpressure), sin materializar el listado completo en memoria.
+     */
+    public Flux<HeroResponseDto> streamAllHeroes(Sort sort) {
+        return heroRepository.findAll(sort)
+                .map(ReactiveHeroMapper::toResponseDto);
+    }
+
+    /**
+     * Retorna una página de héroes cuyo nombre contiene el texto de búsqueda.
+     * El parámetro de búsqueda debe tener al menos 2 caracteres no vacios.
+     */
+    public Mono<Page<HeroResponseDto>> searchHeroesByName(String searchName, Pageable pageable) {
+        if (searchName == null || searchName.trim().length() < 2) {
+            return Mono.error(new IllegalArgumentException("Parameter 'name' must have at least 2 non-blank characters"));
+        }
+
+        String normalized = searchName.trim();
+
+        return heroRepository.findByNameContainingIgnoreCase(normalized, pageable)
+                .map(ReactiveHeroMapper::toResponseDto)
+                .collectList()
+                .zipWith(heroRepository.countByNameContainingIgnoreCase(normalized))
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    /**
+     * Variante en streaming de la búsqueda por nombre.
+     */
+    public Flux<HeroResponseDto> streamHeroesByName(String searchName, Sort sort) {
+        if (searchName == null || searchName.trim().length() < 2) {
+            return Flux.error(new IllegalArgumentException("Parameter 'name' must have at least 2 non-blank characters"));
+        }
+        return heroRepository.findByNameContainingIgnoreCase(searchName.trim(), sort)
+                .map(ReactiveHeroMapper::toResponseDto);
+    }
+
+    public Mono<HeroResponseDto> getHeroById(Long id) {
+        return heroRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new HeroNotFoundException(id)))
+                .map(ReactiveHeroMapper::toResponseDto);
+    }
+
+    public Mono<HeroResponseDto> createHero(HeroRequestDto requestDto) {
+        String name = requestDto.getName() != null
+                ? requestDto.getName().trim()
+                : null;
+
+        // Comprobar duplicado por nombre
+        return heroRepository.findByNameIgnoreCase(name)
+                .flatMap(existing -> Mono.<HeroRow>error(new HeroAlreadyExistsException(name)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    HeroRow row = ReactiveHeroMapper.toRow(requestDto);
+                    LocalDateTime now = LocalDateTime.now();
+                    row.setCreatedAt(now);
+                    row.setUpdatedAt(now);
+                    return heroRepository.save(row);
+                }))
+                .map(ReactiveHeroMapper::toResponseDto);
+    }
+
+    public Mono<HeroResponseDto> updateHero(Long id, HeroRequestDto requestDto) {
+        String newName = requestDto.getName() != null ? requestDto.getName().trim() : null;
+
+        return heroRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new HeroNotFoundException(id)))
+                .flatMap(existing -> {
+                    // Si el nombre cambia, comprobar duplicado
+                    Mono<HeroRow> checked = newName != null && !newName.equalsIgnoreCase(existing.getName())
+                            ? heroRepository.findByNameIgnoreCase(newName)
+                                    .flatMap(other -> Mono.<HeroRow>error(new HeroAlreadyExistsException(newName)))
+                                    .switchIfEmpty(Mono.just(existing))
+                            : Mono.just(existing);
+                    return checked;
+                })
+                .flatMap(existing -> {
+                    ReactiveHeroMapper.updateRowFromDto(requestDto, existing);
+                    existing.setUpdatedAt(LocalDateTime.now());
+                    return heroRepository.save(existing);
+                })
+                .map(ReactiveHeroMapper::toResponseDto);
+    }
+
+    public Mono<Void> deleteHero(Long id) {
+        return heroRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new HeroNotFoundException(id)))
+                .flatMap(heroRepository::delete);
+    }
+}
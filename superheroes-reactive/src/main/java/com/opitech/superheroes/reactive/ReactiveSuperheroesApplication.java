@@ -0,0 +1,13 @@
+package com.opitech.superheroes.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveSuperheroesApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveSuperheroesApplication.class, args);
+	}
+
+}
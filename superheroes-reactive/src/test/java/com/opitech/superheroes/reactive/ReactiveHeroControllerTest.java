@@ -0,0 +1,177 @@
+package com.opitech.superheroes.reactive;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * API reactiva sobre su propia base de datos en memoria, con los héroes iniciales.
+ * Cada test usa héroes distintos para no depender del orden de ejecución.
+ */
+@SpringBootTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactivetest;DB_CLOSE_DELAY=-1")
+@AutoConfigureWebTestClient
+class ReactiveHeroControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void getAllHeroes_shouldReturnSortedPage() {
+        webTestClient.get().uri("/api/v1/heroes?page=0&size=3&sort=id,asc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(3)
+                .jsonPath("$.content[0].name").isEqualTo("Superman")
+                .jsonPath("$.content[1].name").isEqualTo("Batman")
+                .jsonPath("$.totalElements").value(total -> assertThat((Integer) total).isGreaterThanOrEqualTo(66));
+    }
+
+    @Test
+    void createUpdateAndDeleteHero_shouldFollowServletContract() {
+        HeroResponseDto created = webTestClient.post().uri("/api/v1/heroes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(heroJson("Reactive Man", "MARVEL", 40))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value(HttpHeaders.LOCATION, location -> assertThat(location).matches(".*/api/v1/heroes/\\d+"))
+                .expectBody(HeroResponseDto.class)
+                .returnResult().getResponseBody();
+        assertThat(created).isNotNull();
+        assertThat(created.getActive()).isTrue();
+
+        webTestClient.put().uri("/api/v1/heroes/{id}", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(heroJson("Reactive Woman", "DC", 45))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Reactive Woman")
+                .jsonPath("$.universe").isEqualTo("DC")
+                .jsonPath("$.powerLevel").isEqualTo(45);
+
+        webTestClient.delete().uri("/api/v1/heroes/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectBody().isEmpty();
+
+        expectApiError(webTestClient.get().uri("/api/v1/heroes/{id}", created.getId()).exchange(),
+                HttpStatus.NOT_FOUND, "/api/v1/heroes/" + created.getId())
+                .jsonPath("$.message").isEqualTo("Hero with id " + created.getId() + " not found");
+    }
+
+    @Test
+    void updateAndDeleteHero_shouldReturnNotFound_whenIdDoesNotExist() {
+        expectApiError(webTestClient.put().uri("/api/v1/heroes/999999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(heroJson("Nobody", "OTHER", 10))
+                        .exchange(),
+                HttpStatus.NOT_FOUND, "/api/v1/heroes/999999");
+
+        expectApiError(webTestClient.delete().uri("/api/v1/heroes/999999").exchange(),
+                HttpStatus.NOT_FOUND, "/api/v1/heroes/999999");
+    }
+
+    @Test
+    void createAndUpdateHero_shouldReturnConflict_whenNameBelongsToAnotherHero() {
+        expectApiError(webTestClient.post().uri("/api/v1/heroes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(heroJson("  superman ", "DC", 50))
+                        .exchange(),
+                HttpStatus.CONFLICT, "/api/v1/heroes")
+                .jsonPath("$.message").isEqualTo("Hero with name 'superman' already exists");
+
+        expectApiError(webTestClient.put().uri("/api/v1/heroes/2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(heroJson("Wonder Woman", "DC", 85))
+                        .exchange(),
+                HttpStatus.CONFLICT, "/api/v1/heroes/2");
+    }
+
+    @Test
+    void createHeroAndSearch_shouldReturnBadRequest_whenInputIsInvalid() {
+        expectApiError(webTestClient.post().uri("/api/v1/heroes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(heroJson("Overpowered", "MARVEL", 101))
+                        .exchange(),
+                HttpStatus.BAD_REQUEST, "/api/v1/heroes")
+                .jsonPath("$.message").isEqualTo("powerLevel: Power level must be at most 100");
+
+        expectApiError(webTestClient.get().uri("/api/v1/heroes/search?name=a").exchange(),
+                HttpStatus.BAD_REQUEST, "/api/v1/heroes/search")
+                .jsonPath("$.message").isEqualTo("Parameter 'name' must have at least 2 non-blank characters");
+
+        expectApiError(webTestClient.get().uri("/api/v1/heroes/search").exchange(),
+                HttpStatus.BAD_REQUEST, "/api/v1/heroes/search");
+    }
+
+    @Test
+    void streamAllHeroes_shouldEmitNdjsonInRequestedOrder_andStopWhenClientCancels() {
+        Flux<HeroResponseDto> heroes = webTestClient.get().uri("/api/v1/heroes/stream?sort=id,asc")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(HeroResponseDto.class)
+                .getResponseBody();
+
+        StepVerifier.create(heroes.take(3).map(HeroResponseDto::getName))
+                .expectNext("Superman", "Batman", "Wonder Woman")
+                .verifyComplete();
+    }
+
+    @Test
+    void streamSearchHeroes_shouldEmitOnlyMatchingHeroesSortedByName() {
+        List<HeroResponseDto> heroes = webTestClient.get().uri("/api/v1/heroes/search/stream?name=man")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(HeroResponseDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(heroes).isNotEmpty();
+        assertThat(heroes).extracting(HeroResponseDto::getName)
+                .allMatch(name -> name.toLowerCase().contains("man"))
+                .isSortedAccordingTo(String::compareTo);
+
+        expectApiError(webTestClient.get().uri("/api/v1/heroes/search/stream?name=m")
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                        .exchange(),
+                HttpStatus.BAD_REQUEST, "/api/v1/heroes/search/stream");
+    }
+
+    /**
+     * Comprueba el formato {@code ApiError} común a las variantes servlet y reactiva.
+     */
+    private static WebTestClient.BodyContentSpec expectApiError(WebTestClient.ResponseSpec response,
+                                                                HttpStatus status, String path) {
+        return response
+                .expectStatus().isEqualTo(status)
+                .expectBody()
+                .jsonPath("$.timestamp").exists()
+                .jsonPath("$.status").isEqualTo(status.value())
+                .jsonPath("$.error").isEqualTo(status.getReasonPhrase())
+                .jsonPath("$.message").exists()
+                .jsonPath("$.path").isEqualTo(path);
+    }
+
+    private static String heroJson(String name, String universe, int powerLevel) {
+        return """
+                {"name": "%s", "alias": "Test", "universe": "%s", "powerLevel": %d}"""
+                .formatted(name, universe, powerLevel);
+    }
+}
@@ -0,0 +1,13 @@
+package com.opitech.superheroes.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ReactiveSuperheroesApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.opitech.superheroes.coalescing;
+
+import com.opitech.superheroes.service.HeroService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Agrupamiento de lecturas concurrentes idénticas sobre {@link HeroService}.
+ */
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingConfig {
+
+    @Bean
+    public CoalescingHeroService coalescingHeroService(HeroService heroService,
+                                                       CoalescingProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        return new CoalescingHeroService(heroService, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,81 @@
+package com.opitech.superheroes.coalescing;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.service.HeroService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+
+/**
+ * Lecturas de {@link HeroService} en las que las llamadas concurrentes con los mismos argumentos normalizados
+ * comparten una única consulta (ver {@link SingleFlight}). El resultado compartido es el mismo objeto para todas
+ * las peticiones agrupadas, así que no debe modificarse.
+ */
+public class CoalescingHeroService {
+
+    /**
+     * Orden de {@link #onHeroChanged} entre los listeners que se ejecutan tras el commit de una escritura.
+     */
+    public static final int DETACH_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final HeroService heroService;
+    private final boolean enabled;
+    private final SingleFlight<Long, HeroResponseDto> byId;
+    private final SingleFlight<SearchKey, Page<HeroResponseDto>> search;
+    private final SingleFlight<Pageable, Page<HeroResponseDto>> list;
+
+    public CoalescingHeroService(HeroService heroService, CoalescingProperties properties, MeterRegistry registry) {
+        this.heroService = heroService;
+        this.enabled = properties.isEnabled();
+        this.byId = new SingleFlight<>("getHeroById", properties.timeoutFor("getHeroById"), registry);
+        this.search = new SingleFlight<>("searchHeroesByName", properties.timeoutFor("searchHeroesByName"), registry);
+        this.list = new SingleFlight<>("getAllHeroes", properties.timeoutFor("getAllHeroes"), registry);
+    }
+
+    public Page<HeroResponseDto> getAllHeroes(Pageable pageable) {
+        if (!enabled) {
+            return heroService.getAllHeroes(pageable);
+        }
+        return list.execute(pageable, () -> heroService.getAllHeroes(pageable));
+    }
+
+    public Page<HeroResponseDto> searchHeroesByName(String searchName, Pageable pageable) {
+        if (!enabled || searchName == null) {
+            return heroService.searchHeroesByName(searchName, pageable);
+        }
+        // La búsqueda ignora mayúsculas y espacios exteriores: "Man " y "man" son la misma consulta
+        SearchKey key = new SearchKey(searchName.trim().toLowerCase(Locale.ROOT), pageable);
+        return search.execute(key, () -> heroService.searchHeroesByName(searchName, pageable));
+    }
+
+    public HeroResponseDto getHeroById(Long id) {
+        if (!enabled) {
+            return heroService.getHeroById(id);
+        }
+        return byId.execute(id, () -> heroService.getHeroById(id));
+    }
+
+    /**
+     * Tras una escritura, las lecturas nuevas no se unen a consultas que empezaron antes del cambio.
+     * <p>
+     * Debe ejecutarse antes de que {@link com.opitech.superheroes.pagecache.HeroPageCache} cambie de generación
+     * ({@link #DETACH_ORDER}): si no, una lectura que ya ve la generación nueva podría unirse a una consulta
+     * anterior al commit y cachear su resultado como vigente.
+     */
+    @Order(DETACH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHeroChanged(HeroChangedEvent event) {
+        byId.detachAll();
+        search.detachAll();
+        list.detachAll();
+    }
+
+    private record SearchKey(String name, Pageable pageable) {
+    }
+}
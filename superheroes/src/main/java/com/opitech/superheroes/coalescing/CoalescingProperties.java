@@ -0,0 +1,57 @@
+package com.opitech.superheroes.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración del agrupamiento de lecturas concurrentes idénticas ({@code superheroes.coalescing.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * Si se desactiva, cada lectura ejecuta su propia consulta.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tiempo máximo que una llamada espera al resultado de otra idéntica antes de consultar por su cuenta.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Tiempo máximo de espera por operación (getHeroById, searchHeroesByName, getAllHeroes); si falta, timeout.
+     */
+    private Map<String, Duration> timeouts = new LinkedHashMap<>();
+
+    public Duration timeoutFor(String operation) {
+        return timeouts.getOrDefault(operation, timeout);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Map<String, Duration> getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Map<String, Duration> timeouts) {
+        this.timeouts = timeouts;
+    }
+}
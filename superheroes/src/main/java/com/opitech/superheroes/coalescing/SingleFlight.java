@@ -0,0 +1,119 @@
+package com.opitech.superheroes.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave en una sola ejecución (single-flight).
+ * <p>
+ * La primera llamada para una clave (el líder) ejecuta la operación en su propio hilo; las que llegan mientras
+ * tanto esperan su resultado, o su excepción, como mucho {@code timeout}. Si el líder tarda más, el seguidor ejecuta
+ * la operación por su cuenta y la clave se libera para que nadie más se una a un vuelo atascado. No es una caché:
+ * en cuanto el líder termina, la siguiente llamada vuelve a ejecutar la operación.
+ * <p>
+ * Métricas (tag {@code operation}): {@code superheroes.coalescing.calls} por {@code outcome}
+ * (leader, shared, timeout) y {@code superheroes.coalescing.ratio}, la fracción de llamadas servidas por otra.
+ *
+ * @param <K> clave; debe implementar equals/hashCode con los argumentos ya normalizados.
+ * @param <V> resultado compartido entre las llamadas agrupadas.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Counter leaders;
+    private final Counter shared;
+    private final Counter timeouts;
+
+    public SingleFlight(String operation, Duration timeout, MeterRegistry registry) {
+        this.timeout = timeout;
+        this.leaders = counter(registry, operation, "leader");
+        this.shared = counter(registry, operation, "shared");
+        this.timeouts = counter(registry, operation, "timeout");
+        registry.gauge("superheroes.coalescing.ratio", Tags.of("operation", operation), this,
+                SingleFlight::coalescingRatio);
+    }
+
+    /**
+     * Ejecuta la operación o se une a la ejecución en curso con la misma clave.
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            return lead(key, flight, call);
+        }
+
+        try {
+            V value = existing.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            shared.increment();
+            return value;
+        } catch (ExecutionException e) {
+            shared.increment();
+            throw propagate(e.getCause());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            inFlight.remove(key, existing);
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced call", e);
+        }
+    }
+
+    /**
+     * Desliga las ejecuciones en curso: las llamadas siguientes ya no se unen a ellas (p. ej. tras una escritura,
+     * para no servir un resultado leído antes del cambio). Los seguidores que ya esperaban reciben su resultado.
+     */
+    public void detachAll() {
+        inFlight.clear();
+    }
+
+    public double coalescingRatio() {
+        double total = leaders.count() + shared.count() + timeouts.count();
+        return total == 0 ? 0.0 : shared.count() / total;
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> call) {
+        leaders.increment();
+        V value;
+        try {
+            value = call.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        // Se libera la clave antes de publicar el resultado: quien llegue ahora hace una lectura nueva
+        inFlight.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static Counter counter(MeterRegistry registry, String operation, String outcome) {
+        return Counter.builder("superheroes.coalescing.calls")
+                .description("Calls to coalesced hero reads by outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.opitech.superheroes.coherence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Coherencia de cachés entre réplicas a través de la tabla {@code hero_changes}.
+ */
+@Configuration
+@EnableConfigurationProperties(CoherenceProperties.class)
+@ConditionalOnProperty(prefix = "superheroes.coherence", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CoherenceConfig {
+
+    @Bean
+    public HeroChangeLogWriter heroChangeLogWriter(JdbcTemplate jdbcTemplate, CoherenceProperties properties) {
+        return new HeroChangeLogWriter(jdbcTemplate, properties);
+    }
+
+    @Bean
+    public HeroChangeLogPoller heroChangeLogPoller(JdbcTemplate jdbcTemplate,
+                                                   ApplicationEventPublisher eventPublisher,
+                                                   CoherenceProperties properties) {
+        return new HeroChangeLogPoller(jdbcTemplate, eventPublisher, properties);
+    }
+}
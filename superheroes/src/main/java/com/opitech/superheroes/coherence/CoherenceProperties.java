@@ -0,0 +1,92 @@
+package com.opitech.superheroes.coherence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuración de la coherencia de cachés entre nodos ({@code superheroes.coherence.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.coherence")
+public class CoherenceProperties {
+
+    /**
+     * Activa el registro de cambios en {@code hero_changes} y su lectura periódica.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Identificador de este nodo. Por defecto uno aleatorio por arranque.
+     */
+    private String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Cota de obsolescencia: intervalo entre lecturas del change-log. Un cambio hecho en otro nodo se invalida
+     * localmente, como mucho, tras este tiempo (más la duración de la consulta).
+     */
+    private Duration maxStaleness = Duration.ofSeconds(1);
+
+    /**
+     * Tiempo que se espera a que aparezca un seq intermedio (transacción aún sin confirmar) antes de darlo por perdido.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Filas leídas por consulta del change-log.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Antigüedad a partir de la cual se borran entradas del change-log.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    public Duration getGapTimeout() {
+        return gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+}
@@ -0,0 +1,182 @@
+package com.opitech.superheroes.coherence;
+
+import com.opitech.superheroes.event.HeroChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lee periódicamente {@code hero_changes} a partir de un high-water-mark y publica los cambios de otros nodos
+ * como {@link HeroChangedEvent} remotos, para que cada nodo invalide sus cachés e índices locales.
+ * <p>
+ * Cada lectura es un range scan por clave primaria ({@code seq > ?}). Los seq se asignan al insertar, pero las
+ * transacciones pueden confirmarse en otro orden: si falta un seq intermedio, el high-water-mark no lo salta hasta
+ * que aparece o pasa {@code gap-timeout} (rollback), aunque las filas posteriores ya se publican.
+ */
+public class HeroChangeLogPoller implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(HeroChangeLogPoller.class);
+
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final RowMapper<ChangeRow> ROW_MAPPER = (rs, rowNum) -> new ChangeRow(
+            rs.getLong("seq"),
+            rs.getObject("hero_id", Long.class),
+            HeroChangedEvent.Operation.valueOf(rs.getString("operation")),
+            rs.getObject("version", Long.class),
+            rs.getString("origin_node")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CoherenceProperties properties;
+
+    private final AtomicLong remoteChangesApplied = new AtomicLong();
+    private volatile long highWaterMark;
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    // Solo se usan desde el hilo del scheduler
+    private final TreeSet<Long> publishedAhead = new TreeSet<>();
+    private long gapDetectedAt;
+    private long lastPruneAt;
+
+    public HeroChangeLogPoller(JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               CoherenceProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        // Al arrancar las cachés están vacías: solo interesan los cambios a partir de ahora
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM hero_changes", Long.class);
+        highWaterMark = max != null ? max : 0;
+        lastPruneAt = System.nanoTime();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hero-change-log-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getMaxStaleness().toMillis();
+        scheduler.scheduleWithFixedDelay(this::pollSafely, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public long getRemoteChangesApplied() {
+        return remoteChangesApplied.get();
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+            pruneIfDue();
+        } catch (RuntimeException e) {
+            // Un fallo puntual (p. ej. base de datos no disponible) no debe cancelar la tarea periódica
+            log.warn("Could not poll hero_changes: {}", e.getMessage());
+        }
+    }
+
+    void poll() {
+        boolean fullBatch;
+        do {
+            long previous = highWaterMark;
+            List<ChangeRow> rows = jdbcTemplate.query(
+                    "SELECT seq, hero_id, operation, version, origin_node FROM hero_changes "
+                            + "WHERE seq > ? ORDER BY seq LIMIT ?",
+                    ROW_MAPPER, previous, properties.getBatchSize());
+            apply(rows);
+            fullBatch = rows.size() == properties.getBatchSize();
+            // Seguir leyendo solo si el lote estaba lleno y se avanzó (si no, se repetiría el mismo lote)
+            if (highWaterMark == previous) {
+                break;
+            }
+        } while (fullBatch);
+    }
+
+    private void apply(List<ChangeRow> rows) {
+        boolean advancing = true;
+        for (ChangeRow row : rows) {
+            if (advancing && row.seq() > highWaterMark + 1) {
+                long now = System.nanoTime();
+                if (gapDetectedAt == 0) {
+                    gapDetectedAt = now;
+                }
+                if (now - gapDetectedAt < properties.getGapTimeout().toNanos()) {
+                    advancing = false;
+                } else {
+                    log.debug("Skipping missing hero_changes seq {}..{}", highWaterMark + 1, row.seq() - 1);
+                }
+            }
+
+            if (!publishedAhead.contains(row.seq())) {
+                publish(row);
+            }
+
+            if (advancing) {
+                highWaterMark = row.seq();
+                gapDetectedAt = 0;
+            } else {
+                publishedAhead.add(row.seq());
+            }
+        }
+        publishedAhead.headSet(highWaterMark, true).clear();
+    }
+
+    private void publish(ChangeRow row) {
+        if (properties.getNodeId().equals(row.originNode())) {
+            return;
+        }
+        eventPublisher.publishEvent(HeroChangedEvent.remote(row.operation(), row.heroId(), row.version()));
+        remoteChangesApplied.incrementAndGet();
+    }
+
+    private void pruneIfDue() {
+        long now = System.nanoTime();
+        if (now - lastPruneAt < PRUNE_INTERVAL_NANOS) {
+            return;
+        }
+        lastPruneAt = now;
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(properties.getRetention()));
+        int pruned = jdbcTemplate.update("DELETE FROM hero_changes WHERE changed_at < ?", cutoff);
+        if (pruned > 0) {
+            log.debug("Pruned {} hero_changes entries older than {}", pruned, properties.getRetention());
+        }
+    }
+
+    private record ChangeRow(long seq, Long heroId, HeroChangedEvent.Operation operation, Long version,
+                             String originNode) {
+    }
+}
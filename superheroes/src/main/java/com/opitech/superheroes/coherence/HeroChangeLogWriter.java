@@ -0,0 +1,49 @@
+package com.opitech.superheroes.coherence;
+
+import com.opitech.superheroes.event.HeroChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Registra cada {@link HeroChangedEvent} local en {@code hero_changes}.
+ * <p>
+ * Es un listener síncrono: se ejecuta en el hilo y en la transacción de la escritura (JdbcTemplate comparte la
+ * conexión de la transacción JPA), de modo que la entrada del change-log se confirma o se descarta junto con el cambio.
+ */
+public class HeroChangeLogWriter {
+
+    private static final String INSERT =
+            "INSERT INTO hero_changes (hero_id, operation, version, origin_node, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+
+    public HeroChangeLogWriter(JdbcTemplate jdbcTemplate, CoherenceProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = properties.getNodeId();
+    }
+
+    @EventListener
+    public void onHeroChanged(HeroChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+
+        String operation = event.operation().name();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        if (event.affectsUnknownIds()) {
+            jdbcTemplate.update(INSERT, null, operation, null, nodeId, now);
+            return;
+        }
+
+        List<Object[]> rows = event.heroIds().stream()
+                .map(heroId -> new Object[]{heroId, operation, event.version(), nodeId, now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+}
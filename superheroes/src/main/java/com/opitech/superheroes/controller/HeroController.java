@@ -1,9 +1,18 @@
 package com.opitech.superheroes.controller;
 
+import com.opitech.superheroes.coalescing.CoalescingHeroService;
+import com.opitech.superheroes.dto.HeroBulkOperationResponseDto;
+import com.opitech.superheroes.dto.HeroBulkPatchRequestDto;
+import com.opitech.superheroes.dto.HeroBulkPatchResponseDto;
+import com.opitech.superheroes.dto.HeroBulkSelectionDto;
+import com.opitech.superheroes.dto.HeroPatchDto;
 import com.opitech.superheroes.dto.HeroRequestDto;
 import com.opitech.superheroes.dto.HeroResponseDto;
 import com.opitech.superheroes.error.ApiError;
+import com.opitech.superheroes.pagecache.HeroPageCache;
+import com.opitech.superheroes.service.HeroBulkService;
 import com.opitech.superheroes.service.HeroService;
+import com.opitech.superheroes.writebehind.HeroWriteBehindService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +24,8 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -30,10 +41,22 @@ import java.net.URI;
 @Tag(name = "Héroes", description = "API para la gestión de superhéroes")
 public class HeroController {
 
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final HeroService heroService;
+    private final HeroBulkService heroBulkService;
+    private final CoalescingHeroService coalescingHeroService;
+    private final HeroPageCache heroPageCache;
+    private final HeroWriteBehindService writeBehindService;
 
-    public HeroController(HeroService heroService) {
+    public HeroController(HeroService heroService, HeroBulkService heroBulkService,
+                          CoalescingHeroService coalescingHeroService, HeroPageCache heroPageCache,
+                          HeroWriteBehindService writeBehindService) {
         this.heroService = heroService;
+        this.heroBulkService = heroBulkService;
+        this.coalescingHeroService = coalescingHeroService;
+        this.heroPageCache = heroPageCache;
+        this.writeBehindService = writeBehindService;
     }
 
     /**
@@ -59,7 +82,8 @@ public class HeroController {
             )
             @PageableDefault(size = 10, sort = "name") Pageable pageable
     ) {
-        return heroService.getAllHeroes(pageable);
+        return writeBehindService.overlay(heroPageCache.get(HeroPageCache.GET_ALL_HEROES, null, pageable,
+                () -> coalescingHeroService.getAllHeroes(pageable)));
     }
 
     /**
@@ -85,7 +109,7 @@ public class HeroController {
     public HeroResponseDto getHeroById(
             @Parameter(description = "Identificador único del héroe", example = "1")
             @PathVariable Long id) {
-        return heroService.getHeroById(id);
+        return writeBehindService.overlay(coalescingHeroService.getHeroById(id));
     }
 
     /**
@@ -152,6 +176,9 @@ public class HeroController {
             ),
             @ApiResponse(responseCode = "409", description = "Ya existe otro héroe con el mismo nombre",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "503", description = "Buffer de write-behind lleno (solo en modo write-behind)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
             )
     })
     @PutMapping("/{id}")
@@ -161,7 +188,80 @@ public class HeroController {
             @Parameter(description = "Nuevos datos del héroe", required = true)
             @Valid @RequestBody HeroRequestDto requestDto
     ) {
-        return heroService.updateHero(id, requestDto);
+        return writeBehindService.updateHero(id, requestDto);
+    }
+
+    /**
+     * Endpoint para actualizar parcialmente un héroe (JSON Merge Patch) con un único UPDATE.
+     *
+     * @param id       ID del héroe a actualizar.
+     * @param ifMatch  versión esperada del héroe (opcional).
+     * @param patchDto Campos a modificar.
+     * @return Respuesta sin contenido si la actualización fue exitosa.
+     */
+    @Operation(
+            summary = "Actualizar parcialmente un héroe",
+            description = "Aplica un JSON Merge Patch: solo se modifican los campos presentes. "
+                    + "Con la cabecera If-Match se exige que el héroe siga en la versión indicada.",
+            operationId = "patchHero"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Héroe actualizado exitosamente (sin contenido en la respuesta)"),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos (errores de validación)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Héroe no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Ya existe otro héroe con el mismo nombre",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "412", description = "La versión del héroe no coincide con If-Match",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchHero(
+            @Parameter(description = "Identificador único del héroe a actualizar", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Versión esperada del héroe", example = "\"0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Campos a modificar", required = true)
+            @Valid @RequestBody HeroPatchDto patchDto
+    ) {
+        heroService.patchHero(id, patchDto, parseVersion(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint para actualizar parcialmente varios héroes en una sola transacción.
+     *
+     * @param requestDto Lista de patches (id, versión opcional y campos a modificar).
+     * @return Resumen con los héroes actualizados y los no actualizados.
+     */
+    @Operation(
+            summary = "Actualizar parcialmente varios héroes",
+            description = "Aplica varios JSON Merge Patch en una transacción usando batching JDBC. "
+                    + "Los héroes inexistentes o con versión distinta se devuelven en notUpdatedIds.",
+            operationId = "patchHeroes"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Patches aplicados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroBulkPatchResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos (errores de validación)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Algún nombre nuevo ya pertenece a otro héroe",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @PatchMapping(consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public HeroBulkPatchResponseDto patchHeroes(
+            @Parameter(description = "Patches a aplicar", required = true)
+            @Valid @RequestBody HeroBulkPatchRequestDto requestDto
+    ) {
+        return heroService.patchHeroes(requestDto.getItems());
     }
 
     /**
@@ -193,6 +293,62 @@ public class HeroController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Endpoint para eliminar varios héroes, por lista de ids o por filtro, con DELETE set-based.
+     *
+     * @param selection Ids o filtro (universo, rango de poder) de los héroes a eliminar.
+     * @return Número de héroes eliminados.
+     */
+    @Operation(
+            summary = "Eliminar héroes de forma masiva",
+            description = "Elimina los héroes indicados por 'ids' o por filtro (universe, minPowerLevel, maxPowerLevel) "
+                    + "con sentencias DELETE set-based en transacciones troceadas.",
+            operationId = "bulkDeleteHeroes"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Héroes eliminados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroBulkOperationResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Selección vacía, ambigua o inválida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @PostMapping("/bulk-delete")
+    public HeroBulkOperationResponseDto bulkDeleteHeroes(
+            @Parameter(description = "Ids o filtro de los héroes a eliminar", required = true)
+            @Valid @RequestBody HeroBulkSelectionDto selection
+    ) {
+        return heroBulkService.deleteHeroes(selection);
+    }
+
+    /**
+     * Endpoint para desactivar varios héroes, por lista de ids o por filtro, con UPDATE set-based.
+     *
+     * @param selection Ids o filtro (universo, rango de poder) de los héroes a desactivar.
+     * @return Número de héroes desactivados.
+     */
+    @Operation(
+            summary = "Desactivar héroes de forma masiva",
+            description = "Marca como inactivos (active = false) los héroes indicados por 'ids' o por filtro "
+                    + "(universe, minPowerLevel, maxPowerLevel) con sentencias UPDATE set-based en transacciones troceadas.",
+            operationId = "bulkDeactivateHeroes"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Héroes desactivados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroBulkOperationResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Selección vacía, ambigua o inválida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @PostMapping("/bulk-deactivate")
+    public HeroBulkOperationResponseDto bulkDeactivateHeroes(
+            @Parameter(description = "Ids o filtro de los héroes a desactivar", required = true)
+            @Valid @RequestBody HeroBulkSelectionDto selection
+    ) {
+        return heroBulkService.deactivateHeroes(selection);
+    }
+
     /**
      * Endpoint para buscar héroes por nombre.
      *
@@ -223,8 +379,26 @@ public class HeroController {
             )
             @PageableDefault(size = 10, sort = "name") Pageable pageable
     ) {
-        return heroService.searchHeroesByName(name, pageable);
+        return writeBehindService.overlay(heroPageCache.get(HeroPageCache.SEARCH_HEROES_BY_NAME, name, pageable,
+                () -> coalescingHeroService.searchHeroesByName(name, pageable)));
     }
 
-
+    /**
+     * Extrae la versión de una cabecera If-Match ({@code "3"} o {@code W/"3"}).
+     */
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Header 'If-Match' must contain a hero version");
+        }
+    }
 }
\ No newline at end of file
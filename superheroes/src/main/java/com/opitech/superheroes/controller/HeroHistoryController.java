@@ -0,0 +1,135 @@
+package com.opitech.superheroes.controller;
+
+import com.opitech.superheroes.dto.HeroHistoryEntryDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.error.ApiError;
+import com.opitech.superheroes.history.HeroHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controlador REST del historial de héroes y de las lecturas en un instante pasado.
+ */
+@RestController
+@RequestMapping("/api/v1/heroes")
+@ConditionalOnProperty(prefix = "superheroes.history", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Historial", description = "Historial de cambios de superhéroes y consultas en un instante pasado")
+public class HeroHistoryController {
+
+    private final HeroHistoryService historyService;
+
+    public HeroHistoryController(HeroHistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    /**
+     * Endpoint para obtener el historial de cambios de un héroe.
+     *
+     * @param id       ID del héroe.
+     * @param field    Campo por el que filtrar los cambios.
+     * @param pageable información de paginación.
+     * @return Cambios del héroe, del más reciente al más antiguo.
+     */
+    @Operation(
+            summary = "Obtener el historial de un héroe",
+            description = "Retorna, del más reciente al más antiguo, los cambios registrados de un héroe con los "
+                    + "campos que modificó cada operación. Con 'field' solo se retornan los cambios de ese campo.",
+            operationId = "getHeroHistory"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Historial obtenido exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Campo desconocido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Héroe sin historial",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @GetMapping("/{id}/history")
+    public Page<HeroHistoryEntryDto> getHeroHistory(
+            @Parameter(description = "Identificador único del héroe", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campo modificado (name, alias, universe, powerLevel, active)", example = "powerLevel")
+            @RequestParam(name = "field", required = false) String field,
+            @Parameter(description = "Parámetros de paginación. Ejemplo: ?page=0&size=20")
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        return historyService.getHistory(id, field, pageable);
+    }
+
+    /**
+     * Endpoint para obtener un héroe tal como estaba en un instante.
+     *
+     * @param id ID del héroe.
+     * @param at Instante de la lectura.
+     * @return Información del héroe en ese instante.
+     */
+    @Operation(
+            summary = "Obtener un héroe en un instante pasado",
+            description = "Retorna el estado del héroe en el instante indicado, reconstruido desde su historial.",
+            operationId = "getHeroAsOf"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Héroe encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "El héroe no existía en ese instante",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @GetMapping("/{id}/as-of")
+    public HeroResponseDto getHeroAsOf(
+            @Parameter(description = "Identificador único del héroe", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Instante ISO-8601", example = "2025-01-01T12:00:00")
+            @RequestParam(name = "at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return historyService.getHeroAsOf(id, at);
+    }
+
+    /**
+     * Endpoint para obtener una página de héroes tal como estaban en un instante.
+     *
+     * @param at       Instante de la lectura.
+     * @param pageable información de paginación y ordenamiento.
+     * @return Héroes que existían en ese instante.
+     */
+    @Operation(
+            summary = "Obtener héroes en un instante pasado",
+            description = "Retorna una lista paginada de los superhéroes que existían en el instante indicado, "
+                    + "con su estado en ese instante. Permite ordenamiento y paginación.",
+            operationId = "getHeroesAsOf"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de héroes obtenida exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Propiedad de ordenamiento desconocida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @GetMapping("/as-of")
+    public Page<HeroResponseDto> getHeroesAsOf(
+            @Parameter(description = "Instante ISO-8601", example = "2025-01-01T12:00:00")
+            @RequestParam(name = "at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @Parameter(description = "Parámetros de paginación y ordenamiento. Ejemplo: ?page=0&size=10&sort=name,asc")
+            @PageableDefault(size = 10, sort = "name") Pageable pageable
+    ) {
+        return historyService.getHeroesAsOf(at, pageable);
+    }
+}
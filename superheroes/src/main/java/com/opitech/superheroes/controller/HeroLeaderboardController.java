@@ -0,0 +1,92 @@
+package com.opitech.superheroes.controller;
+
+import com.opitech.superheroes.dto.HeroLeaderboardEntryDto;
+import com.opitech.superheroes.dto.HeroRankDto;
+import com.opitech.superheroes.error.ApiError;
+import com.opitech.superheroes.leaderboard.HeroLeaderboardService;
+import com.opitech.superheroes.model.Universe;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST del ranking de héroes activos por poder.
+ * Se sirve íntegramente desde memoria, sin consultas a la base de datos.
+ */
+@RestController
+@RequestMapping("/api/v1/heroes/leaderboard")
+@Tag(name = "Ranking", description = "Ranking de superhéroes activos por nivel de poder")
+public class HeroLeaderboardController {
+
+    private final HeroLeaderboardService leaderboardService;
+
+    public HeroLeaderboardController(HeroLeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Endpoint para obtener los héroes activos más poderosos.
+     *
+     * @param universe Universo del ranking; si se omite, ranking global.
+     * @param limit    Número de héroes a retornar.
+     * @return Héroes en orden de ranking.
+     */
+    @Operation(
+            summary = "Obtener el top de héroes por poder",
+            description = "Retorna los héroes activos con mayor nivel de poder (a igual poder, menor id primero), "
+                    + "globalmente o de un universo.",
+            operationId = "getLeaderboard"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking obtenido exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = HeroLeaderboardEntryDto.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Límite fuera de rango",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @GetMapping
+    public List<HeroLeaderboardEntryDto> getLeaderboard(
+            @Parameter(description = "Universo del ranking", example = "MARVEL")
+            @RequestParam(name = "universe", required = false) Universe universe,
+            @Parameter(description = "Número de héroes (1-" + HeroLeaderboardService.MAX_LIMIT + ")", example = "10")
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return leaderboardService.getTop(universe, limit);
+    }
+
+    /**
+     * Endpoint para obtener la posición de un héroe en el ranking global y en el de su universo.
+     *
+     * @param id ID del héroe.
+     * @return Posiciones del héroe.
+     */
+    @Operation(
+            summary = "Obtener la posición de un héroe",
+            description = "Retorna la posición del héroe en el ranking global y en el de su universo.",
+            operationId = "getHeroRank"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posición obtenida exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroRankDto.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Héroe inexistente o inactivo",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @GetMapping("/{id}")
+    public HeroRankDto getHeroRank(
+            @Parameter(description = "Identificador único del héroe", example = "1")
+            @PathVariable Long id) {
+        return leaderboardService.getRank(id);
+    }
+}
@@ -0,0 +1,64 @@
+package com.opitech.superheroes.controller;
+
+import com.opitech.superheroes.dto.HeroSearchHitDto;
+import com.opitech.superheroes.error.ApiError;
+import com.opitech.superheroes.search.HeroSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST de la búsqueda por relevancia sobre nombre y alias.
+ * Se sirve íntegramente desde el índice en memoria, sin consultas a la base de datos.
+ */
+@RestController
+@RequestMapping("/api/v1/heroes/search/ranked")
+@Tag(name = "Búsqueda", description = "Búsqueda de superhéroes por relevancia")
+public class HeroSearchController {
+
+    private final HeroSearchService searchService;
+
+    public HeroSearchController(HeroSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Endpoint para buscar héroes por relevancia en su nombre y alias.
+     *
+     * @param query Texto a buscar.
+     * @param limit Número máximo de resultados.
+     * @return Héroes ordenados por relevancia.
+     */
+    @Operation(
+            summary = "Buscar héroes por relevancia",
+            description = "Busca los términos de la consulta en el nombre y el alias (ignorando mayúsculas y acentos) "
+                    + "y retorna los héroes ordenados por puntuación BM25; coincidir en el nombre pesa más que en el alias.",
+            operationId = "searchHeroesRanked"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = HeroSearchHitDto.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Consulta sin términos o límite fuera de rango",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @GetMapping
+    public List<HeroSearchHitDto> searchHeroes(
+            @Parameter(description = "Texto a buscar en nombre y alias", example = "bruce wayne")
+            @RequestParam(name = "q") String query,
+            @Parameter(description = "Número máximo de resultados (1-" + HeroSearchService.MAX_LIMIT + ")", example = "10")
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return searchService.search(query, limit);
+    }
+}
@@ -0,0 +1,31 @@
+package com.opitech.superheroes.dto;
+
+public class HeroBulkOperationResponseDto {
+
+    private long affected;
+    private int transactions;
+
+    public HeroBulkOperationResponseDto() {
+    }
+
+    public HeroBulkOperationResponseDto(long affected, int transactions) {
+        this.affected = affected;
+        this.transactions = transactions;
+    }
+
+    public long getAffected() {
+        return affected;
+    }
+
+    public void setAffected(long affected) {
+        this.affected = affected;
+    }
+
+    public int getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(int transactions) {
+        this.transactions = transactions;
+    }
+}
@@ -0,0 +1,30 @@
+package com.opitech.superheroes.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Elemento de un patch masivo: id del héroe, versión esperada (opcional) y los campos a modificar.
+ */
+public class HeroBulkPatchItemDto extends HeroPatchDto {
+
+    @NotNull(message = "Id is required")
+    private Long id;
+
+    private Long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
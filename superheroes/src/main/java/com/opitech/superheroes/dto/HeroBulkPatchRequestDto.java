@@ -0,0 +1,22 @@
+package com.opitech.superheroes.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class HeroBulkPatchRequestDto {
+
+    @NotEmpty(message = "Items are required")
+    @Size(max = 1000, message = "At most 1000 items can be patched at once")
+    private List<@Valid HeroBulkPatchItemDto> items;
+
+    public List<HeroBulkPatchItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<HeroBulkPatchItemDto> items) {
+        this.items = items;
+    }
+}
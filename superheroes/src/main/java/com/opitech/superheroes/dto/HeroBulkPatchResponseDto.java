@@ -0,0 +1,43 @@
+package com.opitech.superheroes.dto;
+
+import java.util.List;
+
+public class HeroBulkPatchResponseDto {
+
+    private int requested;
+    private int updated;
+    private List<Long> notUpdatedIds;
+
+    public HeroBulkPatchResponseDto() {
+    }
+
+    public HeroBulkPatchResponseDto(int requested, int updated, List<Long> notUpdatedIds) {
+        this.requested = requested;
+        this.updated = updated;
+        this.notUpdatedIds = notUpdatedIds;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<Long> getNotUpdatedIds() {
+        return notUpdatedIds;
+    }
+
+    public void setNotUpdatedIds(List<Long> notUpdatedIds) {
+        this.notUpdatedIds = notUpdatedIds;
+    }
+}
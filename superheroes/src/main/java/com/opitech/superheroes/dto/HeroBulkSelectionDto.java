@@ -0,0 +1,61 @@
+package com.opitech.superheroes.dto;
+
+import com.opitech.superheroes.model.Universe;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Selección de héroes para una operación masiva: o bien una lista de ids, o bien un filtro
+ * (universo y/o rango de poder). No se admite una selección vacía para evitar afectar a toda la tabla.
+ */
+public class HeroBulkSelectionDto {
+
+    @Size(max = 100000, message = "At most 100000 ids can be selected at once")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+
+    private Universe universe;
+
+    @Min(value = 1, message = "Min power level must be at least 1")
+    @Max(value = 100, message = "Min power level must be at most 100")
+    private Integer minPowerLevel;
+
+    @Min(value = 1, message = "Max power level must be at least 1")
+    @Max(value = 100, message = "Max power level must be at most 100")
+    private Integer maxPowerLevel;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Universe getUniverse() {
+        return universe;
+    }
+
+    public void setUniverse(Universe universe) {
+        this.universe = universe;
+    }
+
+    public Integer getMinPowerLevel() {
+        return minPowerLevel;
+    }
+
+    public void setMinPowerLevel(Integer minPowerLevel) {
+        this.minPowerLevel = minPowerLevel;
+    }
+
+    public Integer getMaxPowerLevel() {
+        return maxPowerLevel;
+    }
+
+    public void setMaxPowerLevel(Integer maxPowerLevel) {
+        this.maxPowerLevel = maxPowerLevel;
+    }
+}
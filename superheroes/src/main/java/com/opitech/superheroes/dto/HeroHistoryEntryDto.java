@@ -0,0 +1,53 @@
+package com.opitech.superheroes.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class HeroHistoryEntryDto {
+
+    private Long seq;
+    private String operation;
+    private LocalDateTime changedAt;
+    private Long version;
+    private Map<String, Object> changes;
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(Map<String, Object> changes) {
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,73 @@
+package com.opitech.superheroes.dto;
+
+import com.opitech.superheroes.model.Universe;
+
+public class HeroLeaderboardEntryDto {
+
+    private int rank;
+    private Long id;
+    private String name;
+    private String alias;
+    private Universe universe;
+    private Integer powerLevel;
+
+    public HeroLeaderboardEntryDto() {
+    }
+
+    public HeroLeaderboardEntryDto(int rank, Long id, String name, String alias, Universe universe, Integer powerLevel) {
+        this.rank = rank;
+        this.id = id;
+        this.name = name;
+        this.alias = alias;
+        this.universe = universe;
+        this.powerLevel = powerLevel;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    public void setAlias(String alias) {
+        this.alias = alias;
+    }
+
+    public Universe getUniverse() {
+        return universe;
+    }
+
+    public void setUniverse(Universe universe) {
+        this.universe = universe;
+    }
+
+    public Integer getPowerLevel() {
+        return powerLevel;
+    }
+
+    public void setPowerLevel(Integer powerLevel) {
+        this.powerLevel = powerLevel;
+    }
+}
@@ -0,0 +1,98 @@
+package com.opitech.superheroes.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.opitech.superheroes.model.Universe;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Documento JSON Merge Patch (RFC 7396) sobre un héroe.
+ * <p>
+ * Solo los campos presentes en el JSON se actualizan; un campo presente con valor {@code null} se borra
+ * (únicamente permitido para {@code alias}). Cada setter registra el campo como presente, de forma que
+ * se pueda distinguir entre "ausente" y "null".
+ */
+public class HeroPatchDto {
+
+    @JsonIgnore
+    private final Set<String> presentFields = new LinkedHashSet<>();
+
+    @Size(min = 2, max = 100, message = "Name length must be between 2 and 100 characters")
+    private String name;
+
+    @Size(max = 100, message = "Alias length must be at most 100 characters")
+    private String alias;
+
+    private Universe universe;
+
+    @Min(value = 1, message = "Power level must be at least 1")
+    @Max(value = 100, message = "Power level must be at most 100")
+    private Integer powerLevel;
+
+    private Boolean active;
+
+    /**
+     * Indica si el campo venía en el documento de patch (aunque fuese con valor null).
+     *
+     * @param field nombre del campo.
+     * @return true si el campo debe aplicarse.
+     */
+    public boolean isPresent(String field) {
+        return presentFields.contains(field);
+    }
+
+    @JsonIgnore
+    public Set<String> getPresentFields() {
+        return Collections.unmodifiableSet(presentFields);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        presentFields.add("name");
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    public void setAlias(String alias) {
+        this.alias = alias;
+        presentFields.add("alias");
+    }
+
+    public Universe getUniverse() {
+        return universe;
+    }
+
+    public void setUniverse(Universe universe) {
+        this.universe = universe;
+        presentFields.add("universe");
+    }
+
+    public Integer getPowerLevel() {
+        return powerLevel;
+    }
+
+    public void setPowerLevel(Integer powerLevel) {
+        this.powerLevel = powerLevel;
+        presentFields.add("powerLevel");
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+        presentFields.add("active");
+    }
+}
@@ -0,0 +1,94 @@
+package com.opitech.superheroes.dto;
+
+import com.opitech.superheroes.model.Universe;
+
+public class HeroRankDto {
+
+    private Long id;
+    private String name;
+    private Universe universe;
+    private Integer powerLevel;
+    private int globalRank;
+    private int globalTotal;
+    private int universeRank;
+    private int universeTotal;
+
+    public HeroRankDto() {
+    }
+
+    public HeroRankDto(Long id, String name, Universe universe, Integer powerLevel,
+                       int globalRank, int globalTotal, int universeRank, int universeTotal) {
+        this.id = id;
+        this.name = name;
+        this.universe = universe;
+        this.powerLevel = powerLevel;
+        this.globalRank = globalRank;
+        this.globalTotal = globalTotal;
+        this.universeRank = universeRank;
+        this.universeTotal = universeTotal;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Universe getUniverse() {
+        return universe;
+    }
+
+    public void setUniverse(Universe universe) {
+        this.universe = universe;
+    }
+
+    public Integer getPowerLevel() {
+        return powerLevel;
+    }
+
+    public void setPowerLevel(Integer powerLevel) {
+        this.powerLevel = powerLevel;
+    }
+
+    public int getGlobalRank() {
+        return globalRank;
+    }
+
+    public void setGlobalRank(int globalRank) {
+        this.globalRank = globalRank;
+    }
+
+    public int getGlobalTotal() {
+        return globalTotal;
+    }
+
+    public void setGlobalTotal(int globalTotal) {
+        this.globalTotal = globalTotal;
+    }
+
+    public int getUniverseRank() {
+        return universeRank;
+    }
+
+    public void setUniverseRank(int universeRank) {
+        this.universeRank = universeRank;
+    }
+
+    public int getUniverseTotal() {
+        return universeTotal;
+    }
+
+    public void setUniverseTotal(int universeTotal) {
+        this.universeTotal = universeTotal;
+    }
+}
@@ -0,0 +1,73 @@
+package com.opitech.superheroes.dto;
+
+import com.opitech.superheroes.model.Universe;
+
+public class HeroSearchHitDto {
+
+    private Long id;
+    private String name;
+    private String alias;
+    private Universe universe;
+    private Boolean active;
+    private double score;
+
+    public HeroSearchHitDto() {
+    }
+
+    public HeroSearchHitDto(Long id, String name, String alias, Universe universe, Boolean active, double score) {
+        this.id = id;
+        this.name = name;
+        this.alias = alias;
+        this.universe = universe;
+        this.active = active;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    public void setAlias(String alias) {
+        this.alias = alias;
+    }
+
+    public Universe getUniverse() {
+        return universe;
+    }
+
+    public void setUniverse(Universe universe) {
+        this.universe = universe;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
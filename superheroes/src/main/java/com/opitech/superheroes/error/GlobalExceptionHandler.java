@@ -2,8 +2,12 @@ package com.opitech.superheroes.error;
 
 import com.opitech.superheroes.exception.HeroAlreadyExistsException;
 import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.exception.HeroVersionConflictException;
+import com.opitech.superheroes.exception.WriteBufferFullException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -44,6 +48,35 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(error);
     }
 
+    // 409 - violación de constraint en base de datos (p. ej. nombres duplicados dentro de un patch masivo)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiError> handleDataIntegrityViolation(DataIntegrityViolationException ex,
+                                                                 HttpServletRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        ApiError error = buildError(status, "Data integrity violation", request);
+        return ResponseEntity.status(status).body(error);
+    }
+
+    // 412 - la versión indicada en If-Match ya no es la actual
+    @ExceptionHandler(HeroVersionConflictException.class)
+    public ResponseEntity<ApiError> handleVersionConflict(HeroVersionConflictException ex,
+                                                          HttpServletRequest request) {
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        ApiError error = buildError(status, ex.getMessage(), request);
+        return ResponseEntity.status(status).body(error);
+    }
+
+    // 503 - buffer de write-behind lleno: el cliente debe reintentar más tarde
+    @ExceptionHandler(WriteBufferFullException.class)
+    public ResponseEntity<ApiError> handleWriteBufferFull(WriteBufferFullException ex,
+                                                          HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ApiError error = buildError(status, ex.getMessage(), request);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(error);
+    }
+
     // 400 - validaciones de body @Valid
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex,
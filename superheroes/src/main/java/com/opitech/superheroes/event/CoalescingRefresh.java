@@ -0,0 +1,73 @@
+package com.opitech.superheroes.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ejecuta una recarga completa en segundo plano y colapsa las peticiones que llegan mientras está pendiente.
+ * <p>
+ * Pensado para los consumidores de {@link HeroChangedEvent} que ante un evento sin ids
+ * ({@link HeroChangedEvent#affectsUnknownIds()}) deben recargar todo su contenido: una ráfaga de esos eventos
+ * (p. ej. un lote del change-log) provoca una sola recarga fuera del hilo que los publica, no una por evento.
+ * <p>
+ * Una petición nunca se pierde: si llega con una recarga ya en curso, se programa otra, porque la que está en curso
+ * puede haber leído la base de datos antes de ese cambio.
+ */
+public class CoalescingRefresh implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingRefresh.class);
+
+    private final String name;
+    private final Runnable refresh;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final ExecutorService executor;
+
+    /**
+     * @param name    nombre del hilo de recarga (y de los mensajes de log).
+     * @param refresh recarga completa; debe ser segura frente a escrituras concurrentes del propio consumidor.
+     */
+    public CoalescingRefresh(String name, Runnable refresh) {
+        this.name = name;
+        this.refresh = refresh;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Solicita una recarga. Si ya hay una programada que aún no ha empezado, esta petición queda cubierta por ella.
+     */
+    public void request() {
+        if (!pending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::run);
+        } catch (RejectedExecutionException e) {
+            // Cerrado durante el apagado: ya no hay nada que mantener al día
+            pending.set(false);
+        }
+    }
+
+    private void run() {
+        // Se rearma antes de recargar: las peticiones que lleguen a partir de aquí necesitan otra recarga
+        pending.set(false);
+        try {
+            refresh.run();
+        } catch (RuntimeException e) {
+            log.warn("{} failed", name, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
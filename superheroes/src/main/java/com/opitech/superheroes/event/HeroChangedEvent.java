@@ -0,0 +1,55 @@
+package com.opitech.superheroes.event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evento publicado al modificar héroes, dentro de la transacción de la escritura.
+ * <p>
+ * Los consumidores que mantienen cachés o índices en memoria deben escucharlo con
+ * {@code @TransactionalEventListener(fallbackExecution = true)} para invalidar solo tras el commit. Una operación
+ * masiva publica un evento por transacción con todos sus ids, nunca uno por fila.
+ * <p>
+ * Los eventos {@code remote} los publica el poller de {@code hero_changes} para cambios hechos por otros nodos:
+ * no se vuelven a registrar en el change-log.
+ *
+ * @param operation tipo de modificación.
+ * @param heroIds   ids afectados, o null si la operación se aplicó por filtro y el conjunto no se conoce.
+ * @param version   versión del héroe tras el cambio, si se conoce (solo operaciones sobre un héroe).
+ * @param remote    true si el cambio se hizo en otro nodo.
+ */
+public record HeroChangedEvent(Operation operation, List<Long> heroIds, Long version, boolean remote) {
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE,
+        DEACTIVATE
+    }
+
+    public static HeroChangedEvent of(Operation operation, List<Long> heroIds) {
+        return new HeroChangedEvent(operation, List.copyOf(heroIds), null, false);
+    }
+
+    public static HeroChangedEvent of(Operation operation, Long heroId, Long version) {
+        return new HeroChangedEvent(operation, Collections.singletonList(heroId), version, false);
+    }
+
+    /**
+     * Evento para operaciones por filtro: los consumidores deben invalidar todo su contenido.
+     */
+    public static HeroChangedEvent unknownIds(Operation operation) {
+        return new HeroChangedEvent(operation, null, null, false);
+    }
+
+    /**
+     * Evento para un cambio leído del change-log y hecho por otro nodo.
+     */
+    public static HeroChangedEvent remote(Operation operation, Long heroId, Long version) {
+        return new HeroChangedEvent(operation, heroId != null ? List.of(heroId) : null, version, true);
+    }
+
+    public boolean affectsUnknownIds() {
+        return heroIds == null;
+    }
+}
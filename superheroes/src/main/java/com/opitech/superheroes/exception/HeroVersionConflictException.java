@@ -0,0 +1,8 @@
+package com.opitech.superheroes.exception;
+
+public class HeroVersionConflictException extends RuntimeException {
+
+    public HeroVersionConflictException(Long id, Long expectedVersion) {
+        super("Hero with id " + id + " is no longer at version " + expectedVersion);
+    }
+}
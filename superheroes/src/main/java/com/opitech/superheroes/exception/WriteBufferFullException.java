@@ -0,0 +1,17 @@
+package com.opitech.superheroes.exception;
+
+import java.time.Duration;
+
+public class WriteBufferFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public WriteBufferFullException(int capacity, Duration retryAfter) {
+        super("Write-behind buffer is full (" + capacity + " heroes pending); retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,49 @@
+package com.opitech.superheroes.fastboot;
+
+import org.flywaydb.core.Flyway;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+/**
+ * Genera en el build ({@code process-classes}) el snapshot binario de la base de datos inicial: aplica las
+ * migraciones de {@code db/migration} sobre una base de datos H2 en fichero y la compacta. El fichero resultante
+ * incluye {@code flyway_schema_history}, así que al arrancar desde él Flyway puede validar los checksums sin
+ * volver a ejecutar nada.
+ * <p>
+ * Uso: {@code DatabaseSnapshotBuilder <directorio de clases>}; escribe {@value #SNAPSHOT_RESOURCE}.
+ */
+public final class DatabaseSnapshotBuilder {
+
+    static final String SNAPSHOT_RESOURCE = "db/snapshot/superheroes.mv.db";
+    static final String DATABASE_NAME = "superheroes";
+
+    private DatabaseSnapshotBuilder() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: DatabaseSnapshotBuilder <output classes directory>");
+        }
+        Path snapshot = Path.of(args[0]).resolve(SNAPSHOT_RESOURCE);
+        Files.createDirectories(snapshot.getParent());
+        Files.deleteIfExists(snapshot);
+
+        String url = "jdbc:h2:file:" + snapshot.getParent().resolve(DATABASE_NAME).toAbsolutePath();
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        // Compacta el fichero y lo cierra: el snapshot queda listo para abrirse sin recuperación
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN COMPACT");
+        }
+        System.out.printf("Database snapshot written to %s (%d bytes)%n", snapshot, Files.size(snapshot));
+    }
+}
@@ -0,0 +1,64 @@
+package com.opitech.superheroes.fastboot;
+
+import org.flywaydb.core.api.exception.FlywayValidateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Arranque rápido desde el snapshot de base de datos generado en el build por {@link DatabaseSnapshotBuilder}.
+ * <p>
+ * Sustituye al DataSource autoconfigurado por uno sobre una copia privada del snapshot (solo admite una
+ * {@code spring.datasource.url} H2 en memoria, que ya es privada de la instancia), Flyway solo valida los checksums
+ * de las migraciones aplicadas (falla si el snapshot no corresponde a {@code db/migration}) y Hibernate no vuelve
+ * a validar el esquema, que ya garantiza esa comprobación.
+ */
+@Configuration
+@EnableConfigurationProperties(FastBootProperties.class)
+@ConditionalOnProperty(prefix = "superheroes.fast-boot", name = "enabled", havingValue = "true")
+public class FastBootConfig {
+
+    @Bean(destroyMethod = "delete")
+    public SnapshotDatabase snapshotDatabase(FastBootProperties properties, DataSourceProperties dataSourceProperties) {
+        // Cada instancia abre su propia copia: con una base de datos compartida las réplicas dejarían de verse
+        String url = dataSourceProperties.getUrl();
+        if (url != null && !url.startsWith("jdbc:h2:mem:")) {
+            throw new IllegalStateException("superheroes.fast-boot.enabled replaces spring.datasource.url with a "
+                    + "private copy of the database snapshot and only supports in-memory H2 URLs, but it is " + url
+                    + "; disable fast boot to use a shared database");
+        }
+        return new SnapshotDatabase(properties.getSnapshot());
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, SnapshotDatabase snapshotDatabase) {
+        // Depende del snapshot: se cierra antes de borrar la copia
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .url(snapshotDatabase.getJdbcUrl())
+                .build();
+    }
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            try {
+                flyway.validate();
+            } catch (FlywayValidateException e) {
+                throw new IllegalStateException(
+                        "Database snapshot does not match db/migration; rebuild it with 'mvn process-classes'", e);
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer skipSchemaValidation() {
+        return properties -> properties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+    }
+}
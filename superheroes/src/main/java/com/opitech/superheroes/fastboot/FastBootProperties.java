@@ -0,0 +1,41 @@
+package com.opitech.superheroes.fastboot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del arranque desde snapshot de base de datos ({@code superheroes.fast-boot.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.fast-boot")
+public class FastBootProperties {
+
+    /**
+     * Si se activa, la base de datos se abre desde el snapshot generado en el build en vez de ejecutar las
+     * migraciones; Flyway solo valida que el snapshot corresponde a las migraciones actuales.
+     * <p>
+     * Cada instancia usa su propia copia del snapshot en lugar de {@code spring.datasource.url}, así que solo se
+     * admite junto a una URL H2 en memoria: con una base de datos compartida (p. ej. varias réplicas con
+     * {@code superheroes.coherence}) el arranque falla.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Ubicación del snapshot (fichero {@code .mv.db} de H2).
+     */
+    private String snapshot = "classpath:" + DatabaseSnapshotBuilder.SNAPSHOT_RESOURCE;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(String snapshot) {
+        this.snapshot = snapshot;
+    }
+}
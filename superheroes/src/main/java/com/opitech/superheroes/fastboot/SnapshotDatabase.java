@@ -0,0 +1,55 @@
+package com.opitech.superheroes.fastboot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Copia privada del snapshot de base de datos para esta instancia, en un directorio temporal que se borra al
+ * cerrar la aplicación. Abrir el fichero es inmediato: H2 lee las páginas bajo demanda, sin re-ejecutar SQL.
+ */
+public class SnapshotDatabase {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotDatabase.class);
+
+    private final Path directory;
+
+    public SnapshotDatabase(String location) {
+        Resource snapshot = new DefaultResourceLoader().getResource(location);
+        if (!snapshot.exists()) {
+            throw new IllegalStateException("Database snapshot " + location
+                    + " not found; build it with 'mvn process-classes' or disable superheroes.fast-boot");
+        }
+        try {
+            directory = Files.createTempDirectory("superheroes-snapshot");
+            try (InputStream in = snapshot.getInputStream()) {
+                Files.copy(in, directory.resolve(DatabaseSnapshotBuilder.DATABASE_NAME + ".mv.db"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not copy database snapshot " + location, e);
+        }
+        log.info("Opening database from snapshot {}", location);
+    }
+
+    public String getJdbcUrl() {
+        // DB_CLOSE_ON_EXIT=FALSE: la cierra el pool al parar el contexto, no el shutdown hook de H2
+        return "jdbc:h2:file:" + directory.resolve(DatabaseSnapshotBuilder.DATABASE_NAME).toAbsolutePath()
+                + ";DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    public void delete() {
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            log.warn("Could not delete database snapshot copy {}: {}", directory, e.getMessage());
+        }
+    }
+}
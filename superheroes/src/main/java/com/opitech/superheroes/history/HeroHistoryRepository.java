@@ -0,0 +1,244 @@
+package com.opitech.superheroes.history;
+
+import com.opitech.superheroes.event.HeroChangedEvent.Operation;
+import com.opitech.superheroes.model.Universe;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Acceso JDBC a {@code hero_history} y, para reconciliar, al estado actual de {@code heroes}.
+ * <p>
+ * Comparte la conexión de la transacción en curso, así que las escrituras se confirman junto con el cambio.
+ */
+public class HeroHistoryRepository {
+
+    private static final String COLUMNS = "h.seq, h.hero_id, h.operation, h.snapshot, h.changed_fields, h.name, "
+            + "h.alias, h.universe, h.power_level, h.active, h.created_at, h.version, h.changed_at";
+
+    private static final String INSERT = "INSERT INTO hero_history (hero_id, operation, snapshot, changed_fields, "
+            + "name, alias, universe, power_level, active, created_at, version, changed_at) "
+            + "VALUES (:heroId, :operation, :snapshot, :changedFields, :name, :alias, :universe, :powerLevel, "
+            + ":active, :createdAt, :version, :changedAt)";
+
+    private static final String FIELD_FILTER =
+            "h.hero_id = :heroId AND (:fields = 0 OR BITAND(h.changed_fields, :fields) <> 0)";
+
+    private static final String REGISTER = "MERGE INTO hero_history_heroes r "
+            + "USING (VALUES (CAST(:heroId AS BIGINT), CAST(:changedAt AS TIMESTAMP))) n (hero_id, first_changed_at) "
+            + "ON r.hero_id = n.hero_id "
+            + "WHEN NOT MATCHED THEN INSERT (hero_id, first_changed_at) VALUES (n.hero_id, n.first_changed_at)";
+
+    /**
+     * Última entrada hasta {@code :at} del héroe {@code x} (con {@code %s} para restringirla): una búsqueda por
+     * héroe en {@code idx_hero_history_hero_time}, sin agrupar el historial completo.
+     */
+    private static final String LATEST_AT = "(SELECT MAX(h.seq) FROM hero_history h "
+            + "WHERE h.hero_id = x.hero_id AND h.changed_at <= :at%s)";
+
+    /**
+     * Héroes que existían en {@code :at}: registrados antes de ese instante y cuya última entrada no es una lápida.
+     * Admite más {@code JOIN} con el alias {@code x} en el lugar de {@code %s}.
+     */
+    private static final String EXISTING_AT = "hero_history_heroes x "
+            + "JOIN hero_history e ON e.seq = " + LATEST_AT.formatted("") + "%s "
+            + "WHERE x.first_changed_at <= :at AND e.operation <> 'DELETE'";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public HeroHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Lee, por héroe, su último snapshot anterior o igual a {@code at} y las entradas posteriores hasta {@code at}:
+     * lo justo para reconstruir su estado, sin recorrer el historial completo.
+     *
+     * @param scope héroes a leer.
+     * @param at    instante de corte, o null para leer hasta el final.
+     * @return entradas ordenadas por seq, agrupadas por id de héroe en orden ascendente.
+     */
+    Map<Long, List<HistoryEntry>> findSinceLatestSnapshot(HeroScope scope, LocalDateTime at) {
+        String timeBound = at != null ? " AND %s.changed_at <= :at" : "";
+        String sql = "SELECT " + COLUMNS + " FROM ("
+                + "SELECT s.hero_id, MAX(s.seq) AS base FROM hero_history s "
+                + "WHERE s.snapshot = TRUE AND " + scope.on("s.hero_id") + timeBound.formatted("s")
+                + " GROUP BY s.hero_id) b "
+                + "JOIN hero_history h ON h.hero_id = b.hero_id AND h.seq >= b.base"
+                + timeBound.formatted("h")
+                + " ORDER BY h.hero_id, h.seq";
+
+        MapSqlParameterSource params = new MapSqlParameterSource(scope.params());
+        if (at != null) {
+            params.addValue("at", Timestamp.valueOf(at));
+        }
+
+        Map<Long, List<HistoryEntry>> entries = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            HistoryEntry entry = mapEntry(rs);
+            entries.computeIfAbsent(entry.heroId(), id -> new ArrayList<>()).add(entry);
+        });
+        return entries;
+    }
+
+    /**
+     * Página de ids de los héroes que existían en {@code at}, ordenados en SQL por id o por el valor que tenía en ese
+     * instante un campo versionado (la última entrada hasta {@code at} que lo incluye), con desempate por id
+     * ascendente. Los nulos van al final en orden ascendente y al principio en descendente.
+     * <p>
+     * Recorre {@code hero_history_heroes} y, por héroe, busca en el índice su última entrada hasta {@code at} (y la
+     * del campo de orden): el coste depende del número de héroes, no de la longitud del historial. El total sale
+     * de la misma consulta.
+     *
+     * @param field campo de orden, o null para ordenar por id.
+     */
+    IdPage findIdsExistingAt(LocalDateTime at, HistoryField field, boolean ascending, long offset, int limit) {
+        String direction = ascending ? "ASC" : "DESC";
+        String valueJoin = "";
+        String order = "x.hero_id " + direction;
+        if (field != null) {
+            valueJoin = " JOIN hero_history v ON v.seq = "
+                    + LATEST_AT.formatted(" AND (h.snapshot = TRUE OR BITAND(h.changed_fields, :mask) <> 0)");
+            order = "v." + field.column() + " " + direction + (ascending ? " NULLS LAST" : " NULLS FIRST")
+                    + ", x.hero_id ASC";
+        }
+        String sql = "SELECT x.hero_id, COUNT(*) OVER () AS total FROM " + EXISTING_AT.formatted(valueJoin)
+                + " ORDER BY " + order + " LIMIT :limit OFFSET :offset";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("at", Timestamp.valueOf(at))
+                .addValue("mask", field != null ? field.mask() : 0)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        List<Long> ids = new ArrayList<>(limit);
+        long[] total = {0};
+        jdbcTemplate.query(sql, params, rs -> {
+            ids.add(rs.getLong("hero_id"));
+            total[0] = rs.getLong("total");
+        });
+        // Una página más allá del final no trae filas ni, por tanto, el total
+        if (ids.isEmpty() && offset > 0) {
+            total[0] = countExistingAt(at);
+        }
+        return new IdPage(ids, total[0]);
+    }
+
+    private long countExistingAt(LocalDateTime at) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + EXISTING_AT.formatted(""),
+                new MapSqlParameterSource("at", Timestamp.valueOf(at)), Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * @return estado actual en {@code heroes} de los héroes del ámbito, por id ascendente.
+     */
+    Map<Long, HeroState> findCurrent(HeroScope scope) {
+        String sql = "SELECT id, name, alias, universe, power_level, active, created_at, updated_at, version "
+                + "FROM heroes WHERE " + scope.on("id");
+
+        Map<Long, HeroState> heroes = new TreeMap<>();
+        jdbcTemplate.query(sql, scope.params(), rs -> {
+            long id = rs.getLong("id");
+            heroes.put(id, new HeroState(id, rs.getString("name"), rs.getString("alias"),
+                    Universe.valueOf(rs.getString("universe")), rs.getInt("power_level"), rs.getBoolean("active"),
+                    rs.getTimestamp("created_at").toLocalDateTime(), rs.getTimestamp("updated_at").toLocalDateTime(),
+                    rs.getLong("version"), false));
+        });
+        return heroes;
+    }
+
+    void insertAll(List<HistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = entries.stream()
+                .map(HeroHistoryRepository::insertParams)
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT, batch);
+
+        // Un héroe entra en hero_history_heroes con su primera entrada (siempre un CREATE)
+        SqlParameterSource[] created = entries.stream()
+                .filter(entry -> entry.operation() == Operation.CREATE)
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("heroId", entry.heroId())
+                        .addValue("changedAt", Timestamp.valueOf(entry.changedAt())))
+                .toArray(SqlParameterSource[]::new);
+        if (created.length > 0) {
+            jdbcTemplate.batchUpdate(REGISTER, created);
+        }
+    }
+
+    /**
+     * Entradas de un héroe, de la más reciente a la más antigua.
+     *
+     * @param fields máscara de campos: solo entradas que modifican alguno de ellos, o 0 para todas.
+     */
+    List<HistoryEntry> findByHero(long heroId, int fields, long offset, int limit) {
+        String sql = "SELECT " + COLUMNS + " FROM hero_history h WHERE " + FIELD_FILTER
+                + " ORDER BY h.seq DESC LIMIT :limit OFFSET :offset";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("heroId", heroId)
+                .addValue("fields", fields)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> mapEntry(rs));
+    }
+
+    long countByHero(long heroId, int fields) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("heroId", heroId)
+                .addValue("fields", fields);
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM hero_history h WHERE " + FIELD_FILTER, params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Ids de una página y total de héroes del listado.
+     */
+    record IdPage(List<Long> ids, long total) {
+    }
+
+    private static SqlParameterSource insertParams(HistoryEntry entry) {
+        HeroState values = entry.values();
+        Object universe = entry.stored(HistoryField.UNIVERSE);
+        return new MapSqlParameterSource()
+                .addValue("heroId", entry.heroId())
+                .addValue("operation", entry.operation().name())
+                .addValue("snapshot", entry.snapshot())
+                .addValue("changedFields", entry.changedFields())
+                .addValue("name", entry.stored(HistoryField.NAME))
+                .addValue("alias", entry.stored(HistoryField.ALIAS))
+                .addValue("universe", universe != null ? ((Universe) universe).name() : null)
+                .addValue("powerLevel", entry.stored(HistoryField.POWER_LEVEL))
+                .addValue("active", entry.stored(HistoryField.ACTIVE))
+                .addValue("createdAt", entry.snapshot() ? Timestamp.valueOf(values.createdAt()) : null)
+                .addValue("version", values.version())
+                .addValue("changedAt", Timestamp.valueOf(entry.changedAt()));
+    }
+
+    private static HistoryEntry mapEntry(ResultSet rs) throws SQLException {
+        long heroId = rs.getLong("hero_id");
+        String universe = rs.getString("universe");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        LocalDateTime changedAt = rs.getTimestamp("changed_at").toLocalDateTime();
+        HeroState values = new HeroState(heroId, rs.getString("name"), rs.getString("alias"),
+                universe != null ? Universe.valueOf(universe) : null,
+                rs.getObject("power_level", Integer.class), rs.getObject("active", Boolean.class),
+                createdAt != null ? createdAt.toLocalDateTime() : null, changedAt,
+                rs.getObject("version", Long.class), false);
+        return new HistoryEntry(rs.getLong("seq"), heroId, Operation.valueOf(rs.getString("operation")),
+                rs.getBoolean("snapshot"), rs.getInt("changed_fields"), values, changedAt);
+    }
+}
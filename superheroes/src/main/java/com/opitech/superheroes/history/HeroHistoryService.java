@@ -0,0 +1,184 @@
+package com.opitech.superheroes.history;
+
+import com.opitech.superheroes.dto.HeroHistoryEntryDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Consultas sobre el historial de héroes: cambios de un héroe y estado en un instante pasado.
+ * <p>
+ * Un estado pasado se reconstruye desde el último snapshot anterior al instante pedido aplicando los deltas
+ * posteriores, de modo que cada héroe lee como mucho {@code superheroes.history.snapshot-interval} filas.
+ */
+public class HeroHistoryService {
+
+    /**
+     * Propiedades cuyo orden en SQL coincide con el de {@link #comparator}: los enums ({@code universe}) se ordenan
+     * por texto en SQL y por ordinal en Java, y el resto no se guarda en cada entrada versionada.
+     */
+    private static final Set<String> SQL_SORTABLE = Set.of("id", "name", "alias", "powerLevel", "active");
+
+    private final HeroHistoryRepository repository;
+
+    public HeroHistoryService(HeroHistoryRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Retorna los cambios registrados de un héroe, del más reciente al más antiguo.
+     *
+     * @param id       ID del héroe.
+     * @param field    si se indica, solo los cambios que modifican este campo (p. ej. {@code powerLevel}).
+     * @param pageable página y tamaño; el orden es siempre por antigüedad descendente.
+     * @return página de cambios.
+     * @throws HeroNotFoundException    si el héroe no tiene historial.
+     * @throws IllegalArgumentException si el campo no es un campo versionado.
+     */
+    @Transactional(readOnly = true)
+    public Page<HeroHistoryEntryDto> getHistory(Long id, String field, Pageable pageable) {
+        int fields = field != null ? HistoryField.fromProperty(field).mask() : 0;
+
+        long total = repository.countByHero(id, fields);
+        if (total == 0 && (fields == 0 || repository.countByHero(id, 0) == 0)) {
+            throw new HeroNotFoundException(id);
+        }
+
+        List<HeroHistoryEntryDto> content = repository
+                .findByHero(id, fields, pageable.getOffset(), pageable.getPageSize()).stream()
+                .map(HeroHistoryService::toDto)
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Retorna el estado de un héroe en un instante.
+     *
+     * @param id ID del héroe.
+     * @param at instante de la lectura.
+     * @return héroe tal como estaba en {@code at}.
+     * @throws HeroNotFoundException si el héroe no existía en ese instante.
+     */
+    @Transactional(readOnly = true)
+    public HeroResponseDto getHeroAsOf(Long id, LocalDateTime at) {
+        List<HistoryEntry> entries = repository.findSinceLatestSnapshot(HeroScope.ids(List.of(id)), at)
+                .getOrDefault(id, List.of());
+        HeroState state = HeroState.replay(entries);
+        if (state == null || state.deleted()) {
+            throw new HeroNotFoundException(id);
+        }
+        return state.toDto();
+    }
+
+    /**
+     * Retorna una página de los héroes que existían en un instante, con su estado en ese instante.
+     * <p>
+     * Ordenando por un único campo entre {@code id}, {@code name}, {@code alias}, {@code powerLevel} y
+     * {@code active}, la base de datos pagina los ids y solo se reconstruyen los héroes de la página; con cualquier
+     * otro orden se reconstruyen todos y se ordenan en memoria.
+     *
+     * @param at       instante de la lectura.
+     * @param pageable página, tamaño y orden (por cualquier campo de héroe).
+     * @return página de héroes.
+     * @throws IllegalArgumentException si se ordena por una propiedad desconocida.
+     */
+    @Transactional(readOnly = true)
+    public Page<HeroResponseDto> getHeroesAsOf(LocalDateTime at, Pageable pageable) {
+        Comparator<HeroState> order = comparator(pageable.getSort());
+
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.isEmpty()) {
+            return getHeroesAsOfPagedById(at, null, true, pageable);
+        }
+        if (orders.size() == 1 && SQL_SORTABLE.contains(orders.get(0).getProperty())) {
+            Sort.Order single = orders.get(0);
+            HistoryField field = "id".equals(single.getProperty()) ? null : HistoryField.fromProperty(single.getProperty());
+            return getHeroesAsOfPagedById(at, field, single.isAscending(), pageable);
+        }
+
+        List<HeroState> heroes = repository.findSinceLatestSnapshot(HeroScope.all(), at).values().stream()
+                .map(HeroState::replay)
+                .filter(state -> !state.deleted())
+                .sorted(order)
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), heroes.size());
+        int to = Math.min(from + pageable.getPageSize(), heroes.size());
+        List<HeroResponseDto> content = heroes.subList(from, to).stream()
+                .map(HeroState::toDto)
+                .toList();
+        return new PageImpl<>(content, pageable, heroes.size());
+    }
+
+    private Page<HeroResponseDto> getHeroesAsOfPagedById(LocalDateTime at, HistoryField field, boolean ascending,
+                                                         Pageable pageable) {
+        HeroHistoryRepository.IdPage ids = repository.findIdsExistingAt(at, field, ascending, pageable.getOffset(),
+                pageable.getPageSize());
+        if (ids.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.total());
+        }
+
+        Map<Long, List<HistoryEntry>> entries = repository.findSinceLatestSnapshot(HeroScope.ids(ids.ids()), at);
+        List<HeroResponseDto> content = ids.ids().stream()
+                .map(id -> HeroState.replay(entries.get(id)).toDto())
+                .toList();
+        return new PageImpl<>(content, pageable, ids.total());
+    }
+
+    private static Comparator<HeroState> comparator(Sort sort) {
+        Comparator<HeroState> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<HeroState> next = Comparator.comparing(sortKey(order.getProperty()),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        // Desempate estable por id, como el orden natural de la tabla
+        Comparator<HeroState> byId = Comparator.comparingLong(HeroState::id);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static Function<HeroState, Comparable<Object>> sortKey(String property) {
+        Function<HeroState, ?> key = switch (property) {
+            case "id" -> HeroState::id;
+            case "name" -> HeroState::name;
+            case "alias" -> HeroState::alias;
+            case "universe" -> HeroState::universe;
+            case "powerLevel" -> HeroState::powerLevel;
+            case "active" -> HeroState::active;
+            case "createdAt" -> HeroState::createdAt;
+            case "updatedAt" -> HeroState::updatedAt;
+            case "version" -> HeroState::version;
+            default -> throw new IllegalArgumentException("Unknown sort property: " + property);
+        };
+        return state -> comparable(key.apply(state));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Object value) {
+        return (Comparable<Object>) value;
+    }
+
+    private static HeroHistoryEntryDto toDto(HistoryEntry entry) {
+        HeroHistoryEntryDto dto = new HeroHistoryEntryDto();
+        dto.setSeq(entry.seq());
+        dto.setOperation(entry.operation().name());
+        dto.setChangedAt(entry.changedAt());
+        dto.setVersion(entry.values().version());
+        dto.setChanges(entry.changes());
+        return dto;
+    }
+}
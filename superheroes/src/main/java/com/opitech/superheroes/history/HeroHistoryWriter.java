@@ -0,0 +1,74 @@
+package com.opitech.superheroes.history;
+
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.event.HeroChangedEvent.Operation;
+import org.springframework.context.event.EventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registra en {@code hero_history} cada {@link HeroChangedEvent} local.
+ * <p>
+ * Como {@code HeroChangeLogWriter}, es un listener síncrono que escribe en la transacción de la escritura. En lugar
+ * de confiar en que cada llamada describa sus cambios, reconcilia: compara el estado actual en {@code heroes} de los
+ * héroes afectados con el reconstruido desde su historial y añade solo los campos que difieren. Así cubre igual un
+ * PUT, un patch, una operación masiva por filtro o un flush del write-behind.
+ */
+public class HeroHistoryWriter {
+
+    private final HeroHistoryRepository repository;
+    private final int snapshotInterval;
+
+    public HeroHistoryWriter(HeroHistoryRepository repository, HistoryProperties properties) {
+        this.repository = repository;
+        this.snapshotInterval = properties.getSnapshotInterval();
+    }
+
+    @EventListener
+    public void onHeroChanged(HeroChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+
+        // Los escritores vuelcan sus cambios antes de publicar: heroes ya refleja el estado confirmado con el evento
+        HeroScope scope = event.affectsUnknownIds() ? HeroScope.all() : HeroScope.ids(event.heroIds());
+        reconcile(scope, event.operation(), LocalDateTime.now());
+    }
+
+    private void reconcile(HeroScope scope, Operation operation, LocalDateTime now) {
+        Map<Long, HeroState> current = repository.findCurrent(scope);
+        Map<Long, List<HistoryEntry>> history = repository.findSinceLatestSnapshot(scope, null);
+        List<HistoryEntry> entries = new ArrayList<>();
+
+        for (HeroState hero : current.values()) {
+            List<HistoryEntry> heroHistory = history.getOrDefault(hero.id(), List.of());
+            HeroState previous = HeroState.replay(heroHistory);
+            if (previous == null || previous.deleted()) {
+                entries.add(HistoryEntry.snapshot(hero, Operation.CREATE, HistoryField.ALL, now));
+                continue;
+            }
+            int changed = previous.diff(hero);
+            if (changed == 0) {
+                continue;
+            }
+            // heroHistory = último snapshot + deltas posteriores
+            entries.add(heroHistory.size() >= snapshotInterval
+                    ? HistoryEntry.snapshot(hero, operation, changed, now)
+                    : HistoryEntry.delta(hero, operation, changed, now));
+        }
+
+        history.forEach((heroId, heroHistory) -> {
+            if (!current.containsKey(heroId)) {
+                HeroState previous = HeroState.replay(heroHistory);
+                if (!previous.deleted()) {
+                    entries.add(HistoryEntry.tombstone(previous, now));
+                }
+            }
+        });
+
+        repository.insertAll(entries);
+    }
+}
@@ -0,0 +1,25 @@
+package com.opitech.superheroes.history;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conjunto de héroes sobre el que se lee o reconcilia el historial.
+ *
+ * @param condition condición SQL sobre la columna de id, con {@code %s} en lugar del nombre de la columna.
+ * @param params    parámetros con nombre de la condición.
+ */
+record HeroScope(String condition, Map<String, Object> params) {
+
+    static HeroScope ids(List<Long> ids) {
+        return new HeroScope("%s IN (:ids)", Map.of("ids", ids));
+    }
+
+    static HeroScope all() {
+        return new HeroScope("1 = 1", Map.of());
+    }
+
+    String on(String column) {
+        return condition.formatted(column);
+    }
+}
@@ -0,0 +1,86 @@
+package com.opitech.superheroes.history;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.model.Universe;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Estado de un héroe en un instante, leído de {@code heroes} o reconstruido a partir de {@code hero_history}.
+ *
+ * @param deleted true si el héroe estaba borrado en ese instante.
+ */
+record HeroState(long id, String name, String alias, Universe universe, Integer powerLevel, Boolean active,
+                 LocalDateTime createdAt, LocalDateTime updatedAt, Long version, boolean deleted) {
+
+    /**
+     * Reconstruye el estado aplicando en orden las entradas de un héroe, empezando por un snapshot.
+     *
+     * @param entries entradas ordenadas por seq; la primera debe ser un snapshot.
+     * @return estado tras la última entrada, o null si no hay entradas.
+     */
+    static HeroState replay(List<HistoryEntry> entries) {
+        HeroState state = null;
+        for (HistoryEntry entry : entries) {
+            state = state == null ? start(entry) : state.apply(entry);
+        }
+        return state;
+    }
+
+    private static HeroState start(HistoryEntry entry) {
+        if (!entry.snapshot()) {
+            throw new IllegalStateException("History of hero " + entry.heroId() + " must start with a snapshot");
+        }
+        HeroState values = entry.values();
+        return new HeroState(entry.heroId(), values.name, values.alias, values.universe, values.powerLevel,
+                values.active, values.createdAt, entry.changedAt(), values.version, false);
+    }
+
+    HeroState apply(HistoryEntry entry) {
+        if (entry.isTombstone()) {
+            return new HeroState(id, name, alias, universe, powerLevel, active, createdAt, entry.changedAt(),
+                    version, true);
+        }
+        if (entry.snapshot()) {
+            return start(entry);
+        }
+        HeroState values = entry.values();
+        int changed = entry.changedFields();
+        return new HeroState(id,
+                HistoryField.NAME.in(changed) ? values.name : name,
+                HistoryField.ALIAS.in(changed) ? values.alias : alias,
+                HistoryField.UNIVERSE.in(changed) ? values.universe : universe,
+                HistoryField.POWER_LEVEL.in(changed) ? values.powerLevel : powerLevel,
+                HistoryField.ACTIVE.in(changed) ? values.active : active,
+                createdAt, entry.changedAt(), values.version, false);
+    }
+
+    /**
+     * @return máscara de los campos versionados cuyo valor difiere en {@code other}.
+     */
+    int diff(HeroState other) {
+        int changed = 0;
+        for (HistoryField field : HistoryField.values()) {
+            if (!Objects.equals(field.value(this), field.value(other))) {
+                changed |= field.mask();
+            }
+        }
+        return changed;
+    }
+
+    HeroResponseDto toDto() {
+        HeroResponseDto dto = new HeroResponseDto();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setAlias(alias);
+        dto.setUniverse(universe);
+        dto.setPowerLevel(powerLevel);
+        dto.setActive(active);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        dto.setVersion(version);
+        return dto;
+    }
+}
@@ -0,0 +1,31 @@
+package com.opitech.superheroes.history;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Historial de cambios de héroes en {@code hero_history} y lecturas en un instante pasado.
+ */
+@Configuration
+@EnableConfigurationProperties(HistoryProperties.class)
+@ConditionalOnProperty(prefix = "superheroes.history", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HistoryConfig {
+
+    @Bean
+    public HeroHistoryRepository heroHistoryRepository(JdbcTemplate jdbcTemplate) {
+        return new HeroHistoryRepository(jdbcTemplate);
+    }
+
+    @Bean
+    public HeroHistoryWriter heroHistoryWriter(HeroHistoryRepository repository, HistoryProperties properties) {
+        return new HeroHistoryWriter(repository, properties);
+    }
+
+    @Bean
+    public HeroHistoryService heroHistoryService(HeroHistoryRepository repository) {
+        return new HeroHistoryService(repository);
+    }
+}
@@ -0,0 +1,58 @@
+package com.opitech.superheroes.history;
+
+import com.opitech.superheroes.event.HeroChangedEvent.Operation;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fila de {@code hero_history}.
+ * <p>
+ * En un delta solo son significativos los campos de {@code changedFields} (y la versión); en un snapshot lo son
+ * todos. Un DELETE es una lápida sin campos.
+ *
+ * @param seq           posición en el historial (null si aún no se ha insertado).
+ * @param snapshot      true si la fila contiene el estado completo del héroe.
+ * @param changedFields máscara de {@link HistoryField} modificados por esta entrada.
+ * @param values        valores de la fila.
+ */
+record HistoryEntry(Long seq, long heroId, Operation operation, boolean snapshot, int changedFields,
+                    HeroState values, LocalDateTime changedAt) {
+
+    static HistoryEntry snapshot(HeroState hero, Operation operation, int changedFields, LocalDateTime changedAt) {
+        return new HistoryEntry(null, hero.id(), operation, true, changedFields, hero, changedAt);
+    }
+
+    static HistoryEntry delta(HeroState hero, Operation operation, int changedFields, LocalDateTime changedAt) {
+        return new HistoryEntry(null, hero.id(), operation, false, changedFields, hero, changedAt);
+    }
+
+    static HistoryEntry tombstone(HeroState hero, LocalDateTime changedAt) {
+        return new HistoryEntry(null, hero.id(), Operation.DELETE, false, 0, hero, changedAt);
+    }
+
+    boolean isTombstone() {
+        return operation == Operation.DELETE;
+    }
+
+    /**
+     * Valor a persistir para un campo: null si la entrada no lo incluye.
+     */
+    Object stored(HistoryField field) {
+        return snapshot || field.in(changedFields) ? field.value(values) : null;
+    }
+
+    /**
+     * @return campos modificados por esta entrada con su nuevo valor, en el orden de {@link HistoryField}.
+     */
+    Map<String, Object> changes() {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (HistoryField field : HistoryField.values()) {
+            if (field.in(changedFields)) {
+                changes.put(field.property(), field.value(values));
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,64 @@
+package com.opitech.superheroes.history;
+
+import java.util.function.Function;
+
+/**
+ * Campos versionados de un héroe. Cada uno ocupa un bit de {@code hero_history.changed_fields}.
+ */
+enum HistoryField {
+
+    NAME(1, "name", "name", HeroState::name),
+    ALIAS(2, "alias", "alias", HeroState::alias),
+    UNIVERSE(4, "universe", "universe", HeroState::universe),
+    POWER_LEVEL(8, "powerLevel", "power_level", HeroState::powerLevel),
+    ACTIVE(16, "active", "active", HeroState::active);
+
+    static final int ALL = 31;
+
+    private final int mask;
+    private final String property;
+    private final String column;
+    private final Function<HeroState, Object> getter;
+
+    HistoryField(int mask, String property, String column, Function<HeroState, Object> getter) {
+        this.mask = mask;
+        this.property = property;
+        this.column = column;
+        this.getter = getter;
+    }
+
+    int mask() {
+        return mask;
+    }
+
+    String property() {
+        return property;
+    }
+
+    /**
+     * Columna de {@code hero_history} que guarda el valor.
+     */
+    String column() {
+        return column;
+    }
+
+    Object value(HeroState state) {
+        return getter.apply(state);
+    }
+
+    boolean in(int changedFields) {
+        return (changedFields & mask) != 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException si la propiedad no es un campo versionado.
+     */
+    static HistoryField fromProperty(String property) {
+        for (HistoryField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown history field: " + property);
+    }
+}
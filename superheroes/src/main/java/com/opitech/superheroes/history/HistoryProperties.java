@@ -0,0 +1,37 @@
+package com.opitech.superheroes.history;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del historial de héroes ({@code superheroes.history.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.history")
+public class HistoryProperties {
+
+    /**
+     * Activa el registro de cambios en {@code hero_history} y los endpoints de historial y lectura en el pasado.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Cada cuántas entradas de un héroe se guarda un snapshot completo en lugar de un delta. Acota a este número
+     * las filas que hay que leer y aplicar para reconstruir un estado.
+     */
+    private int snapshotInterval = 16;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(int snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+}
@@ -0,0 +1,211 @@
+package com.opitech.superheroes.leaderboard;
+
+import com.opitech.superheroes.dto.HeroLeaderboardEntryDto;
+import com.opitech.superheroes.dto.HeroRankDto;
+import com.opitech.superheroes.event.CoalescingRefresh;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.repository.HeroRepository;
+import com.opitech.superheroes.startup.WarmUpTask;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranking en memoria de los héroes activos por poder, global y por universo.
+ * <p>
+ * Cada ranking es una {@link RankedSkipList} ordenada por (powerLevel desc, id), así que el top-N cuesta
+ * O(log n + N) y la posición de un héroe O(log n), sin acceder a la base de datos. Se carga al arrancar y se
+ * mantiene con los {@link HeroChangedEvent} (locales tras el commit y remotos del change-log): altas y
+ * modificaciones releen solo los héroes afectados; los eventos sin ids programan una recarga completa en segundo
+ * plano (varios seguidos se atienden con una sola).
+ */
+@Service
+public class HeroLeaderboardService implements WarmUpTask, AutoCloseable {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final HeroRepository heroRepository;
+    private final TransactionTemplate readTransaction;
+
+    // Las lecturas solo toman el read lock; las escrituras (poco frecuentes) el write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializa las actualizaciones completas (lectura de BD + aplicación) para que no se pisen entre sí
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private final RankedSkipList<LeaderboardEntry> global = new RankedSkipList<>(LeaderboardEntry.ORDER);
+    private final Map<Universe, RankedSkipList<LeaderboardEntry>> byUniverse = new EnumMap<>(Universe.class);
+    private final Map<Long, LeaderboardEntry> entries = new HashMap<>();
+
+    private final CoalescingRefresh deferredReload = new CoalescingRefresh("hero-leaderboard-reload", this::reload);
+
+    public HeroLeaderboardService(HeroRepository heroRepository, PlatformTransactionManager transactionManager) {
+        this.heroRepository = heroRepository;
+        // Transacción nueva: tras el commit de la escritura su contexto de persistencia puede tener datos viejos
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        for (Universe universe : Universe.values()) {
+            byUniverse.put(universe, new RankedSkipList<>(LeaderboardEntry.ORDER));
+        }
+    }
+
+    @Override
+    public void warmUp() {
+        reload();
+    }
+
+    /**
+     * Retorna los héroes activos más poderosos, globalmente o de un universo.
+     *
+     * @param universe universo del ranking, o null para el ranking global.
+     * @param limit    número de héroes (entre 1 y {@value #MAX_LIMIT}).
+     * @return héroes en orden de ranking con su posición.
+     */
+    public List<HeroLeaderboardEntryDto> getTop(Universe universe, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<LeaderboardEntry> top;
+        lock.readLock().lock();
+        try {
+            top = board(universe).first(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<HeroLeaderboardEntryDto> result = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            LeaderboardEntry entry = top.get(i);
+            result.add(new HeroLeaderboardEntryDto(i + 1, entry.id(), entry.name(), entry.alias(),
+                    entry.universe(), entry.powerLevel()));
+        }
+        return result;
+    }
+
+    /**
+     * Retorna la posición de un héroe en el ranking global y en el de su universo.
+     *
+     * @param id ID del héroe.
+     * @return posiciones del héroe.
+     * @throws HeroNotFoundException si el héroe no está en el ranking (no existe o está inactivo).
+     */
+    public HeroRankDto getRank(Long id) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = entries.get(id);
+            if (entry == null) {
+                throw new HeroNotFoundException(id);
+            }
+            RankedSkipList<LeaderboardEntry> universeBoard = board(entry.universe());
+            return new HeroRankDto(entry.id(), entry.name(), entry.universe(), entry.powerLevel(),
+                    global.rankOf(entry), global.size(),
+                    universeBoard.rankOf(entry), universeBoard.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHeroChanged(HeroChangedEvent event) {
+        if (event.affectsUnknownIds()) {
+            deferredReload.request();
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            switch (event.operation()) {
+                case DELETE, DEACTIVATE -> apply(event.heroIds(), List.of());
+                case CREATE, UPDATE -> apply(event.heroIds(), readTransaction.execute(
+                        status -> heroRepository.findAllById(event.heroIds()).stream()
+                                .filter(hero -> Boolean.TRUE.equals(hero.getActive()))
+                                .map(LeaderboardEntry::from)
+                                .toList()));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Recarga los rankings completos con los héroes activos.
+     */
+    public void reload() {
+        updateLock.lock();
+        try {
+            List<LeaderboardEntry> active = readTransaction.execute(status -> heroRepository.findByActiveTrue()
+                    .stream()
+                    .map(LeaderboardEntry::from)
+                    .toList());
+
+            lock.writeLock().lock();
+            try {
+                global.clear();
+                byUniverse.values().forEach(RankedSkipList::clear);
+                entries.clear();
+                if (active != null) {
+                    active.forEach(this::insert);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        deferredReload.close();
+    }
+
+    /**
+     * Sustituye las entradas de los ids indicados por su estado actual.
+     *
+     * @param ids     héroes afectados.
+     * @param current estado actual de los que siguen activos.
+     */
+    private void apply(List<Long> ids, List<LeaderboardEntry> current) {
+        Set<Long> pending = new HashSet<>(ids);
+        lock.writeLock().lock();
+        try {
+            for (Long id : pending) {
+                LeaderboardEntry previous = entries.remove(id);
+                if (previous != null) {
+                    global.remove(previous);
+                    board(previous.universe()).remove(previous);
+                }
+            }
+            if (current != null) {
+                current.forEach(this::insert);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(LeaderboardEntry entry) {
+        entries.put(entry.id(), entry);
+        global.add(entry);
+        board(entry.universe()).add(entry);
+    }
+
+    private RankedSkipList<LeaderboardEntry> board(Universe universe) {
+        return universe == null ? global : byUniverse.get(universe);
+    }
+}
@@ -0,0 +1,24 @@
+package com.opitech.superheroes.leaderboard;
+
+import com.opitech.superheroes.model.Hero;
+import com.opitech.superheroes.model.Universe;
+
+import java.util.Comparator;
+
+/**
+ * Datos de un héroe que necesita el ranking, copiados de la entidad para no retener objetos JPA.
+ */
+public record LeaderboardEntry(long id, String name, String alias, Universe universe, int powerLevel) {
+
+    /**
+     * Orden del ranking: mayor poder primero y, a igual poder, menor id primero.
+     */
+    public static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparingInt(LeaderboardEntry::powerLevel).reversed()
+            .thenComparingLong(LeaderboardEntry::id);
+
+    public static LeaderboardEntry from(Hero hero) {
+        return new LeaderboardEntry(hero.getId(), hero.getName(), hero.getAlias(), hero.getUniverse(),
+                hero.getPowerLevel());
+    }
+}
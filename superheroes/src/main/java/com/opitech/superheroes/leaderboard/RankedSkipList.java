@@ -0,0 +1,183 @@
+package com.opitech.superheroes.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Skip list ordenada con anchura ({@code span}) en cada enlace, de modo que además de insertar y borrar en
+ * O(log n) permite calcular la posición de un elemento en O(log n) (mismo esquema que los sorted sets de Redis).
+ * <p>
+ * No es thread-safe: el llamador debe serializar las escrituras y excluirlas de las lecturas.
+ *
+ * @param <E> tipo de los elementos; el comparador debe ser consistente con equals.
+ */
+public class RankedSkipList<E> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Comparator<? super E> comparator;
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    public RankedSkipList(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inserta un elemento.
+     *
+     * @return false si ya existía un elemento igual según el comparador.
+     */
+    public boolean add(E value) {
+        Node<E>[] update = newNodeArray(MAX_LEVEL);
+        int[] rank = new int[MAX_LEVEL];
+
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        if (x.next[0] != null && comparator.compare(x.next[0].value, value) == 0) {
+            return false;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node<E> node = new Node<>(value, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        // Los enlaces de niveles superiores que pasan por encima del nuevo nodo son un paso más largos
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Elimina un elemento.
+     *
+     * @return false si no existía.
+     */
+    public boolean remove(E value) {
+        Node<E>[] update = newNodeArray(MAX_LEVEL);
+
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        x = x.next[0];
+        if (x == null || comparator.compare(x.value, value) != 0) {
+            return false;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].next[i] = x.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Posición (empezando en 1) del elemento en el orden del comparador.
+     *
+     * @return la posición, o 0 si el elemento no está en la lista.
+     */
+    public int rankOf(E value) {
+        int rank = 0;
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) <= 0) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && comparator.compare(x.value, value) == 0) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Retorna los {@code limit} primeros elementos en orden.
+     */
+    public List<E> first(int limit) {
+        List<E> result = new ArrayList<>(Math.min(limit, size));
+        for (Node<E> x = head.next[0]; x != null && result.size() < limit; x = x.next[0]) {
+            result.add(x.value);
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+    }
+
+    private static int randomLevel() {
+        // Probabilidad 1/4 de subir de nivel: menos memoria por nodo con búsquedas igualmente logarítmicas
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextInt(4) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] newNodeArray(int length) {
+        return (Node<E>[]) new Node[length];
+    }
+
+    private static final class Node<E> {
+
+        final E value;
+        final Node<E>[] next;
+        // span[i]: número de posiciones que avanza el enlace next[i]
+        final int[] span;
+
+        Node(E value, int level) {
+            this.value = value;
+            this.next = newNodeArray(level);
+            this.span = new int[level];
+        }
+    }
+}
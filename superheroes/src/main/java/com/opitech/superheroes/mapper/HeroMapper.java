@@ -1,9 +1,13 @@
 package com.opitech.superheroes.mapper;
 
+import com.opitech.superheroes.dto.HeroPatchDto;
 import com.opitech.superheroes.dto.HeroRequestDto;
 import com.opitech.superheroes.dto.HeroResponseDto;
 import com.opitech.superheroes.model.Hero;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class HeroMapper {
 
     private HeroMapper() {
@@ -42,6 +46,42 @@ public class HeroMapper {
         }
     }
 
+    /**
+     * Convierte un documento JSON Merge Patch en el mapa atributo → valor que se aplicará con un único UPDATE.
+     * Los campos obligatorios de la entidad no pueden borrarse (valor null).
+     *
+     * @param dto DTO con los campos presentes en el patch.
+     * @return Atributos de Hero a modificar, en el orden en que aparecían en el patch.
+     * @throws IllegalArgumentException si se intenta borrar un campo obligatorio o el nombre queda vacío.
+     */
+    public static Map<String, Object> toPatchChanges(HeroPatchDto dto) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (String field : dto.getPresentFields()) {
+            switch (field) {
+                case "name" -> {
+                    String name = requirePresent(field, dto.getName()).trim();
+                    if (name.length() < 2) {
+                        throw new IllegalArgumentException("name: Name length must be between 2 and 100 characters");
+                    }
+                    changes.put(field, name);
+                }
+                case "alias" -> changes.put(field, dto.getAlias());
+                case "universe" -> changes.put(field, requirePresent(field, dto.getUniverse()));
+                case "powerLevel" -> changes.put(field, requirePresent(field, dto.getPowerLevel()));
+                case "active" -> changes.put(field, requirePresent(field, dto.getActive()));
+                default -> throw new IllegalArgumentException("Field '" + field + "' cannot be patched");
+            }
+        }
+        return changes;
+    }
+
+    private static <T> T requirePresent(String field, T value) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + ": must not be null");
+        }
+        return value;
+    }
+
     /**
      * Mapea una entidad Hero a un HeroResponseDto.
      *
@@ -58,6 +98,7 @@ public class HeroMapper {
         dto.setActive(hero.getActive());
         dto.setCreatedAt(hero.getCreatedAt());
         dto.setUpdatedAt(hero.getUpdatedAt());
+        dto.setVersion(hero.getVersion());
         return dto;
     }
 }
\ No newline at end of file
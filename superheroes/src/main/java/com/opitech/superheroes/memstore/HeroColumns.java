@@ -0,0 +1,263 @@
+package com.opitech.superheroes.memstore;
+
+import com.opitech.superheroes.model.Universe;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tabla de héroes en memoria organizada por columnas: cada atributo numérico es un array primitivo indexado por
+ * slot, sin un objeto por héroe. Los slots son densos (0..size-1); al borrar, la última fila se mueve al hueco.
+ * <p>
+ * Índices: id → slot, nombre normalizado → id (unicidad y búsqueda exacta) y un bitset de slots por universo.
+ * No es thread-safe: {@link MemoryHeroStore} serializa las escrituras y las excluye de las lecturas.
+ */
+final class HeroColumns {
+
+    private static final Universe[] UNIVERSES = Universe.values();
+
+    private long[] ids;
+    private String[] names;
+    private String[] nameKeys;
+    private String[] aliases;
+    private byte[] universes;
+    private int[] powerLevels;
+    private boolean[] active;
+    private long[] createdAt;
+    private long[] updatedAt;
+    private long[] versions;
+    private int size;
+    private long maxId;
+
+    private final LongIntMap slotById;
+    private final Map<String, Long> idByNameKey;
+    private final BitSet[] slotsByUniverse = new BitSet[UNIVERSES.length];
+
+    HeroColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new long[capacity];
+        names = new String[capacity];
+        nameKeys = new String[capacity];
+        aliases = new String[capacity];
+        universes = new byte[capacity];
+        powerLevels = new int[capacity];
+        active = new boolean[capacity];
+        createdAt = new long[capacity];
+        updatedAt = new long[capacity];
+        versions = new long[capacity];
+        slotById = new LongIntMap(capacity);
+        idByNameKey = new HashMap<>(capacity * 2);
+        for (int i = 0; i < slotsByUniverse.length; i++) {
+            slotsByUniverse[i] = new BitSet(capacity);
+        }
+    }
+
+    /**
+     * Copia de las columnas, sin índices, para escribir un snapshot fuera del lock.
+     */
+    private HeroColumns(HeroColumns source) {
+        int length = Math.max(1, source.size);
+        ids = Arrays.copyOf(source.ids, length);
+        names = Arrays.copyOf(source.names, length);
+        nameKeys = Arrays.copyOf(source.nameKeys, length);
+        aliases = Arrays.copyOf(source.aliases, length);
+        universes = Arrays.copyOf(source.universes, length);
+        powerLevels = Arrays.copyOf(source.powerLevels, length);
+        active = Arrays.copyOf(source.active, length);
+        createdAt = Arrays.copyOf(source.createdAt, length);
+        updatedAt = Arrays.copyOf(source.updatedAt, length);
+        versions = Arrays.copyOf(source.versions, length);
+        size = source.size;
+        maxId = source.maxId;
+        slotById = new LongIntMap(0);
+        idByNameKey = Map.of();
+    }
+
+    HeroColumns copyRows() {
+        return new HeroColumns(this);
+    }
+
+    static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long nextId() {
+        return maxId + 1;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    /**
+     * Evita reutilizar ids de héroes ya borrados (el snapshot no los contiene).
+     */
+    void reserveIds(long upTo) {
+        maxId = Math.max(maxId, upTo);
+    }
+
+    int slotOf(long id) {
+        return slotById.get(id);
+    }
+
+    Long idByName(String name) {
+        return idByNameKey.get(nameKey(name));
+    }
+
+    BitSet slotsOf(Universe universe) {
+        return slotsByUniverse[universe.ordinal()];
+    }
+
+    /**
+     * Inserta la fila o sustituye la existente con el mismo id.
+     */
+    void put(HeroRow row) {
+        int slot = slotById.get(row.id());
+        if (slot == LongIntMap.MISSING) {
+            ensureCapacity(size + 1);
+            slot = size++;
+            slotById.put(row.id(), slot);
+        } else {
+            idByNameKey.remove(nameKeys[slot]);
+            slotsByUniverse[universes[slot]].clear(slot);
+        }
+
+        ids[slot] = row.id();
+        names[slot] = row.name();
+        nameKeys[slot] = nameKey(row.name());
+        aliases[slot] = row.alias();
+        universes[slot] = (byte) row.universe().ordinal();
+        powerLevels[slot] = row.powerLevel();
+        active[slot] = row.active();
+        createdAt[slot] = row.createdAt();
+        updatedAt[slot] = row.updatedAt();
+        versions[slot] = row.version();
+
+        idByNameKey.put(nameKeys[slot], row.id());
+        slotsByUniverse[universes[slot]].set(slot);
+        maxId = Math.max(maxId, row.id());
+    }
+
+    /**
+     * Elimina la fila del héroe, si existe.
+     *
+     * @return true si existía.
+     */
+    boolean remove(long id) {
+        int slot = slotById.get(id);
+        if (slot == LongIntMap.MISSING) {
+            return false;
+        }
+        slotById.remove(id);
+        idByNameKey.remove(nameKeys[slot]);
+        slotsByUniverse[universes[slot]].clear(slot);
+
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+        }
+        names[last] = null;
+        nameKeys[last] = null;
+        aliases[last] = null;
+        return true;
+    }
+
+    HeroRow row(int slot) {
+        return new HeroRow(ids[slot], names[slot], aliases[slot], UNIVERSES[universes[slot]], powerLevels[slot],
+                active[slot], createdAt[slot], updatedAt[slot], versions[slot]);
+    }
+
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    String name(int slot) {
+        return names[slot];
+    }
+
+    String nameKey(int slot) {
+        return nameKeys[slot];
+    }
+
+    String alias(int slot) {
+        return aliases[slot];
+    }
+
+    Universe universe(int slot) {
+        return UNIVERSES[universes[slot]];
+    }
+
+    int powerLevel(int slot) {
+        return powerLevels[slot];
+    }
+
+    boolean active(int slot) {
+        return active[slot];
+    }
+
+    long createdAt(int slot) {
+        return createdAt[slot];
+    }
+
+    long updatedAt(int slot) {
+        return updatedAt[slot];
+    }
+
+    long version(int slot) {
+        return versions[slot];
+    }
+
+    void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(nameKeys, 0, size, null);
+        Arrays.fill(aliases, 0, size, null);
+        slotById.clear();
+        idByNameKey.clear();
+        for (BitSet slots : slotsByUniverse) {
+            slots.clear();
+        }
+        size = 0;
+        maxId = 0;
+    }
+
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        names[to] = names[from];
+        nameKeys[to] = nameKeys[from];
+        aliases[to] = aliases[from];
+        universes[to] = universes[from];
+        powerLevels[to] = powerLevels[from];
+        active[to] = active[from];
+        createdAt[to] = createdAt[from];
+        updatedAt[to] = updatedAt[from];
+        versions[to] = versions[from];
+
+        slotById.put(ids[to], to);
+        slotsByUniverse[universes[to]].clear(from);
+        slotsByUniverse[universes[to]].set(to);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        names = Arrays.copyOf(names, newCapacity);
+        nameKeys = Arrays.copyOf(nameKeys, newCapacity);
+        aliases = Arrays.copyOf(aliases, newCapacity);
+        universes = Arrays.copyOf(universes, newCapacity);
+        powerLevels = Arrays.copyOf(powerLevels, newCapacity);
+        active = Arrays.copyOf(active, newCapacity);
+        createdAt = Arrays.copyOf(createdAt, newCapacity);
+        updatedAt = Arrays.copyOf(updatedAt, newCapacity);
+        versions = Arrays.copyOf(versions, newCapacity);
+    }
+}
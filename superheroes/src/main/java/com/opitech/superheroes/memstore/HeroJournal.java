@@ -0,0 +1,357 @@
+package com.opitech.superheroes.memstore;
+
+import com.opitech.superheroes.model.Universe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal append-only de escrituras sobre héroes, en un fichero mapeado en memoria por segmentos.
+ * <p>
+ * Formato: cabecera ({@code magic}, formato, tamaño de segmento) y registros {@code [longitud][crc32c][payload]}.
+ * Un registro nunca cruza un segmento: si no cabe, se marca el resto del segmento como saltado. Una longitud 0
+ * (zona aún no escrita) o un CRC incorrecto marcan el final del journal, de modo que un registro a medio escribir
+ * en una caída se descarta al reproducirlo.
+ * <p>
+ * Group commit: añadir un registro es solo una copia a memoria; un único hilo hace {@code force()} de todo lo
+ * pendiente y despierta a la vez a todos los escritores que esperaban por esa posición. Los snapshots usan el mismo
+ * formato (solo registros PUT), escritos sin hilo de flush.
+ */
+final class HeroJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HeroJournal.class);
+
+    private static final int MAGIC = 0x48524a31;
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int SKIP_TO_NEXT_SEGMENT = -1;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte RESERVE_IDS = 3;
+
+    private static final Universe[] UNIVERSES = Universe.values();
+
+    /**
+     * Receptor de los registros leídos al reproducir un journal.
+     */
+    interface Handler {
+
+        void put(HeroRow row);
+
+        void delete(long id);
+
+        void reserveIds(long upTo);
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int segmentSize;
+    private final long groupCommitDelayNanos;
+    private final ByteBuffer scratch = ByteBuffer.allocate(64 * 1024);
+    private final CRC32C crc = new CRC32C();
+    private final Thread flusher;
+
+    private MappedByteBuffer segment;
+    private long segmentBase;
+    private long position;
+    private long durablePosition;
+    private IOException failure;
+    private boolean closed;
+
+    private HeroJournal(Path path, int segmentSize, Duration groupCommitDelay, boolean backgroundFlush)
+            throws IOException {
+        this.path = path;
+        this.segmentSize = segmentSize;
+        this.groupCommitDelayNanos = groupCommitDelay.toNanos();
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.putInt(MAGIC).putInt(FORMAT).putInt(segmentSize).putInt(0);
+        this.position = HEADER_SIZE;
+
+        if (backgroundFlush) {
+            flusher = new Thread(this::flushLoop, "hero-journal-flush");
+            flusher.setDaemon(true);
+            flusher.start();
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Crea un journal nuevo con un hilo de group commit.
+     */
+    static HeroJournal create(Path path, int segmentSize, Duration groupCommitDelay) throws IOException {
+        return new HeroJournal(path, segmentSize, groupCommitDelay, true);
+    }
+
+    /**
+     * Crea un fichero de snapshot: mismo formato, sin flush hasta {@link #close()}.
+     */
+    static HeroJournal createSnapshot(Path path, int segmentSize) throws IOException {
+        return new HeroJournal(path, segmentSize, Duration.ZERO, false);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    synchronized long size() {
+        return position;
+    }
+
+    synchronized long appendPut(HeroRow row) {
+        scratch.put(PUT)
+                .putLong(row.id())
+                .putLong(row.version())
+                .putInt(row.powerLevel())
+                .put((byte) row.universe().ordinal())
+                .put((byte) (row.active() ? 1 : 0))
+                .putLong(row.createdAt())
+                .putLong(row.updatedAt());
+        putString(row.name());
+        putString(row.alias());
+        return writeRecord();
+    }
+
+    synchronized long appendDelete(long id) {
+        scratch.put(DELETE).putLong(id);
+        return writeRecord();
+    }
+
+    synchronized long appendReserveIds(long upTo) {
+        scratch.put(RESERVE_IDS).putLong(upTo);
+        return writeRecord();
+    }
+
+    /**
+     * Bloquea hasta que todo lo escrito hasta {@code position} está en disco.
+     */
+    synchronized void awaitDurable(long position) {
+        boolean interrupted = false;
+        while (durablePosition < position && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (durablePosition < position) {
+            throw new UncheckedIOException("Could not sync hero journal " + path, failure);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            try {
+                segment.force();
+                durablePosition = position;
+                channel.close();
+            } catch (IOException | UncheckedIOException e) {
+                failure = e instanceof IOException io ? io : ((UncheckedIOException) e).getCause();
+                log.error("Could not close hero journal {}", path, e);
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * Reproduce un journal o snapshot completo hasta su último registro válido.
+     *
+     * @return número de registros aplicados.
+     */
+    static long replay(Path path, Handler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                return 0;
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT) {
+                throw new IOException("Not a hero journal: " + path);
+            }
+            int segmentSize = header.getInt();
+
+            long records = 0;
+            CRC32C crc = new CRC32C();
+            for (long base = 0; base < fileSize; base += segmentSize) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, base,
+                        Math.min(segmentSize, fileSize - base));
+                if (base == 0) {
+                    buffer.position(HEADER_SIZE);
+                }
+                while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                    int length = buffer.getInt();
+                    if (length == SKIP_TO_NEXT_SEGMENT) {
+                        break;
+                    }
+                    if (length <= 0 || length > buffer.remaining() - 4) {
+                        return records;
+                    }
+                    int checksum = buffer.getInt();
+                    ByteBuffer payload = buffer.slice(buffer.position(), length);
+                    crc.reset();
+                    crc.update(payload.duplicate());
+                    if ((int) crc.getValue() != checksum) {
+                        log.warn("Discarding torn record at offset {} of {}", base + buffer.position() - 8, path);
+                        return records;
+                    }
+                    buffer.position(buffer.position() + length);
+                    apply(payload, handler);
+                    records++;
+                }
+            }
+            return records;
+        }
+    }
+
+    private static void apply(ByteBuffer payload, Handler handler) {
+        byte type = payload.get();
+        switch (type) {
+            case PUT -> {
+                long id = payload.getLong();
+                long version = payload.getLong();
+                int powerLevel = payload.getInt();
+                Universe universe = UNIVERSES[payload.get()];
+                boolean active = payload.get() != 0;
+                long createdAt = payload.getLong();
+                long updatedAt = payload.getLong();
+                String name = getString(payload);
+                String alias = getString(payload);
+                handler.put(new HeroRow(id, name, alias, universe, powerLevel, active, createdAt, updatedAt, version));
+            }
+            case DELETE -> handler.delete(payload.getLong());
+            case RESERVE_IDS -> handler.reserveIds(payload.getLong());
+            default -> throw new IllegalStateException("Unknown hero journal record type " + type);
+        }
+    }
+
+    private long writeRecord() {
+        if (closed) {
+            scratch.clear();
+            throw new IllegalStateException("Hero journal " + path + " is closed");
+        }
+        scratch.flip();
+        int length = scratch.remaining();
+        crc.reset();
+        crc.update(scratch.array(), 0, length);
+
+        int recordSize = RECORD_HEADER_SIZE + length;
+        if (segment.remaining() < recordSize) {
+            nextSegment();
+        }
+        segment.putInt(length).putInt((int) crc.getValue()).put(scratch);
+        scratch.clear();
+
+        position = segmentBase + segment.position();
+        notifyAll();
+        return position;
+    }
+
+    private void nextSegment() {
+        if (segment.remaining() >= 4) {
+            segment.putInt(SKIP_TO_NEXT_SEGMENT);
+        }
+        // El segmento que se abandona se fuerza aquí; el hilo de flush solo trabaja sobre el actual
+        segment.force();
+        segmentBase += segmentSize;
+        try {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentBase, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extend hero journal " + path, e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            synchronized (this) {
+                while (!closed && durablePosition == position) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+
+            // Espera breve para que más escritores se sumen al mismo force()
+            if (groupCommitDelayNanos > 0) {
+                LockSupport.parkNanos(groupCommitDelayNanos);
+            }
+
+            MappedByteBuffer toForce;
+            long target;
+            synchronized (this) {
+                toForce = segment;
+                target = position;
+            }
+            try {
+                toForce.force();
+            } catch (UncheckedIOException e) {
+                synchronized (this) {
+                    failure = e.getCause();
+                    notifyAll();
+                }
+                log.error("Could not sync hero journal {}", path, e);
+                return;
+            }
+            synchronized (this) {
+                durablePosition = Math.max(durablePosition, target);
+                notifyAll();
+            }
+        }
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            scratch.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        scratch.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
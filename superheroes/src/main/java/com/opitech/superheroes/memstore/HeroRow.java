@@ -0,0 +1,39 @@
+package com.opitech.superheroes.memstore;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.model.Universe;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Fila de un héroe tal como se guarda en columnas y en el journal. Las fechas se guardan en microsegundos
+ * desde epoch (UTC), la misma precisión que un TIMESTAMP de H2.
+ */
+record HeroRow(long id, String name, String alias, Universe universe, int powerLevel, boolean active,
+               long createdAt, long updatedAt, long version) {
+
+    HeroResponseDto toDto() {
+        HeroResponseDto dto = new HeroResponseDto();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setAlias(alias);
+        dto.setUniverse(universe);
+        dto.setPowerLevel(powerLevel);
+        dto.setActive(active);
+        dto.setCreatedAt(toDateTime(createdAt));
+        dto.setUpdatedAt(toDateTime(updatedAt));
+        dto.setVersion(version);
+        return dto;
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), dateTime);
+    }
+
+    static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,44 @@
+package com.opitech.superheroes.memstore;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.model.Universe;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Almacenamiento de héroes alternativo a JPA, con las mismas operaciones (y nombres) que usa el servicio de
+ * {@link com.opitech.superheroes.repository.HeroRepository}. Como en el almacenamiento particionado, las filas se
+ * manejan como {@link HeroResponseDto} porque la entidad {@code Hero} solo puede poblarla JPA.
+ */
+public interface HeroStore {
+
+    Optional<HeroResponseDto> findById(Long id);
+
+    boolean existsById(Long id);
+
+    Optional<HeroResponseDto> findByNameIgnoreCase(String name);
+
+    Page<HeroResponseDto> findAll(Pageable pageable);
+
+    Page<HeroResponseDto> findByUniverse(Universe universe, Pageable pageable);
+
+    Page<HeroResponseDto> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    List<HeroResponseDto> findByActiveTrue();
+
+    /**
+     * Inserta el héroe si no tiene id, o sustituye el existente. Asigna id, fechas y versión.
+     *
+     * @return el héroe tal como quedó guardado.
+     * @throws org.springframework.dao.DataIntegrityViolationException si otro héroe tiene el mismo nombre.
+     * @throws com.opitech.superheroes.exception.HeroNotFoundException si se indica un id que no existe.
+     */
+    HeroResponseDto save(HeroResponseDto hero);
+
+    void deleteById(Long id);
+
+    long count();
+}
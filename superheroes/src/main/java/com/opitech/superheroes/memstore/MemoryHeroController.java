@@ -0,0 +1,177 @@
+package com.opitech.superheroes.memstore;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.error.ApiError;
+import com.opitech.superheroes.model.Universe;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+/**
+ * Controlador REST sobre el almacenamiento de héroes en memoria con journal.
+ * Expone el mismo contrato que {@link com.opitech.superheroes.controller.HeroController}.
+ */
+@RestController
+@RequestMapping("/api/v1/memory/heroes")
+@ConditionalOnProperty(prefix = "superheroes.memstore", name = "enabled", havingValue = "true")
+@Tag(name = "Héroes (memoria)", description = "API de superhéroes sobre almacenamiento en memoria con journal")
+public class MemoryHeroController {
+
+    private final MemoryHeroService heroService;
+
+    public MemoryHeroController(MemoryHeroService heroService) {
+        this.heroService = heroService;
+    }
+
+    /**
+     * Endpoint para obtener una lista paginada de héroes, opcionalmente de un único universo.
+     *
+     * @param universe Universo a consultar; si se omite, todos.
+     * @param pageable información de paginación y ordenamiento (página, tamaño, sort).
+     * @return Listado de héroes.
+     */
+    @Operation(
+            summary = "Obtener todos los héroes (memoria)",
+            description = "Con 'universe' solo se recorren los héroes de ese universo (índice por universo).",
+            operationId = "getAllMemoryHeroes"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de héroes obtenida exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Ordenamiento no soportado o página fuera de rango",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @GetMapping
+    public Page<HeroResponseDto> getAllHeroes(
+            @Parameter(description = "Universo a consultar", example = "DC")
+            @RequestParam(name = "universe", required = false) Universe universe,
+            @Parameter(
+                    description = "Parámetros de paginación y ordenamiento. Ejemplo: ?page=0&size=10&sort=name,asc"
+            )
+            @PageableDefault(size = 10, sort = "name") Pageable pageable
+    ) {
+        return heroService.getAllHeroes(universe, pageable);
+    }
+
+    @Operation(summary = "Obtener héroe por ID (memoria)", operationId = "getMemoryHeroById")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Héroe encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Héroe no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+    })
+    @GetMapping("/{id}")
+    public HeroResponseDto getHeroById(
+            @Parameter(description = "Identificador único del héroe", example = "1")
+            @PathVariable Long id) {
+        return heroService.getHeroById(id);
+    }
+
+    @Operation(summary = "Crear un nuevo héroe (memoria)", operationId = "createMemoryHero")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Héroe creado exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos (errores de validación)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Ya existe otro héroe con el mismo nombre",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @PostMapping
+    public ResponseEntity<HeroResponseDto> createHero(
+            @Parameter(description = "Datos del héroe a crear", required = true)
+            @Valid @RequestBody HeroRequestDto requestDto) {
+
+        HeroResponseDto created = heroService.createHero(requestDto);
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(created.getId())
+                .toUri();
+
+        return ResponseEntity
+                .created(location)
+                .body(created);
+    }
+
+    @Operation(summary = "Actualizar un héroe existente (memoria)", operationId = "updateMemoryHero")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Héroe actualizado exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeroResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos (errores de validación)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Héroe no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Ya existe otro héroe con el mismo nombre",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    @PutMapping("/{id}")
+    public HeroResponseDto updateHero(
+            @Parameter(description = "Identificador único del héroe a actualizar", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Nuevos datos del héroe", required = true)
+            @Valid @RequestBody HeroRequestDto requestDto
+    ) {
+        return heroService.updateHero(id, requestDto);
+    }
+
+    @Operation(summary = "Eliminar un héroe (memoria)", operationId = "deleteMemoryHero")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Héroe eliminado exitosamente (sin contenido en la respuesta)"),
+            @ApiResponse(responseCode = "404", description = "Héroe no encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteHero(
+            @Parameter(description = "Identificador único del héroe a eliminar", example = "1")
+            @PathVariable Long id
+    ) {
+        heroService.deleteHero(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Buscar héroes por nombre (memoria)", operationId = "searchMemoryHeroes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda de héroes realizada exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+            )
+    })
+    @GetMapping("/search")
+    public Page<HeroResponseDto> searchHeroes(
+            @Parameter(description = "Texto a buscar en el nombre del héroe", example = "man", required = true)
+            @RequestParam(name = "name") String name,
+            @Parameter(
+                    description = "Parámetros de paginación y ordenamiento. Ejemplo: ?page=0&size=10&sort=name,asc"
+            )
+            @PageableDefault(size = 10, sort = "name") Pageable pageable
+    ) {
+        return heroService.searchHeroesByName(name, pageable);
+    }
+}
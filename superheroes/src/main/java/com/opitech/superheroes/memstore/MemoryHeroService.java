@@ -0,0 +1,85 @@
+package com.opitech.superheroes.memstore;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.model.Universe;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Servicio de héroes sobre {@link HeroStore}.
+ * Mantiene el mismo contrato y los mismos errores que {@link com.opitech.superheroes.service.HeroService}.
+ */
+public class MemoryHeroService {
+
+    private final HeroStore store;
+
+    public MemoryHeroService(HeroStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Retorna una página de héroes, opcionalmente de un único universo.
+     */
+    public Page<HeroResponseDto> getAllHeroes(Universe universe, Pageable pageable) {
+        return universe == null ? store.findAll(pageable) : store.findByUniverse(universe, pageable);
+    }
+
+    /**
+     * Busca héroes cuyo nombre contiene el texto indicado, ignorando mayúsculas.
+     */
+    public Page<HeroResponseDto> searchHeroesByName(String searchName, Pageable pageable) {
+        if (searchName == null || searchName.trim().length() < 2) {
+            throw new IllegalArgumentException("Parameter 'name' must have at least 2 non-blank characters");
+        }
+        return store.findByNameContainingIgnoreCase(searchName.trim(), pageable);
+    }
+
+    public HeroResponseDto getHeroById(Long id) {
+        return store.findById(id)
+                .orElseThrow(() -> new HeroNotFoundException(id));
+    }
+
+    public HeroResponseDto createHero(HeroRequestDto requestDto) {
+        String name = requestDto.getName().trim();
+
+        HeroResponseDto hero = new HeroResponseDto();
+        hero.setName(name);
+        hero.setAlias(requestDto.getAlias());
+        hero.setUniverse(requestDto.getUniverse());
+        hero.setPowerLevel(requestDto.getPowerLevel());
+        hero.setActive(requestDto.getActive() != null ? requestDto.getActive() : Boolean.TRUE);
+        return save(hero);
+    }
+
+    public HeroResponseDto updateHero(Long id, HeroRequestDto requestDto) {
+        HeroResponseDto existing = getHeroById(id);
+
+        existing.setName(requestDto.getName().trim());
+        existing.setAlias(requestDto.getAlias());
+        existing.setUniverse(requestDto.getUniverse());
+        existing.setPowerLevel(requestDto.getPowerLevel());
+        if (requestDto.getActive() != null) {
+            existing.setActive(requestDto.getActive());
+        }
+        return save(existing);
+    }
+
+    public void deleteHero(Long id) {
+        if (!store.existsById(id)) {
+            throw new HeroNotFoundException(id);
+        }
+        store.deleteById(id);
+    }
+
+    private HeroResponseDto save(HeroResponseDto hero) {
+        try {
+            return store.save(hero);
+        } catch (DataIntegrityViolationException e) {
+            throw new HeroAlreadyExistsException(hero.getName());
+        }
+    }
+}
@@ -0,0 +1,553 @@
+package com.opitech.superheroes.memstore;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.model.Universe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Almacenamiento de héroes residente en memoria ({@link HeroColumns}) con durabilidad mediante {@link HeroJournal}.
+ * <p>
+ * Cada escritura, bajo el write lock, añade su registro al journal y aplica el cambio en las columnas; después
+ * (ya sin lock) espera al group commit. Las lecturas solo toman el read lock y nunca tocan disco.
+ * <p>
+ * Ficheros: {@code journal-<gen>.log} y {@code snapshot-<gen>.bin}. El snapshot de la generación g contiene el
+ * estado al empezar el journal g, así que al arrancar se carga el último snapshot y se reproducen los journals
+ * con generación mayor o igual. Cuando el journal supera {@code compaction-threshold} se abre uno nuevo y se
+ * escribe en segundo plano un snapshot de una copia de las columnas; después se borran los ficheros anteriores.
+ */
+public class MemoryHeroStore implements HeroStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoryHeroStore.class);
+
+    private static final Pattern FILE_NAME = Pattern.compile("(journal|snapshot)-(\\d{16})\\.(log|bin)");
+
+    /**
+     * Propiedades ordenables y su comparación entre dos slots.
+     */
+    private static final Map<String, SlotOrder> SORTABLE = Map.of(
+            "id", (columns, a, b) -> Long.compare(columns.id(a), columns.id(b)),
+            "name", (columns, a, b) -> columns.name(a).compareTo(columns.name(b)),
+            "alias", (columns, a, b) -> compareNullsFirst(columns.alias(a), columns.alias(b)),
+            "universe", (columns, a, b) -> columns.universe(a).name().compareTo(columns.universe(b).name()),
+            "powerLevel", (columns, a, b) -> Integer.compare(columns.powerLevel(a), columns.powerLevel(b)),
+            "active", (columns, a, b) -> Boolean.compare(columns.active(a), columns.active(b)),
+            "createdAt", (columns, a, b) -> Long.compare(columns.createdAt(a), columns.createdAt(b)),
+            "updatedAt", (columns, a, b) -> Long.compare(columns.updatedAt(a), columns.updatedAt(b))
+    );
+
+    private final MemoryStoreProperties properties;
+    private final Path directory;
+    private final int segmentSize;
+    private final HeroColumns columns = new HeroColumns(1024);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService compactor;
+
+    // Protegidos por el write lock
+    private HeroJournal journal;
+    private long generation;
+
+    public MemoryHeroStore(MemoryStoreProperties properties) {
+        if (properties.getSegmentSize().toBytes() < 1024 * 1024
+                || properties.getSegmentSize().toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("superheroes.memstore.segment-size must be between 1MB and 2GB");
+        }
+        this.properties = properties;
+        this.directory = properties.getDirectory();
+        this.segmentSize = (int) properties.getSegmentSize().toBytes();
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hero-store-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            recover();
+        } catch (IOException e) {
+            compactor.shutdownNow();
+            throw new UncheckedIOException("Could not recover hero store from " + directory, e);
+        }
+    }
+
+    @Override
+    public Optional<HeroResponseDto> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = columns.slotOf(id);
+            return slot == LongIntMap.MISSING ? Optional.empty() : Optional.of(columns.row(slot).toDto());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        lock.readLock().lock();
+        try {
+            return columns.slotOf(id) != LongIntMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<HeroResponseDto> findByNameIgnoreCase(String name) {
+        lock.readLock().lock();
+        try {
+            Long id = columns.idByName(name);
+            return id == null ? Optional.empty() : Optional.of(columns.row(columns.slotOf(id)).toDto());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<HeroResponseDto> findAll(Pageable pageable) {
+        return query(null, null, pageable);
+    }
+
+    @Override
+    public Page<HeroResponseDto> findByUniverse(Universe universe, Pageable pageable) {
+        return query(universe, null, pageable);
+    }
+
+    @Override
+    public Page<HeroResponseDto> findByNameContainingIgnoreCase(String name, Pageable pageable) {
+        String needle = HeroColumns.nameKey(name);
+        return query(null, slot -> columns.nameKey(slot).contains(needle), pageable);
+    }
+
+    @Override
+    public List<HeroResponseDto> findByActiveTrue() {
+        lock.readLock().lock();
+        try {
+            List<HeroResponseDto> result = new ArrayList<>();
+            for (int slot = 0; slot < columns.size(); slot++) {
+                if (columns.active(slot)) {
+                    result.add(columns.row(slot).toDto());
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return columns.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public HeroResponseDto save(HeroResponseDto hero) {
+        long now = HeroRow.toMicros(LocalDateTime.now());
+        HeroRow row;
+        HeroJournal target;
+        long position;
+
+        lock.writeLock().lock();
+        try {
+            Long owner = columns.idByName(hero.getName());
+            if (owner != null && !owner.equals(hero.getId())) {
+                throw new DataIntegrityViolationException("Duplicate hero name: " + hero.getName());
+            }
+
+            if (hero.getId() == null) {
+                row = new HeroRow(columns.nextId(), hero.getName(), hero.getAlias(), hero.getUniverse(),
+                        hero.getPowerLevel(), hero.getActive() == null || hero.getActive(), now, now, 0);
+            } else {
+                int slot = columns.slotOf(hero.getId());
+                if (slot == LongIntMap.MISSING) {
+                    throw new HeroNotFoundException(hero.getId());
+                }
+                row = new HeroRow(hero.getId(), hero.getName(), hero.getAlias(), hero.getUniverse(),
+                        hero.getPowerLevel(), hero.getActive() != null ? hero.getActive() : columns.active(slot),
+                        columns.createdAt(slot), now, columns.version(slot) + 1);
+            }
+
+            position = journal.appendPut(row);
+            target = journal;
+            columns.put(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        afterWrite(target, position);
+        return row.toDto();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        HeroJournal target;
+        long position;
+
+        lock.writeLock().lock();
+        try {
+            if (columns.slotOf(id) == LongIntMap.MISSING) {
+                return;
+            }
+            position = journal.appendDelete(id);
+            target = journal;
+            columns.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        afterWrite(target, position);
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            journal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Escribe un snapshot y empieza un journal nuevo.
+     */
+    public void compact() throws IOException {
+        HeroColumns rows;
+        HeroJournal previous;
+        long snapshotGeneration;
+
+        // Solo la copia de las columnas (arrays primitivos) y la rotación del journal bloquean las escrituras
+        lock.writeLock().lock();
+        try {
+            rows = columns.copyRows();
+            previous = journal;
+            snapshotGeneration = ++generation;
+            journal = HeroJournal.create(file("journal", snapshotGeneration), segmentSize,
+                    properties.getGroupCommitDelay());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        previous.close();
+
+        long start = System.nanoTime();
+        Path snapshot = file("snapshot", snapshotGeneration);
+        Path temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        Files.deleteIfExists(temporary);
+        try (HeroJournal writer = HeroJournal.createSnapshot(temporary, segmentSize)) {
+            writer.appendReserveIds(rows.maxId());
+            for (int slot = 0; slot < rows.size(); slot++) {
+                writer.appendPut(rows.row(slot));
+            }
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE);
+
+        deleteGenerationsBefore(snapshotGeneration);
+        log.info("Hero store snapshot {} written with {} heroes in {} ms", snapshot.getFileName(), rows.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void afterWrite(HeroJournal target, long position) {
+        if (properties.isSyncWrites()) {
+            target.awaitDurable(position);
+        }
+        if (position >= properties.getCompactionThreshold().toBytes()) {
+            compactAsync();
+        }
+    }
+
+    private void compactAsync() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        compactor.execute(() -> {
+            try {
+                compact();
+            } catch (IOException | RuntimeException e) {
+                log.error("Hero store compaction failed", e);
+            } finally {
+                compacting.set(false);
+            }
+        });
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        TreeMap<Long, Path> journals = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".tmp")) {
+                    // Snapshot a medio escribir en una caída: sus datos siguen en los journals
+                    Files.delete(file);
+                    continue;
+                }
+                Matcher matcher = FILE_NAME.matcher(fileName);
+                if (matcher.matches()) {
+                    (matcher.group(1).equals("snapshot") ? snapshots : journals)
+                            .put(Long.parseLong(matcher.group(2)), file);
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        HeroJournal.Handler handler = new HeroJournal.Handler() {
+            @Override
+            public void put(HeroRow row) {
+                columns.put(row);
+            }
+
+            @Override
+            public void delete(long id) {
+                columns.remove(id);
+            }
+
+            @Override
+            public void reserveIds(long upTo) {
+                columns.reserveIds(upTo);
+            }
+        };
+
+        long base = 0;
+        if (!snapshots.isEmpty()) {
+            base = snapshots.lastKey();
+            HeroJournal.replay(snapshots.lastEntry().getValue(), handler);
+        }
+        long replayed = 0;
+        for (Path journalFile : journals.tailMap(base, true).values()) {
+            replayed += HeroJournal.replay(journalFile, handler);
+        }
+
+        generation = Math.max(base, journals.isEmpty() ? 0 : journals.lastKey()) + 1;
+        journal = HeroJournal.create(file("journal", generation), segmentSize, properties.getGroupCommitDelay());
+        log.info("Hero store recovered {} heroes ({} journal records replayed) from {} in {} ms",
+                columns.size(), replayed, directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        // Así el próximo arranque solo lee un snapshot y un journal corto
+        if (replayed > 0) {
+            compactAsync();
+        }
+    }
+
+    private void deleteGenerationsBefore(long keepFrom) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches() && Long.parseLong(matcher.group(2)) < keepFrom) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path file(String kind, long fileGeneration) {
+        return directory.resolve(String.format("%s-%016d.%s", kind, fileGeneration,
+                kind.equals("snapshot") ? "bin" : "log"));
+    }
+
+    /**
+     * Recorre los candidatos (todos, o los del universo) y se queda con los {@code offset + size} primeros según
+     * el orden pedido con un heap acotado, sin ordenar todo el conjunto.
+     */
+    private Page<HeroResponseDto> query(Universe universe, IntPredicate filter, Pageable pageable) {
+        SlotComparator order = comparator(pageable.getSort());
+        int limit = Integer.MAX_VALUE;
+        if (pageable.isPaged()) {
+            long end = pageable.getOffset() + pageable.getPageSize();
+            if (end > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Requested page is out of range");
+            }
+            limit = (int) end;
+        }
+
+        lock.readLock().lock();
+        try {
+            TopK top = new TopK(order, limit);
+            long total = 0;
+            if (universe != null) {
+                BitSet slots = columns.slotsOf(universe);
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    if (filter == null || filter.test(slot)) {
+                        top.offer(slot);
+                        total++;
+                    }
+                }
+            } else {
+                for (int slot = 0; slot < columns.size(); slot++) {
+                    if (filter == null || filter.test(slot)) {
+                        top.offer(slot);
+                        total++;
+                    }
+                }
+            }
+
+            int[] sorted = top.sorted();
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), sorted.length) : 0;
+            List<HeroResponseDto> content = new ArrayList<>(sorted.length - from);
+            for (int i = from; i < sorted.length; i++) {
+                content.add(columns.row(sorted[i]).toDto());
+            }
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SlotComparator comparator(Sort sort) {
+        List<SlotComparator> parts = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            SlotOrder slotOrder = SORTABLE.get(order.getProperty());
+            if (slotOrder == null) {
+                throw new IllegalArgumentException("Cannot sort by '" + order.getProperty() + "'");
+            }
+            parts.add(order.isDescending()
+                    ? (a, b) -> slotOrder.compare(columns, b, a)
+                    : (a, b) -> slotOrder.compare(columns, a, b));
+        }
+        // Desempate por id para que la paginación sea estable
+        parts.add((a, b) -> Long.compare(columns.id(a), columns.id(b)));
+
+        SlotComparator[] chain = parts.toArray(new SlotComparator[0]);
+        return (a, b) -> {
+            for (SlotComparator part : chain) {
+                int result = part.compare(a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static int compareNullsFirst(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    @FunctionalInterface
+    private interface SlotOrder {
+        int compare(HeroColumns columns, int a, int b);
+    }
+
+    @FunctionalInterface
+    private interface SlotComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Heap de máximos acotado a {@code limit} slots: la raíz es el peor de los mejores vistos hasta ahora.
+     */
+    private static final class TopK {
+
+        private final SlotComparator order;
+        private final int limit;
+        private int[] heap;
+        private int size;
+
+        TopK(SlotComparator order, int limit) {
+            this.order = order;
+            this.limit = limit;
+            this.heap = new int[Math.min(limit, 1024)];
+        }
+
+        void offer(int slot) {
+            if (size < limit) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min(limit, heap.length * 2L));
+                }
+                heap[size] = slot;
+                siftUp(size++);
+            } else if (limit > 0 && order.compare(slot, heap[0]) < 0) {
+                heap[0] = slot;
+                siftDown(0);
+            }
+        }
+
+        int[] sorted() {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = heap[i];
+            }
+            Arrays.sort(boxed, order::compare);
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = boxed[i];
+            }
+            return result;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (order.compare(heap[index], heap[parent]) <= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                    child++;
+                }
+                if (order.compare(heap[child], heap[index]) <= 0) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+    }
+}
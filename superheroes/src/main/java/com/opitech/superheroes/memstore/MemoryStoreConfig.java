@@ -0,0 +1,25 @@
+package com.opitech.superheroes.memstore;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans del almacenamiento en memoria. Solo se crean con {@code superheroes.memstore.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(MemoryStoreProperties.class)
+@ConditionalOnProperty(prefix = "superheroes.memstore", name = "enabled", havingValue = "true")
+public class MemoryStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public MemoryHeroStore memoryHeroStore(MemoryStoreProperties properties) {
+        return new MemoryHeroStore(properties);
+    }
+
+    @Bean
+    public MemoryHeroService memoryHeroService(HeroStore store) {
+        return new MemoryHeroService(store);
+    }
+}
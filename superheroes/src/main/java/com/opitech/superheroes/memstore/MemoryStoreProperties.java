@@ -0,0 +1,92 @@
+package com.opitech.superheroes.memstore;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuración del almacenamiento de héroes en memoria ({@code superheroes.memstore.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.memstore")
+public class MemoryStoreProperties {
+
+    /**
+     * Activa el almacenamiento en memoria y la API {@code /api/v1/memory/heroes}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directorio del journal y los snapshots.
+     */
+    private Path directory = Path.of("data", "memstore");
+
+    /**
+     * Tamaño de cada región mapeada del journal. Debe ser al menos 1MB.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Si es true, cada escritura espera a que su registro esté en disco antes de responder.
+     */
+    private boolean syncWrites = true;
+
+    /**
+     * Espera del hilo de group commit antes de cada force(), para agrupar más escrituras en él.
+     */
+    private Duration groupCommitDelay = Duration.ofMillis(1);
+
+    /**
+     * Tamaño del journal a partir del cual se escribe un snapshot y se empieza un journal nuevo.
+     */
+    private DataSize compactionThreshold = DataSize.ofMegabytes(256);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public boolean isSyncWrites() {
+        return syncWrites;
+    }
+
+    public void setSyncWrites(boolean syncWrites) {
+        this.syncWrites = syncWrites;
+    }
+
+    public Duration getGroupCommitDelay() {
+        return groupCommitDelay;
+    }
+
+    public void setGroupCommitDelay(Duration groupCommitDelay) {
+        this.groupCommitDelay = groupCommitDelay;
+    }
+
+    public DataSize getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public void setCompactionThreshold(DataSize compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+}
@@ -38,6 +38,10 @@ public class Hero {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Hero() {
     }
 
@@ -108,4 +112,8 @@ public class Hero {
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
\ No newline at end of file
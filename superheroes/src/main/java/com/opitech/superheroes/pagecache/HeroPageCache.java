@@ -0,0 +1,209 @@
+package com.opitech.superheroes.pagecache;
+
+import com.opitech.superheroes.coalescing.CoalescingHeroService;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Caché de páginas de listado y búsqueda de héroes (contenido y total), con clave
+ * (endpoint, consulta normalizada, página, tamaño, orden).
+ * <p>
+ * Cada entrada guarda la generación de escritura vigente cuando empezó su consulta. Cualquier cambio en los héroes
+ * (local, masivo o de otro nodo) incrementa la generación tras el commit, lo que invalida todas las entradas en
+ * O(1): las de generaciones anteriores no se sirven y se van descartando al consultarlas o por LRU. Una consulta
+ * que se solapa con una escritura se guarda con la generación anterior, así que nunca se sirve después del commit.
+ * <p>
+ * Las entradas se expulsan por LRU cuando su tamaño estimado supera {@code superheroes.page-cache.max-memory}.
+ * Métricas: {@code superheroes.pagecache.requests} por {@code result} (hit, miss),
+ * {@code superheroes.pagecache.hit.ratio}, {@code superheroes.pagecache.memory}, {@code superheroes.pagecache.entries}
+ * y {@code superheroes.pagecache.evictions}.
+ * La página cacheada es el mismo objeto para todas las peticiones, así que no debe modificarse.
+ */
+public class HeroPageCache {
+
+    public static final String GET_ALL_HEROES = "getAllHeroes";
+    public static final String SEARCH_HEROES_BY_NAME = "searchHeroesByName";
+
+    // Tamaños aproximados (cabeceras de objeto, referencias, LocalDateTime...) para estimar la memoria de una página
+    private static final long PAGE_OVERHEAD = 256;
+    private static final long HERO_OVERHEAD = 320;
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private final boolean enabled;
+    private final long maxMemory;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<PageKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long memory;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public HeroPageCache(PageCacheProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.maxMemory = properties.getMaxMemory().toBytes();
+        this.hits = Counter.builder("superheroes.pagecache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("superheroes.pagecache.requests").tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("superheroes.pagecache.evictions").register(registry);
+        Gauge.builder("superheroes.pagecache.hit.ratio", this, HeroPageCache::hitRatio).register(registry);
+        Gauge.builder("superheroes.pagecache.memory", this, HeroPageCache::memoryBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("superheroes.pagecache.entries", this, HeroPageCache::size).register(registry);
+    }
+
+    /**
+     * Retorna la página cacheada para la consulta o la obtiene con {@code loader} y la guarda.
+     * Las excepciones del loader (p. ej. parámetros inválidos) se propagan y no se cachean.
+     *
+     * @param endpoint operación ({@link #GET_ALL_HEROES}, {@link #SEARCH_HEROES_BY_NAME}).
+     * @param query    texto de búsqueda, o null si la operación no tiene.
+     * @param pageable página, tamaño y orden.
+     * @param loader   consulta a ejecutar si la página no está cacheada o es de una generación anterior.
+     */
+    public Page<HeroResponseDto> get(String endpoint, String query, Pageable pageable,
+                                     Supplier<Page<HeroResponseDto>> loader) {
+        if (!enabled || pageable.isUnpaged()) {
+            return loader.get();
+        }
+
+        PageKey key = new PageKey(endpoint, normalize(query), pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort());
+        // Se lee antes de consultar: si una escritura confirma durante la consulta, la entrada nace ya invalidada
+        long current = generation.get();
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.generation() == current) {
+                    hits.increment();
+                    return entry.page();
+                }
+                remove(key, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        Page<HeroResponseDto> page = loader.get();
+        store(key, new Entry(page, current, estimateSize(key, page)));
+        return page;
+    }
+
+    /**
+     * Invalida todas las páginas cacheadas tras el commit de cualquier cambio en los héroes.
+     * <p>
+     * Se ejecuta después de que {@link CoalescingHeroService} separe las consultas en curso: una lectura que ve la
+     * generación nueva nunca se une a una consulta anterior al commit.
+     */
+    @Order(CoalescingHeroService.DETACH_ORDER + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHeroChanged(HeroChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public double hitRatio() {
+        double hitCount = hits.count();
+        double total = hitCount + misses.count();
+        return total == 0 ? 0.0 : hitCount / total;
+    }
+
+    public long memoryBytes() {
+        lock.lock();
+        try {
+            return memory;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(PageKey key, Entry entry) {
+        if (entry.bytes() > maxMemory || entry.generation() != generation.get()) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.get(key);
+            if (previous != null) {
+                if (previous.generation() > entry.generation()) {
+                    return;
+                }
+                remove(key, previous);
+            }
+            entries.put(key, entry);
+            memory += entry.bytes();
+
+            // Orden de acceso: el primero es el usado menos recientemente
+            Iterator<Map.Entry<PageKey, Entry>> eldest = entries.entrySet().iterator();
+            while (memory > maxMemory && eldest.hasNext()) {
+                Map.Entry<PageKey, Entry> victim = eldest.next();
+                eldest.remove();
+                memory -= victim.getValue().bytes();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(PageKey key, Entry entry) {
+        entries.remove(key);
+        memory -= entry.bytes();
+    }
+
+    private static String normalize(String query) {
+        // Igual que la búsqueda: ignora mayúsculas y espacios exteriores
+        return query == null ? null : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long estimateSize(PageKey key, Page<HeroResponseDto> page) {
+        long bytes = ENTRY_OVERHEAD + PAGE_OVERHEAD + chars(key.query()) + chars(key.sort().toString());
+        for (HeroResponseDto hero : page.getContent()) {
+            bytes += HERO_OVERHEAD + chars(hero.getName()) + chars(hero.getAlias());
+        }
+        return bytes;
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 40L + value.length() * 2L;
+    }
+
+    private record PageKey(String endpoint, String query, int page, int size, Sort sort) {
+    }
+
+    private record Entry(Page<HeroResponseDto> page, long generation, long bytes) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.opitech.superheroes.pagecache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caché de páginas de listado y búsqueda invalidada por generación de escritura.
+ */
+@Configuration
+@EnableConfigurationProperties(PageCacheProperties.class)
+public class PageCacheConfig {
+
+    @Bean
+    public HeroPageCache heroPageCache(PageCacheProperties properties, MeterRegistry meterRegistry) {
+        return new HeroPageCache(properties, meterRegistry);
+    }
+}
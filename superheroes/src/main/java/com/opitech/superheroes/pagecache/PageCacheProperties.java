@@ -0,0 +1,37 @@
+package com.opitech.superheroes.pagecache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuración de la caché de páginas de listado y búsqueda ({@code superheroes.page-cache.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.page-cache")
+public class PageCacheProperties {
+
+    /**
+     * Si se desactiva, cada petición de listado o búsqueda ejecuta sus consultas.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Memoria máxima estimada de las páginas cacheadas; al superarla se expulsan las menos usadas recientemente.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(16);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxMemory() {
+        return maxMemory;
+    }
+
+    public void setMaxMemory(DataSize maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+}
@@ -0,0 +1,71 @@
+package com.opitech.superheroes.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log asíncrono de sentencias lentas.
+ * <p>
+ * El hilo que ejecuta la sentencia solo encola la entrada; el formateo y la escritura se hacen en un
+ * único hilo de fondo. Si la cola está llena la entrada se descarta y se contabiliza, nunca se bloquea
+ * al hilo de la petición.
+ */
+public class SlowQueryLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger("superheroes.sql.slow");
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public SlowQueryLog(int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.increment()
+        );
+    }
+
+    /**
+     * Encola una sentencia lenta para ser registrada.
+     *
+     * @param elapsedMillis duración de la ejecución en milisegundos.
+     * @param sql           sentencia ejecutada.
+     * @param parameters    parámetros enlazados ya formateados.
+     */
+    public void submit(long elapsedMillis, String sql, String parameters) {
+        executor.execute(() -> {
+            log.warn("Slow query ({} ms): {} | params: {}", elapsedMillis, sql, parameters);
+            logged.increment();
+        });
+    }
+
+    public long getLogged() {
+        return logged.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
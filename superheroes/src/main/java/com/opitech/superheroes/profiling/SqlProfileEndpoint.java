@@ -0,0 +1,29 @@
+package com.opitech.superheroes.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Endpoint de Actuator ({@code /actuator/sqlprofile}) que expone las estadísticas del profiler SQL.
+ * Un DELETE sobre el mismo endpoint reinicia los contadores.
+ */
+@Endpoint(id = "sqlprofile")
+public class SqlProfileEndpoint {
+
+    private final SqlStatementProfiler profiler;
+
+    public SqlProfileEndpoint(SqlStatementProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public SqlStatementProfiler.ProfileSnapshot profile() {
+        return profiler.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
@@ -0,0 +1,70 @@
+package com.opitech.superheroes.profiling;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración del profiler SQL: envuelve el DataSource con datasource-proxy, registra el filtro
+ * por petición y el endpoint de Actuator. Sustituye a {@code spring.jpa.show-sql}.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlProfilerProperties.class)
+@ConditionalOnProperty(prefix = "superheroes.sql-profiler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilerConfig {
+
+    @Bean(destroyMethod = "close")
+    public SlowQueryLog slowQueryLog(SqlProfilerProperties properties) {
+        return new SlowQueryLog(properties.getSlowQueryQueueCapacity());
+    }
+
+    @Bean
+    public SqlStatementProfiler sqlStatementProfiler(SqlProfilerProperties properties, SlowQueryLog slowQueryLog) {
+        return new SqlStatementProfiler(properties, slowQueryLog);
+    }
+
+    @Bean
+    public SqlProfileEndpoint sqlProfileEndpoint(SqlStatementProfiler profiler) {
+        return new SqlProfileEndpoint(profiler);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestStatsFilter> sqlRequestStatsFilter(SqlStatementProfiler profiler) {
+        FilterRegistrationBean<SqlRequestStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlRequestStatsFilter(profiler));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Declarado como static para que el post-procesador no fuerce la creación temprana de esta configuración.
+     */
+    @Bean
+    public static BeanPostProcessor sqlProfilerDataSourcePostProcessor(ObjectProvider<SqlStatementProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    SqlStatementProfiler listener = profiler.getObject();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.opitech.superheroes.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del profiler de sentencias SQL ({@code superheroes.sql-profiler.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.sql-profiler")
+public class SqlProfilerProperties {
+
+    /**
+     * Activa el proxy sobre el DataSource. Si se desactiva, no se recoge ninguna métrica.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Latencia a partir de la cual una sentencia se considera lenta y se envía al slow-query log.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Capacidad de la cola del slow-query log. Si se llena, las entradas se descartan (y se cuentan).
+     */
+    private int slowQueryQueueCapacity = 1000;
+
+    /**
+     * Número de sentencias en una misma petición HTTP a partir del cual se registra un aviso (posible N+1).
+     */
+    private int statementsPerRequestWarnThreshold = 20;
+
+    /**
+     * Número máximo de sentencias distintas con estadísticas propias. El resto se agrupa en "&lt;other&gt;".
+     */
+    private int maxTrackedStatements = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    public int getSlowQueryQueueCapacity() {
+        return slowQueryQueueCapacity;
+    }
+
+    public void setSlowQueryQueueCapacity(int slowQueryQueueCapacity) {
+        this.slowQueryQueueCapacity = slowQueryQueueCapacity;
+    }
+
+    public int getStatementsPerRequestWarnThreshold() {
+        return statementsPerRequestWarnThreshold;
+    }
+
+    public void setStatementsPerRequestWarnThreshold(int statementsPerRequestWarnThreshold) {
+        this.statementsPerRequestWarnThreshold = statementsPerRequestWarnThreshold;
+    }
+
+    public int getMaxTrackedStatements() {
+        return maxTrackedStatements;
+    }
+
+    public void setMaxTrackedStatements(int maxTrackedStatements) {
+        this.maxTrackedStatements = maxTrackedStatements;
+    }
+}
@@ -0,0 +1,45 @@
+package com.opitech.superheroes.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filtro que delimita cada petición HTTP para que el {@link SqlStatementProfiler} pueda contar
+ * cuántas sentencias SQL se ejecutan por petición y agruparlas por endpoint.
+ */
+public class SqlRequestStatsFilter extends OncePerRequestFilter {
+
+    private final SqlStatementProfiler profiler;
+
+    public SqlRequestStatsFilter(SqlStatementProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        profiler.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            profiler.endRequest(endpointKey(request));
+        }
+    }
+
+    /**
+     * Usa el patrón de la ruta resuelto por Spring MVC ("/api/v1/heroes/{id}") para no crear
+     * una entrada distinta por cada id.
+     */
+    private static String endpointKey(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = pattern != null ? pattern.toString() : request.getRequestURI();
+        return request.getMethod() + " " + path;
+    }
+}
@@ -0,0 +1,246 @@
+package com.opitech.superheroes.profiling;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Interceptor de sentencias JDBC registrado en el proxy del DataSource.
+ * <p>
+ * Recoge, por sentencia: latencia, filas devueltas y filas afectadas; y, por endpoint HTTP, el número
+ * de sentencias ejecutadas en cada petición (para detectar regresiones N+1). Las sentencias que superan
+ * el umbral configurado se envían al {@link SlowQueryLog} junto con sus parámetros.
+ */
+public class SqlStatementProfiler implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementProfiler.class);
+
+    static final String OTHER_STATEMENTS = "<other>";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Consulta cuyo ResultSet se está leyendo en el hilo actual; las filas leídas se le atribuyen. Se limpia al
+     * cerrar el ResultSet o la sentencia, también en hilos que no atienden peticiones HTTP.
+     */
+    private static final ThreadLocal<StatementStats> CURRENT_STATEMENT = new ThreadLocal<>();
+
+    /**
+     * Contador de sentencias de la petición HTTP en curso (null fuera de una petición).
+     */
+    private static final ThreadLocal<int[]> REQUEST_STATEMENTS = new ThreadLocal<>();
+
+    private final SqlProfilerProperties properties;
+    private final SlowQueryLog slowQueryLog;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public SqlStatementProfiler(SqlProfilerProperties properties, SlowQueryLog slowQueryLog) {
+        this.properties = properties;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // La latencia la calcula el propio proxy; no hay nada que hacer antes de ejecutar.
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        StatementStats last = null;
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = normalize(queryInfo.getQuery());
+            StatementStats stats = statsFor(sql);
+            stats.recordExecution(elapsed, execInfo.isSuccess());
+            last = stats;
+
+            if (elapsed >= properties.getSlowQueryThreshold().toMillis()) {
+                slowQueryLog.submit(elapsed, sql, formatParameters(queryInfo.getParametersList()));
+            }
+        }
+
+        if (last != null) {
+            recordAffectedRows(last, execInfo.getResult());
+        }
+        if (last != null && execInfo.getResult() instanceof ResultSet) {
+            CURRENT_STATEMENT.set(last);
+        } else {
+            CURRENT_STATEMENT.remove();
+        }
+
+        int[] requestCounter = REQUEST_STATEMENTS.get();
+        if (requestCounter != null) {
+            requestCounter[0] += queryInfoList.size();
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        // Solo interesan ResultSet#next() y el cierre del ResultSet o de la sentencia
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        Object target = executionContext.getTarget();
+        String method = executionContext.getMethod().getName();
+
+        if (target instanceof ResultSet && "next".equals(method)
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            StatementStats current = CURRENT_STATEMENT.get();
+            if (current != null) {
+                current.addRowsReturned(1);
+            }
+        } else if ("close".equals(method) && (target instanceof ResultSet || target instanceof Statement)) {
+            CURRENT_STATEMENT.remove();
+        }
+    }
+
+    /**
+     * Marca el inicio de una petición HTTP en el hilo actual.
+     */
+    public void beginRequest() {
+        REQUEST_STATEMENTS.set(new int[1]);
+    }
+
+    /**
+     * Cierra la petición HTTP en curso y acumula el número de sentencias bajo el endpoint indicado.
+     *
+     * @param endpoint clave del endpoint (método + patrón de la ruta).
+     */
+    public void endRequest(String endpoint) {
+        int[] counter = REQUEST_STATEMENTS.get();
+        REQUEST_STATEMENTS.remove();
+        CURRENT_STATEMENT.remove();
+        if (counter == null) {
+            return;
+        }
+
+        int count = counter[0];
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(count);
+
+        if (count > properties.getStatementsPerRequestWarnThreshold()) {
+            log.warn("{} executed {} SQL statements in a single request (possible N+1)", endpoint, count);
+        }
+    }
+
+    /**
+     * Retorna una instantánea de todas las estadísticas recogidas.
+     *
+     * @return estadísticas por sentencia (ordenadas por tiempo total) y por endpoint.
+     */
+    public ProfileSnapshot snapshot() {
+        List<StatementStats.Snapshot> statementSnapshots = statements.values().stream()
+                .map(StatementStats::snapshot)
+                .sorted(Comparator.comparingLong(StatementStats.Snapshot::totalMillis).reversed())
+                .toList();
+
+        Map<String, EndpointSnapshot> endpointSnapshots = endpoints.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().snapshot()));
+
+        return new ProfileSnapshot(
+                properties.getSlowQueryThreshold().toMillis(),
+                slowQueryLog.getLogged(),
+                slowQueryLog.getDropped(),
+                statementSnapshots,
+                endpointSnapshots
+        );
+    }
+
+    /**
+     * Descarta todas las estadísticas acumuladas.
+     */
+    public void reset() {
+        statements.clear();
+        endpoints.clear();
+    }
+
+    private StatementStats statsFor(String sql) {
+        StatementStats stats = statements.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statements.size() < properties.getMaxTrackedStatements() ? sql : OTHER_STATEMENTS;
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+
+    private static void recordAffectedRows(StatementStats stats, Object result) {
+        if (result instanceof Integer updated) {
+            stats.addRowsAffected(Math.max(0, updated));
+        } else if (result instanceof int[] batch) {
+            long total = 0;
+            for (int updated : batch) {
+                total += Math.max(0, updated);
+            }
+            stats.addRowsAffected(total);
+        }
+    }
+
+    static String normalize(String sql) {
+        return sql == null ? "" : WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+    }
+
+    private static String formatParameters(List<List<ParameterSetOperation>> parametersList) {
+        return parametersList.stream()
+                .map(operations -> operations.stream()
+                        .map(ParameterSetOperation::getArgs)
+                        .map(args -> args.length > 1 ? String.valueOf(args[1]) : "")
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Acumulado de sentencias por petición para un endpoint.
+     */
+    private static class EndpointStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        void record(int count) {
+            requests.increment();
+            statements.add(count);
+            maxStatements.accumulate(count);
+        }
+
+        EndpointSnapshot snapshot() {
+            long requestCount = requests.sum();
+            long statementCount = statements.sum();
+            return new EndpointSnapshot(
+                    requestCount,
+                    statementCount,
+                    requestCount == 0 ? 0.0 : (double) statementCount / requestCount,
+                    maxStatements.get()
+            );
+        }
+    }
+
+    public record EndpointSnapshot(long requests, long statements, double avgStatementsPerRequest,
+                                   long maxStatementsPerRequest) {
+    }
+
+    public record ProfileSnapshot(long slowQueryThresholdMillis,
+                                  long slowQueriesLogged,
+                                  long slowQueriesDropped,
+                                  List<StatementStats.Snapshot> statements,
+                                  Map<String, EndpointSnapshot> endpoints) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.opitech.superheroes.profiling;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estadísticas acumuladas de una sentencia SQL (agrupadas por el texto normalizado de la sentencia).
+ * Todos los contadores son lock-free para no añadir contención en el camino de ejecución JDBC.
+ */
+public class StatementStats {
+
+    private final String sql;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalMillis = new LongAdder();
+    private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+    private final LongAdder rowsReturned = new LongAdder();
+    private final LongAdder rowsAffected = new LongAdder();
+
+    StatementStats(String sql) {
+        this.sql = sql;
+    }
+
+    void recordExecution(long elapsedMillis, boolean success) {
+        executions.increment();
+        totalMillis.add(elapsedMillis);
+        maxMillis.accumulate(elapsedMillis);
+        if (!success) {
+            failures.increment();
+        }
+    }
+
+    void addRowsReturned(long rows) {
+        rowsReturned.add(rows);
+    }
+
+    void addRowsAffected(long rows) {
+        rowsAffected.add(rows);
+    }
+
+    Snapshot snapshot() {
+        long count = executions.sum();
+        long total = totalMillis.sum();
+        return new Snapshot(
+                sql,
+                count,
+                failures.sum(),
+                total,
+                count == 0 ? 0.0 : (double) total / count,
+                maxMillis.get(),
+                rowsReturned.sum(),
+                rowsAffected.sum()
+        );
+    }
+
+    /**
+     * Vista inmutable de las estadísticas de una sentencia, expuesta por el endpoint de Actuator.
+     */
+    public record Snapshot(String sql,
+                           long executions,
+                           long failures,
+                           long totalMillis,
+                           double avgMillis,
+                           long maxMillis,
+                           long rowsReturned,
+                           long rowsAffected) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.opitech.superheroes.repository;
+
+import com.opitech.superheroes.model.Universe;
+
+/**
+ * Criterio de selección de héroes para operaciones masivas. Los campos null no filtran.
+ *
+ * @param universe      universo de los héroes.
+ * @param minPowerLevel nivel de poder mínimo (inclusive).
+ * @param maxPowerLevel nivel de poder máximo (inclusive).
+ */
+public record HeroFilter(Universe universe, Integer minPowerLevel, Integer maxPowerLevel) {
+
+    public boolean isEmpty() {
+        return universe == null && minPowerLevel == null && maxPowerLevel == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.opitech.superheroes.repository;
+
+import java.util.Map;
+
+/**
+ * Actualización parcial de un héroe: atributos de la entidad a modificar y, opcionalmente, la versión
+ * esperada para el control de concurrencia optimista.
+ *
+ * @param id              ID del héroe.
+ * @param expectedVersion versión esperada, o null para no comprobarla.
+ * @param changes         atributo de {@code Hero} → nuevo valor (puede ser null para columnas nullables).
+ */
+public record HeroPatchCommand(Long id, Long expectedVersion, Map<String, Object> changes) {
+}
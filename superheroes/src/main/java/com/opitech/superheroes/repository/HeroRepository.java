@@ -4,10 +4,16 @@ import com.opitech.superheroes.model.Hero;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface HeroRepository extends JpaRepository<Hero, Long> {
+public interface HeroRepository extends JpaRepository<Hero, Long>, HeroRepositoryCustom {
 
     /**
      * Busca un héroe por su nombre para validacion de duplicados.
@@ -25,4 +31,33 @@ public interface HeroRepository extends JpaRepository<Hero, Long> {
      * @return Informacion de héroes que coinciden con la búsqueda.
      */
     Page<Hero> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    /**
+     * Retorna todos los héroes activos (carga inicial de los rankings en memoria).
+     *
+     * @return Héroes activos.
+     */
+    List<Hero> findByActiveTrue();
+
+    /**
+     * Elimina con un único DELETE todos los héroes cuyos ids se indican.
+     *
+     * @param ids IDs de los héroes a eliminar.
+     * @return Número de héroes eliminados.
+     */
+    @Modifying
+    @Query("delete from Hero h where h.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Desactiva con un único UPDATE los héroes activos cuyos ids se indican.
+     *
+     * @param ids IDs de los héroes a desactivar.
+     * @param now Marca de tiempo para updatedAt.
+     * @return Número de héroes desactivados (los ya inactivos no cuentan).
+     */
+    @Modifying
+    @Query("update Hero h set h.active = false, h.updatedAt = :now, h.version = h.version + 1 "
+            + "where h.id in :ids and h.active = true")
+    int deactivateAllByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
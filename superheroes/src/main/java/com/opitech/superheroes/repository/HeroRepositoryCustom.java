@@ -0,0 +1,54 @@
+package com.opitech.superheroes.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operaciones de escritura que no pasan por el ciclo cargar-modificar-flush de JPA.
+ */
+public interface HeroRepositoryCustom {
+
+    /**
+     * Ejecuta un único {@code UPDATE heroes SET ... WHERE id = ? [AND version = ?]} con los campos modificados,
+     * sin cargar la entidad. Incrementa la versión y actualiza {@code updated_at}.
+     *
+     * @param command patch a aplicar.
+     * @return número de filas afectadas (0 si no existe el héroe o la versión no coincide).
+     */
+    int patch(HeroPatchCommand command);
+
+    /**
+     * Aplica varios patches usando batching JDBC: los patches que modifican el mismo conjunto de columnas
+     * comparten sentencia y se envían en lotes de {@code hibernate.jdbc.batch_size}.
+     *
+     * @param commands patches a aplicar.
+     * @return filas afectadas por cada patch, en el mismo orden que {@code commands}.
+     * @throws IllegalStateException si el driver no informa las filas afectadas de cada sentencia del lote.
+     */
+    int[] patchAll(List<HeroPatchCommand> commands);
+
+    /**
+     * Retorna, en orden ascendente, los primeros ids posteriores a {@code afterId} de los héroes que cumplen el
+     * filtro. Permite recorrer una operación masiva por trozos (keyset) sin depender de lo dispersos que estén
+     * los ids.
+     *
+     * @param filter     criterio de selección.
+     * @param activeOnly si es true, solo héroes activos.
+     * @param afterId    último id del trozo anterior (exclusivo).
+     * @param limit      número máximo de ids.
+     * @return ids del siguiente trozo, vacío si no quedan.
+     */
+    List<Long> findIdsAfter(HeroFilter filter, boolean activeOnly, long afterId, int limit);
+
+    /**
+     * Bloquea ({@code SELECT ... FOR UPDATE}) los héroes de la lista que siguen cumpliendo el filtro y retorna sus
+     * ids. Ejecutado en la misma transacción que la sentencia masiva, esos ids son exactamente las filas que
+     * modifica: ninguna otra transacción puede cambiarlas entre la lectura y la escritura.
+     *
+     * @param filter     criterio de selección (vacío para aceptar cualquier héroe de la lista).
+     * @param activeOnly si es true, solo héroes activos.
+     * @param ids        ids candidatos.
+     * @return ids bloqueados, en orden ascendente.
+     */
+    List<Long> lockIdsMatching(HeroFilter filter, boolean activeOnly, Collection<Long> ids);
+}
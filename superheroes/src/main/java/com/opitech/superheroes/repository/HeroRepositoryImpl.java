@@ -0,0 +1,208 @@
+package com.opitech.superheroes.repository;
+
+import com.opitech.superheroes.model.Hero;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link HeroRepositoryCustom}. Spring Data la combina con {@link HeroRepository}
+ * por convención de nombre.
+ */
+public class HeroRepositoryImpl implements HeroRepositoryCustom {
+
+    /**
+     * Columnas de la tabla {@code heroes} para cada atributo modificable de {@link Hero}.
+     */
+    private static final Map<String, String> COLUMNS = Map.of(
+            "name", "name",
+            "alias", "alias",
+            "universe", "universe",
+            "powerLevel", "power_level",
+            "active", "active"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public int patch(HeroPatchCommand command) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Hero> update = cb.createCriteriaUpdate(Hero.class);
+        Root<Hero> root = update.from(Hero.class);
+
+        command.changes().forEach((attribute, value) -> assign(cb, update, root.get(checkAttribute(attribute)), value));
+        update.set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+
+        Predicate where = cb.equal(root.get("id"), command.id());
+        if (command.expectedVersion() != null) {
+            where = cb.and(where, cb.equal(root.get("version"), command.expectedVersion()));
+        }
+        update.where(where);
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int[] patchAll(List<HeroPatchCommand> commands) {
+        int[] results = new int[commands.size()];
+
+        // Agrupar por sentencia SQL (mismas columnas y misma condición de versión) conservando la posición original
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            groups.computeIfAbsent(toSql(commands.get(i)), sql -> new ArrayList<>()).add(i);
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+                try (PreparedStatement statement = connection.prepareStatement(group.getKey())) {
+                    List<Integer> positions = group.getValue();
+                    for (int start = 0; start < positions.size(); start += batchSize) {
+                        List<Integer> chunk = positions.subList(start, Math.min(start + batchSize, positions.size()));
+                        for (int position : chunk) {
+                            bind(statement, commands.get(position));
+                            statement.addBatch();
+                        }
+                        int[] counts = statement.executeBatch();
+                        for (int i = 0; i < chunk.size(); i++) {
+                            results[chunk.get(i)] = updateCount(counts[i]);
+                        }
+                    }
+                }
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Sin el número de filas de cada patch no se distingue un héroe actualizado de uno inexistente o con otra
+     * versión: si el driver no lo informa ({@link Statement#SUCCESS_NO_INFO}) se falla en lugar de suponerlo.
+     */
+    private static int updateCount(int count) {
+        if (count == Statement.SUCCESS_NO_INFO) {
+            throw new IllegalStateException("JDBC driver did not report update counts for batched hero patches");
+        }
+        return Math.max(0, count);
+    }
+
+    @Override
+    public List<Long> findIdsAfter(HeroFilter filter, boolean activeOnly, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Hero> root = query.from(Hero.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(filterPredicate(cb, root, filter));
+        predicates.add(cb.greaterThan(root.<Long>get("id"), afterId));
+        if (activeOnly) {
+            predicates.add(cb.isTrue(root.<Boolean>get("active")));
+        }
+        query.select(root.<Long>get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Long> lockIdsMatching(HeroFilter filter, boolean activeOnly, Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Hero> root = query.from(Hero.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(filterPredicate(cb, root, filter));
+        predicates.add(root.get("id").in(ids));
+        if (activeOnly) {
+            predicates.add(cb.isTrue(root.<Boolean>get("active")));
+        }
+        query.select(root.<Long>get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+    }
+
+    private static Predicate filterPredicate(CriteriaBuilder cb, Root<Hero> root, HeroFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.universe() != null) {
+            predicates.add(cb.equal(root.get("universe"), filter.universe()));
+        }
+        if (filter.minPowerLevel() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<Integer>get("powerLevel"), filter.minPowerLevel()));
+        }
+        if (filter.maxPowerLevel() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.<Integer>get("powerLevel"), filter.maxPowerLevel()));
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    private static String toSql(HeroPatchCommand command) {
+        StringBuilder sql = new StringBuilder("UPDATE heroes SET ");
+        for (String attribute : command.changes().keySet()) {
+            sql.append(COLUMNS.get(checkAttribute(attribute))).append(" = ?, ");
+        }
+        sql.append("updated_at = ?, version = version + 1 WHERE id = ?");
+        if (command.expectedVersion() != null) {
+            sql.append(" AND version = ?");
+        }
+        return sql.toString();
+    }
+
+    private static void bind(PreparedStatement statement, HeroPatchCommand command) throws SQLException {
+        int index = 1;
+        for (Object value : command.changes().values()) {
+            if (value == null) {
+                statement.setNull(index++, Types.VARCHAR);
+            } else {
+                statement.setObject(index++, value instanceof Enum<?> e ? e.name() : value);
+            }
+        }
+        statement.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now()));
+        statement.setLong(index++, command.id());
+        if (command.expectedVersion() != null) {
+            statement.setLong(index, command.expectedVersion());
+        }
+    }
+
+    private static String checkAttribute(String attribute) {
+        if (!COLUMNS.containsKey(attribute)) {
+            throw new IllegalArgumentException("Attribute '" + attribute + "' cannot be patched");
+        }
+        return attribute;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void assign(CriteriaBuilder cb, CriteriaUpdate<Hero> update, Path path, Object value) {
+        if (value == null) {
+            update.set(path, cb.nullLiteral(path.getJavaType()));
+        } else {
+            update.set(path, value);
+        }
+    }
+}
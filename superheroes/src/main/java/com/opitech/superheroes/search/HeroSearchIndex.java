@@ -0,0 +1,269 @@
+package com.opitech.superheroes.search;
+
+import com.opitech.superheroes.model.Universe;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre el nombre y el alias de los héroes, con puntuación BM25 por campo.
+ * <p>
+ * Cada campo tiene sus propias listas de apariciones ({@link PostingList}) y su propia longitud media. La
+ * puntuación de un héroe es la suma, para cada término de la consulta y cada campo, de
+ * {@code boost · idf · tf·(k1+1) / (tf + k1·(1 − b + b·len/avgLen))}.
+ * <p>
+ * La recuperación del top-K es document-at-a-time con WAND: con el heap ya lleno, solo se puntúan los héroes cuya
+ * suma de cotas máximas de sus listas puede superar al peor del top-K; el resto de ids se salta sin puntuar.
+ * Thread-safe: las búsquedas comparten un read lock y las escrituras toman el write lock.
+ */
+public class HeroSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::id);
+
+    /**
+     * Campos indexados y su peso relativo: coincidir en el nombre pesa más que en el alias.
+     */
+    enum Field {
+        NAME(2.0),
+        ALIAS(1.0);
+
+        final double boost;
+
+        Field(double boost) {
+            this.boost = boost;
+        }
+    }
+
+    /**
+     * Héroe encontrado con su puntuación.
+     */
+    public record Hit(long id, String name, String alias, Universe universe, boolean active, double score) {
+    }
+
+    private record Document(String name, String alias, Universe universe, boolean active,
+                            Map<String, Integer> nameTerms, Map<String, Integer> aliasTerms) {
+
+        Map<String, Integer> terms(Field field) {
+            return field == Field.NAME ? nameTerms : aliasTerms;
+        }
+
+        int length(Field field) {
+            return terms(field).values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        Document withActive(boolean value) {
+            return new Document(name, alias, universe, value, nameTerms, aliasTerms);
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Field, Map<String, PostingList>> postings = Map.of(
+            Field.NAME, new HashMap<>(),
+            Field.ALIAS, new HashMap<>());
+    private final long[] totalLength = new long[Field.values().length];
+
+    /**
+     * Indexa un héroe, sustituyendo su versión anterior si ya estaba.
+     */
+    public void put(long id, String name, String alias, Universe universe, boolean active) {
+        Document document = new Document(name, alias, universe, active, frequencies(name), frequencies(alias));
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            documents.put(id, document);
+            for (Field field : Field.values()) {
+                int fieldLength = document.length(field);
+                totalLength[field.ordinal()] += fieldLength;
+                for (Map.Entry<String, Integer> term : document.terms(field).entrySet()) {
+                    postings.get(field).computeIfAbsent(term.getKey(), key -> new PostingList())
+                            .add(id, term.getValue(), fieldLength);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cambia solo el estado activo del héroe, que no afecta a las listas de apariciones.
+     */
+    public void setActive(long id, boolean active) {
+        lock.writeLock().lock();
+        try {
+            documents.computeIfPresent(id, (key, document) -> document.withActive(active));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna los {@code limit} héroes más relevantes para la consulta.
+     *
+     * @param query texto libre; se normaliza igual que los campos indexados.
+     * @param limit número máximo de resultados.
+     * @return héroes ordenados por puntuación descendente (a igual puntuación, por id).
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        lock.readLock().lock();
+        try {
+            List<TermCursor> cursors = new ArrayList<>();
+            for (String term : terms) {
+                for (Field field : Field.values()) {
+                    PostingList list = postings.get(field).get(term);
+                    if (list != null && list.size() > 0) {
+                        TermCursor cursor = new TermCursor(field, list);
+                        if (cursor.postings.next()) {
+                            cursors.add(cursor);
+                        }
+                    }
+                }
+            }
+            return topK(cursors, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> topK(List<TermCursor> cursors, int limit) {
+        PriorityQueue<Hit> top = new PriorityQueue<>(RANKING.reversed());
+
+        while (!cursors.isEmpty()) {
+            cursors.sort(Comparator.comparingLong(cursor -> cursor.postings.id()));
+            double threshold = top.size() < limit ? 0.0 : top.peek().score();
+
+            // Pivote: primer id en el que la suma de cotas de las listas que lo alcanzan puede superar el umbral
+            int pivot = -1;
+            double bound = 0.0;
+            for (int i = 0; i < cursors.size(); i++) {
+                bound += cursors.get(i).upperBound;
+                if (bound > threshold) {
+                    pivot = i;
+                    break;
+                }
+            }
+            if (pivot < 0) {
+                break;
+            }
+
+            long pivotId = cursors.get(pivot).postings.id();
+            if (cursors.get(0).postings.id() == pivotId) {
+                double score = 0.0;
+                for (TermCursor cursor : cursors) {
+                    if (cursor.postings.id() != pivotId) {
+                        break;
+                    }
+                    score += cursor.score(pivotId);
+                    cursor.postings.next();
+                }
+                offer(top, pivotId, score, limit);
+            } else {
+                // Ningún id anterior al pivote puede entrar en el top-K: se saltan sin puntuar
+                for (int i = 0; i < pivot; i++) {
+                    cursors.get(i).postings.advance(pivotId);
+                }
+            }
+            cursors.removeIf(cursor -> cursor.postings.exhausted());
+        }
+
+        List<Hit> result = new ArrayList<>(top);
+        result.sort(RANKING);
+        return result;
+    }
+
+    private void offer(PriorityQueue<Hit> top, long id, double score, int limit) {
+        Document document = documents.get(id);
+        Hit hit = new Hit(id, document.name(), document.alias(), document.universe(), document.active(), score);
+        if (top.size() < limit) {
+            top.add(hit);
+        } else if (RANKING.compare(hit, top.peek()) < 0) {
+            top.poll();
+            top.add(hit);
+        }
+    }
+
+    private void removeDocument(long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            totalLength[field.ordinal()] -= previous.length(field);
+            Map<String, PostingList> fieldPostings = postings.get(field);
+            for (String term : previous.terms(field).keySet()) {
+                PostingList list = fieldPostings.get(term);
+                if (list != null && list.remove(id) && list.size() == 0) {
+                    fieldPostings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> frequencies(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String token : TextAnalyzer.tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    /**
+     * Cursor de una lista (término, campo) con su idf y su cota máxima de puntuación ya calculadas.
+     */
+    private final class TermCursor {
+
+        final Field field;
+        final PostingList.Cursor postings;
+        final double idf;
+        final double averageLength;
+        final double upperBound;
+
+        TermCursor(Field field, PostingList list) {
+            this.field = field;
+            this.postings = list.cursor();
+            int documentCount = documents.size();
+            this.idf = Math.log(1 + (documentCount - list.size() + 0.5) / (list.size() + 0.5));
+            this.averageLength = Math.max(1.0, (double) totalLength[field.ordinal()] / Math.max(1, documentCount));
+            this.upperBound = termScore(list.maxFrequency(), list.minFieldLength());
+        }
+
+        double score(long id) {
+            return termScore(postings.frequency(), documents.get(id).length(field));
+        }
+
+        private double termScore(int frequency, int fieldLength) {
+            double norm = K1 * (1 - B + B * fieldLength / averageLength);
+            return field.boost * idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.opitech.superheroes.search;
+
+import com.opitech.superheroes.dto.HeroSearchHitDto;
+import com.opitech.superheroes.event.CoalescingRefresh;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.model.Hero;
+import com.opitech.superheroes.repository.HeroRepository;
+import com.opitech.superheroes.startup.WarmUpTask;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Búsqueda por relevancia sobre el nombre y el alias de los héroes, servida desde un {@link HeroSearchIndex}.
+ * <p>
+ * El índice se construye al arrancar y se mantiene con los {@link HeroChangedEvent} (locales tras el commit y
+ * remotos del change-log): altas y modificaciones reindexan solo los héroes afectados; los eventos sin ids
+ * programan una reconstrucción completa en segundo plano (varios seguidos se atienden con una sola), que sustituye
+ * el índice de una vez sin bloquear las búsquedas mientras tanto.
+ */
+@Service
+public class HeroSearchService implements WarmUpTask, AutoCloseable {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final HeroRepository heroRepository;
+    private final TransactionTemplate readTransaction;
+
+    // Serializa las actualizaciones (lectura de BD + aplicación) para que no se pisen entre sí
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private final CoalescingRefresh deferredRebuild = new CoalescingRefresh("hero-search-rebuild", this::rebuild);
+
+    private volatile HeroSearchIndex index = new HeroSearchIndex();
+
+    public HeroSearchService(HeroRepository heroRepository, PlatformTransactionManager transactionManager) {
+        this.heroRepository = heroRepository;
+        // Transacción nueva: tras el commit de la escritura su contexto de persistencia puede tener datos viejos
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Busca héroes cuyo nombre o alias contienen alguno de los términos de la consulta, ordenados por relevancia.
+     * Mayúsculas y acentos se ignoran.
+     *
+     * @param query texto libre a buscar.
+     * @param limit número máximo de resultados (entre 1 y {@value #MAX_LIMIT}).
+     * @return héroes ordenados por puntuación descendente.
+     */
+    public List<HeroSearchHitDto> search(String query, int limit) {
+        if (TextAnalyzer.tokenize(query).isEmpty()) {
+            throw new IllegalArgumentException("Parameter 'q' must contain at least one letter or digit");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Parameter 'limit' must be between 1 and " + MAX_LIMIT);
+        }
+
+        return index.search(query, limit).stream()
+                .map(hit -> new HeroSearchHitDto(hit.id(), hit.name(), hit.alias(), hit.universe(), hit.active(),
+                        hit.score()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHeroChanged(HeroChangedEvent event) {
+        if (event.affectsUnknownIds()) {
+            deferredRebuild.request();
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            HeroSearchIndex current = index;
+            switch (event.operation()) {
+                case DELETE -> event.heroIds().forEach(current::remove);
+                case DEACTIVATE -> event.heroIds().forEach(id -> current.setActive(id, false));
+                case CREATE, UPDATE -> {
+                    List<Hero> heroes = readTransaction.execute(
+                            status -> heroRepository.findAllById(event.heroIds()));
+                    Set<Long> missing = new HashSet<>(event.heroIds());
+                    if (heroes != null) {
+                        for (Hero hero : heroes) {
+                            missing.remove(hero.getId());
+                            put(current, hero);
+                        }
+                    }
+                    // Borrados entre la escritura y la relectura
+                    missing.forEach(current::remove);
+                }
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Reconstruye el índice completo a partir de la base de datos y lo publica de forma atómica.
+     */
+    public void rebuild() {
+        updateLock.lock();
+        try {
+            HeroSearchIndex rebuilt = new HeroSearchIndex();
+            List<Hero> heroes = readTransaction.execute(status -> heroRepository.findAll());
+            if (heroes != null) {
+                heroes.forEach(hero -> put(rebuilt, hero));
+            }
+            index = rebuilt;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        deferredRebuild.close();
+    }
+
+    private static void put(HeroSearchIndex target, Hero hero) {
+        target.put(hero.getId(), hero.getName(), hero.getAlias(), hero.getUniverse(),
+                Boolean.TRUE.equals(hero.getActive()));
+    }
+}
@@ -0,0 +1,182 @@
+package com.opitech.superheroes.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista de apariciones de un término en un campo: pares (id de héroe, frecuencia) ordenados por id y codificados
+ * como varints, con el id en delta respecto al anterior (1-2 bytes por entrada en vez de 12).
+ * <p>
+ * Los ids de héroe son crecientes, así que las altas son un append; modificar o borrar un héroe reescribe solo las
+ * listas de sus términos. {@code maxFrequency} y {@code minFieldLength} acotan la puntuación máxima de la lista
+ * para WAND; tras borrados pueden quedar holgados, pero siguen siendo cotas válidas.
+ */
+final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private long lastId;
+    private int maxFrequency;
+    private int minFieldLength = Integer.MAX_VALUE;
+
+    int size() {
+        return size;
+    }
+
+    int maxFrequency() {
+        return maxFrequency;
+    }
+
+    int minFieldLength() {
+        return minFieldLength;
+    }
+
+    void add(long id, int frequency, int fieldLength) {
+        maxFrequency = Math.max(maxFrequency, frequency);
+        minFieldLength = Math.min(minFieldLength, fieldLength);
+        if (size == 0 || id > lastId) {
+            append(id, frequency);
+            return;
+        }
+
+        // Inserción en medio (id reutilizado o reindexado fuera de orden): se reescribe la lista
+        long[] ids = new long[size + 1];
+        int[] frequencies = new int[size + 1];
+        int count = 0;
+        boolean inserted = false;
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (!inserted && id < cursor.id()) {
+                ids[count] = id;
+                frequencies[count++] = frequency;
+                inserted = true;
+            }
+            if (cursor.id() != id) {
+                ids[count] = cursor.id();
+                frequencies[count++] = cursor.frequency();
+            }
+        }
+        if (!inserted) {
+            ids[count] = id;
+            frequencies[count++] = frequency;
+        }
+        rewrite(ids, frequencies, count);
+    }
+
+    boolean remove(long id) {
+        long[] ids = new long[size];
+        int[] frequencies = new int[size];
+        int count = 0;
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (cursor.id() != id) {
+                ids[count] = cursor.id();
+                frequencies[count++] = cursor.frequency();
+            }
+        }
+        if (count == size) {
+            return false;
+        }
+        rewrite(ids, frequencies, count);
+        return true;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void rewrite(long[] ids, int[] frequencies, int count) {
+        length = 0;
+        size = 0;
+        lastId = 0;
+        for (int i = 0; i < count; i++) {
+            append(ids[i], frequencies[i]);
+        }
+        if (data.length > 64 && length < data.length / 4) {
+            data = Arrays.copyOf(data, Math.max(8, length * 2));
+        }
+    }
+
+    private void append(long id, int frequency) {
+        ensureCapacity(length + 15);
+        writeVarLong(id - lastId);
+        writeVarLong(frequency);
+        lastId = id;
+        size++;
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+
+    /**
+     * Recorrido secuencial de la lista. No es válido si la lista se modifica durante el recorrido.
+     */
+    final class Cursor {
+
+        private int offset;
+        private long id;
+        private int frequency;
+        private boolean exhausted;
+
+        /**
+         * Avanza a la siguiente entrada.
+         *
+         * @return false si no hay más entradas.
+         */
+        boolean next() {
+            if (offset >= length) {
+                exhausted = true;
+                id = Long.MAX_VALUE;
+                return false;
+            }
+            id += readVarLong();
+            frequency = (int) readVarLong();
+            return true;
+        }
+
+        /**
+         * Avanza hasta la primera entrada con id mayor o igual que {@code target}.
+         */
+        boolean advance(long target) {
+            while (!exhausted && id < target) {
+                next();
+            }
+            return !exhausted;
+        }
+
+        long id() {
+            return id;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        boolean exhausted() {
+            return exhausted;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.opitech.superheroes.service;
+
+import com.opitech.superheroes.dto.HeroBulkOperationResponseDto;
+import com.opitech.superheroes.dto.HeroBulkSelectionDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.repository.HeroFilter;
+import com.opitech.superheroes.repository.HeroRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Servicio para operaciones masivas sobre héroes (borrado y desactivación).
+ * <p>
+ * Cada operación se ejecuta como sentencias DML set-based, sin cargar entidades, troceadas en transacciones
+ * de como máximo {@code superheroes.bulk.chunk-size} ids para no mantener bloqueos largos. Una selección por
+ * filtro se recorre por keyset: cada trozo son los siguientes ids que cumplen el filtro tras el último procesado,
+ * así que el número de transacciones depende de los héroes seleccionados y no de la dispersión de sus ids.
+ * <p>
+ * Dentro de la transacción de cada trozo se bloquean primero los héroes que siguen cumpliendo la selección
+ * ({@link HeroRepository#lockIdsMatching}) y la sentencia se aplica solo a ellos. El trozo publica un único
+ * {@link HeroChangedEvent} con los ids que la sentencia modificó (no los candidatos inexistentes, ya inactivos o que
+ * dejaron de cumplir el filtro), de modo que la entrada del change-log se confirma junto con los cambios y la
+ * invalidación es por trozo, no por fila.
+ */
+@Service
+public class HeroBulkService {
+
+    private final HeroRepository heroRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public HeroBulkService(HeroRepository heroRepository,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${superheroes.bulk.chunk-size:1000}") int chunkSize) {
+        this.heroRepository = heroRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Elimina los héroes seleccionados por ids o por filtro.
+     *
+     * @param selection ids o filtro de los héroes a eliminar.
+     * @return número de héroes eliminados y de transacciones utilizadas.
+     * @throws IllegalArgumentException si la selección está vacía o es ambigua.
+     */
+    public HeroBulkOperationResponseDto deleteHeroes(HeroBulkSelectionDto selection) {
+        return execute(selection, HeroChangedEvent.Operation.DELETE, false, heroRepository::deleteAllByIdIn);
+    }
+
+    /**
+     * Desactiva ({@code active = false}) los héroes seleccionados por ids o por filtro.
+     * Los héroes que ya estaban inactivos no se cuentan.
+     *
+     * @param selection ids o filtro de los héroes a desactivar.
+     * @return número de héroes desactivados y de transacciones utilizadas.
+     * @throws IllegalArgumentException si la selección está vacía o es ambigua.
+     */
+    public HeroBulkOperationResponseDto deactivateHeroes(HeroBulkSelectionDto selection) {
+        return execute(selection, HeroChangedEvent.Operation.DEACTIVATE, true,
+                ids -> heroRepository.deactivateAllByIdIn(ids, LocalDateTime.now()));
+    }
+
+    private HeroBulkOperationResponseDto execute(HeroBulkSelectionDto selection,
+                                                 HeroChangedEvent.Operation operation,
+                                                 boolean activeOnly,
+                                                 ToIntFunction<List<Long>> statement) {
+        HeroFilter filter = new HeroFilter(
+                selection.getUniverse(), selection.getMinPowerLevel(), selection.getMaxPowerLevel());
+        List<Long> ids = selection.getIds() != null
+                ? selection.getIds().stream().distinct().toList()
+                : null;
+        validate(ids, filter);
+
+        long affected = 0;
+        int transactions = 0;
+        if (ids != null) {
+            for (int start = 0; start < ids.size(); start += chunkSize) {
+                List<Long> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+                affected += inTransaction(filter, activeOnly, chunk, operation, statement);
+                transactions++;
+            }
+        } else {
+            long afterId = Long.MIN_VALUE;
+            List<Long> chunk;
+            do {
+                chunk = heroRepository.findIdsAfter(filter, activeOnly, afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                // El bloqueo vuelve a aplicar el filtro: un héroe modificado entre la lectura y el trozo se omite
+                affected += inTransaction(filter, activeOnly, chunk, operation, statement);
+                transactions++;
+                afterId = chunk.get(chunk.size() - 1);
+            } while (chunk.size() == chunkSize);
+        }
+
+        return new HeroBulkOperationResponseDto(affected, transactions);
+    }
+
+    private int inTransaction(HeroFilter filter, boolean activeOnly, List<Long> candidates,
+                              HeroChangedEvent.Operation operation, ToIntFunction<List<Long>> statement) {
+        Integer affected = transactionTemplate.execute(status -> {
+            List<Long> ids = heroRepository.lockIdsMatching(filter, activeOnly, candidates);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            int count = statement.applyAsInt(ids);
+            // Dentro de la transacción: los listeners síncronos (change-log) escriben en ella
+            eventPublisher.publishEvent(HeroChangedEvent.of(operation, ids));
+            return count;
+        });
+        return affected != null ? affected : 0;
+    }
+
+    private static void validate(List<Long> ids, HeroFilter filter) {
+        if (ids != null && !filter.isEmpty()) {
+            throw new IllegalArgumentException("Select heroes either by 'ids' or by filter, not both");
+        }
+        if (ids == null && filter.isEmpty()) {
+            throw new IllegalArgumentException("Either 'ids' or at least one filter (universe, minPowerLevel, maxPowerLevel) is required");
+        }
+        if (ids != null && ids.isEmpty()) {
+            throw new IllegalArgumentException("Parameter 'ids' must not be empty");
+        }
+        if (filter.minPowerLevel() != null && filter.maxPowerLevel() != null
+                && filter.minPowerLevel() > filter.maxPowerLevel()) {
+            throw new IllegalArgumentException("minPowerLevel must be less than or equal to maxPowerLevel");
+        }
+    }
+}
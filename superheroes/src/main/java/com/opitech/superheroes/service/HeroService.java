@@ -1,26 +1,48 @@
 package com.opitech.superheroes.service;
 
+import com.opitech.superheroes.dto.HeroBulkPatchItemDto;
+import com.opitech.superheroes.dto.HeroBulkPatchResponseDto;
+import com.opitech.superheroes.dto.HeroPatchDto;
 import com.opitech.superheroes.dto.HeroRequestDto;
 import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
 import com.opitech.superheroes.exception.HeroAlreadyExistsException;
 import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.exception.HeroVersionConflictException;
 import com.opitech.superheroes.mapper.HeroMapper;
 import com.opitech.superheroes.model.Hero;
+import com.opitech.superheroes.repository.HeroPatchCommand;
 import com.opitech.superheroes.repository.HeroRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para la gestión de héroes.
+ * <p>
+ * Cada escritura publica un {@link HeroChangedEvent} dentro de su transacción. Los nombres se comprueban contra
+ * la tabla y contra las escrituras aceptadas pero aún sin volcar ({@link PendingHeroNames}), si las hay.
  */
 @Service
 public class HeroService {
 
     private final HeroRepository heroRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    // Se resuelve en cada comprobación: el write-behind depende a su vez de este servicio
+    private final ObjectProvider<PendingHeroNames> pendingNames;
 
-    public HeroService(HeroRepository heroRepository) {
+    public HeroService(HeroRepository heroRepository, ApplicationEventPublisher eventPublisher,
+                       ObjectProvider<PendingHeroNames> pendingNames) {
         this.heroRepository = heroRepository;
+        this.eventPublisher = eventPublisher;
+        this.pendingNames = pendingNames;
     }
 
     /**
@@ -73,19 +95,19 @@ public class HeroService {
      * @return DTO con la información del héroe creado.
      * @throws HeroAlreadyExistsException si ya existe un héroe con el mismo nombre.
      */
+    @Transactional
     public HeroResponseDto createHero(HeroRequestDto requestDto) {
         String name = requestDto.getName() != null
                 ? requestDto.getName().trim()
                 : null;
 
         // Comprobar duplicado por nombre
-        heroRepository.findByNameIgnoreCase(name)
-                .ifPresent(existing -> {
-                    throw new HeroAlreadyExistsException(name);
-                });
+        checkNameAvailable(null, name);
 
         Hero hero = HeroMapper.toEntity(requestDto);
         Hero saved = heroRepository.save(hero);
+        eventPublisher.publishEvent(
+                HeroChangedEvent.of(HeroChangedEvent.Operation.CREATE, saved.getId(), saved.getVersion()));
         return HeroMapper.toResponseDto(saved);
     }
 
@@ -98,6 +120,7 @@ public class HeroService {
      * @throws HeroNotFoundException      si no se encuentra el héroe con el ID proporcionado.
      * @throws HeroAlreadyExistsException si ya existe otro héroe con el mismo nombre.
      */
+    @Transactional
     public HeroResponseDto updateHero(Long id, HeroRequestDto requestDto) {
         // Buscar el héroe existente o lanzar 404
         Hero existing = heroRepository.findById(id)
@@ -108,29 +131,141 @@ public class HeroService {
 
         // Si el nombre cambia, comprobar duplicado
         if (newName != null && !newName.equalsIgnoreCase(existing.getName())) {
-            heroRepository.findByNameIgnoreCase(newName)
-                    .ifPresent(other -> {
-                        throw new HeroAlreadyExistsException(newName);
-                    });
+            checkNameAvailable(id, newName);
         }
 
         // Actualizar la entidad con los datos del DTO
         HeroMapper.updateEntityFromDto(requestDto, existing);
 
-        Hero saved = heroRepository.save(existing);
+        // Volcado inmediato: los listeners síncronos (historial) leen la fila ya actualizada
+        Hero saved = heroRepository.saveAndFlush(existing);
+        eventPublisher.publishEvent(
+                HeroChangedEvent.of(HeroChangedEvent.Operation.UPDATE, saved.getId(), saved.getVersion()));
         return HeroMapper.toResponseDto(saved);
     }
 
+    /**
+     * Aplica un JSON Merge Patch sobre un héroe con un único UPDATE, sin cargar la entidad.
+     *
+     * @param id              ID del héroe a modificar.
+     * @param patchDto        campos a modificar.
+     * @param expectedVersion versión esperada (cabecera If-Match), o null para no comprobarla.
+     * @throws HeroNotFoundException        si no existe el héroe.
+     * @throws HeroVersionConflictException si el héroe existe pero su versión no coincide.
+     * @throws HeroAlreadyExistsException   si el nuevo nombre ya pertenece a otro héroe.
+     */
+    @Transactional
+    public void patchHero(Long id, HeroPatchDto patchDto, Long expectedVersion) {
+        Map<String, Object> changes = HeroMapper.toPatchChanges(patchDto);
+
+        // Patch vacío: no hay nada que escribir, solo confirmar que el héroe existe
+        if (changes.isEmpty()) {
+            if (!heroRepository.existsById(id)) {
+                throw new HeroNotFoundException(id);
+            }
+            return;
+        }
+
+        checkNameAvailable(id, changes);
+
+        int updated = heroRepository.patch(new HeroPatchCommand(id, expectedVersion, changes));
+        if (updated == 0) {
+            throw notUpdated(id, expectedVersion);
+        }
+        eventPublisher.publishEvent(HeroChangedEvent.of(HeroChangedEvent.Operation.UPDATE, id,
+                expectedVersion != null ? expectedVersion + 1 : null));
+    }
+
+    /**
+     * Aplica varios patches en una sola transacción usando batching JDBC.
+     * Los héroes inexistentes o con versión distinta a la indicada no se modifican y se informan en la respuesta.
+     *
+     * @param items patches a aplicar.
+     * @return resumen con el número de héroes actualizados y los ids no actualizados.
+     * @throws HeroAlreadyExistsException si algún nombre nuevo ya pertenece a otro héroe.
+     */
+    @Transactional
+    public HeroBulkPatchResponseDto patchHeroes(List<HeroBulkPatchItemDto> items) {
+        List<HeroPatchCommand> commands = new ArrayList<>(items.size());
+        for (HeroBulkPatchItemDto item : items) {
+            Map<String, Object> changes = HeroMapper.toPatchChanges(item);
+            if (changes.isEmpty()) {
+                throw new IllegalArgumentException("Patch for hero id " + item.getId() + " has no fields to update");
+            }
+            checkNameAvailable(item.getId(), changes);
+            commands.add(new HeroPatchCommand(item.getId(), item.getVersion(), changes));
+        }
+
+        int[] counts = heroRepository.patchAll(commands);
+
+        List<Long> updatedIds = new ArrayList<>();
+        List<Long> notUpdatedIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                updatedIds.add(commands.get(i).id());
+            } else {
+                notUpdatedIds.add(commands.get(i).id());
+            }
+        }
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(HeroChangedEvent.of(HeroChangedEvent.Operation.UPDATE, updatedIds));
+        }
+        int updated = updatedIds.size();
+        return new HeroBulkPatchResponseDto(commands.size(), updated, notUpdatedIds);
+    }
+
+    private void checkNameAvailable(Long id, Map<String, Object> changes) {
+        if (changes.get("name") instanceof String newName) {
+            checkNameAvailable(id, newName);
+        }
+    }
+
+    /**
+     * @param id   héroe que tomará el nombre, o null si es nuevo.
+     * @param name nombre a comprobar.
+     * @throws HeroAlreadyExistsException si otro héroe tiene el nombre en la tabla o en una escritura sin volcar.
+     */
+    private void checkNameAvailable(Long id, String name) {
+        heroRepository.findByNameIgnoreCase(name)
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new HeroAlreadyExistsException(name);
+                });
+        PendingHeroNames pending = pendingNames.getIfAvailable();
+        if (pending != null) {
+            pending.ownerOf(name)
+                    .filter(owner -> !owner.equals(id))
+                    .ifPresent(owner -> {
+                        throw new HeroAlreadyExistsException(name);
+                    });
+        }
+    }
+
+    /**
+     * Distingue, solo en el camino de error, entre héroe inexistente y conflicto de versión.
+     */
+    private RuntimeException notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion != null && heroRepository.existsById(id)) {
+            return new HeroVersionConflictException(id, expectedVersion);
+        }
+        return new HeroNotFoundException(id);
+    }
+
     /**
      * Elimina un héroe existente.
      *
      * @param id ID del héroe a eliminar.
      * @throws HeroNotFoundException si no se encuentra el héroe con el ID proporcionado.
      */
+    @Transactional
     public void deleteHero(Long id) {
         Hero existing = heroRepository.findById(id)
                 .orElseThrow(() -> new HeroNotFoundException(id));
 
         heroRepository.delete(existing);
+        // Volcado inmediato, como en updateHero: los listeners síncronos ya no deben ver la fila
+        heroRepository.flush();
+        eventPublisher.publishEvent(
+                HeroChangedEvent.of(HeroChangedEvent.Operation.DELETE, id, existing.getVersion()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.opitech.superheroes.service;
+
+import java.util.Optional;
+
+/**
+ * Nombres de héroe usados por escrituras aceptadas que aún no están en la base de datos (modo write-behind).
+ * {@link HeroService} los consulta además de la tabla para no asignar a otro héroe un nombre ya comprometido.
+ */
+public interface PendingHeroNames {
+
+    /**
+     * @param name nombre a comprobar (se ignoran mayúsculas y espacios exteriores).
+     * @return id del héroe que tiene ese nombre en una escritura sin confirmar, si lo hay.
+     */
+    Optional<Long> ownerOf(String name);
+}
@@ -0,0 +1,68 @@
+package com.opitech.superheroes.sharding;
+
+import com.opitech.superheroes.model.Universe;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Directorio global (tabla {@code hero_directory} en el DataSource principal).
+ * <p>
+ * Asigna ids únicos entre shards, enruta un id a su universo y garantiza la unicidad global del nombre
+ * mediante la constraint {@code uk_hero_directory_name}: los shards por sí solos solo pueden garantizarla
+ * dentro de su universo.
+ */
+public class HeroDirectory {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HeroDirectory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserva el nombre y asigna un id nuevo.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException si el nombre ya está reservado.
+     */
+    public long register(String name, Universe universe) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO hero_directory (name_key, universe) VALUES (?, ?)", new String[]{"id"});
+            statement.setString(1, nameKey(name));
+            statement.setString(2, universe.name());
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+
+    public Optional<Universe> universeOf(Long id) {
+        List<String> universes = jdbcTemplate.queryForList(
+                "SELECT universe FROM hero_directory WHERE id = ?", String.class, id);
+        return universes.stream().findFirst().map(Universe::valueOf);
+    }
+
+    /**
+     * Actualiza nombre y universo de un héroe.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException si el nuevo nombre ya está reservado.
+     */
+    public void update(Long id, String name, Universe universe) {
+        jdbcTemplate.update("UPDATE hero_directory SET name_key = ?, universe = ? WHERE id = ?",
+                nameKey(name), universe.name(), id);
+    }
+
+    public void remove(Long id) {
+        jdbcTemplate.update("DELETE FROM hero_directory WHERE id = ?", id);
+    }
+
+    static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,73 @@
+package com.opitech.superheroes.sharding;
+
+import com.opitech.superheroes.model.Universe;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Mantiene un DataSource por universo y enruta cada operación a su shard.
+ * Al arrancar aplica las migraciones de {@code db/shard} sobre cada shard.
+ */
+public class HeroShardRouter implements AutoCloseable {
+
+    private final Map<Universe, JdbcTemplate> shards = new EnumMap<>(Universe.class);
+    private final Map<Universe, HikariDataSource> dataSources = new EnumMap<>(Universe.class);
+
+    public HeroShardRouter(ShardingProperties properties) {
+        try {
+            for (Universe universe : Universe.values()) {
+                ShardingProperties.Shard shard = properties.getShards().get(universe);
+                if (shard == null || shard.getUrl() == null) {
+                    throw new IllegalStateException("No shard configured for universe " + universe);
+                }
+
+                HikariDataSource dataSource = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build();
+                dataSource.setPoolName("shard-" + universe.name().toLowerCase());
+                dataSources.put(universe, dataSource);
+
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .locations("classpath:db/shard")
+                        .load()
+                        .migrate();
+
+                shards.put(universe, new JdbcTemplate(dataSource));
+            }
+        } catch (RuntimeException e) {
+            // Si un shard no arranca, el bean no llega a existir y nadie cerraría los pools ya abiertos
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retorna el shard en el que se almacenan los héroes del universo indicado.
+     */
+    public JdbcTemplate shardFor(Universe universe) {
+        return shards.get(universe);
+    }
+
+    public Map<Universe, JdbcTemplate> allShards() {
+        return shards;
+    }
+
+    public Collection<Universe> universes() {
+        return shards.keySet();
+    }
+
+    @Override
+    public void close() {
+        dataSources.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,72 @@
+package com.opitech.superheroes.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merge de k listas ya ordenadas (una por shard) para obtener una página del resultado global.
+ */
+public final class KWayMerge {
+
+    private KWayMerge() {
+        // Utility class
+    }
+
+    /**
+     * Recorre las k listas en orden global con un heap de k cursores (O((offset + size) log k)),
+     * descarta los primeros {@code offset} elementos y retorna los {@code size} siguientes.
+     *
+     * @param sortedRuns listas ordenadas según {@code comparator}.
+     * @param comparator orden global; debe ser total (incluir un desempate único) para que la paginación sea estable.
+     * @param offset     elementos a saltar.
+     * @param size       tamaño de la página.
+     * @return elementos de la página en orden.
+     */
+    public static <T> List<T> page(List<List<T>> sortedRuns, Comparator<? super T> comparator, long offset, int size) {
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(
+                Math.max(1, sortedRuns.size()),
+                (a, b) -> comparator.compare(a.current(), b.current())
+        );
+        for (List<T> run : sortedRuns) {
+            if (!run.isEmpty()) {
+                heap.add(new Cursor<>(run));
+            }
+        }
+
+        List<T> page = new ArrayList<>(size);
+        long skipped = 0;
+        while (!heap.isEmpty() && page.size() < size) {
+            Cursor<T> cursor = heap.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(cursor.current());
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return page;
+    }
+
+    private static final class Cursor<T> {
+
+        private final List<T> run;
+        private int position;
+
+        Cursor(List<T> run) {
+            this.run = run;
+        }
+
+        T current() {
+            return run.get(position);
+        }
+
+        boolean advance() {
+            position++;
+            return position < run.size();
+        }
+    }
+}
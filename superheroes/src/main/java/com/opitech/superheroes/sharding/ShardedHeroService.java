@@ -0,0 +1,181 @@
+package com.opitech.superheroes.sharding;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.exception.HeroVersionConflictException;
+import com.opitech.superheroes.model.Universe;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Servicio de héroes sobre el almacenamiento particionado por universo.
+ * Mantiene el mismo contrato y los mismos errores que {@link com.opitech.superheroes.service.HeroService}.
+ * <p>
+ * Directorio y shards están en bases de datos distintas y no hay transacción distribuida: las escrituras se
+ * ordenan y, ante un fallo, se compensan para que el directorio quede como mucho con una reserva de nombre
+ * huérfana (nunca con un héroe sin reserva ni enrutado a un shard que no lo contiene).
+ */
+public class ShardedHeroService {
+
+    private final HeroDirectory directory;
+    private final ShardedHeroStore store;
+
+    public ShardedHeroService(HeroDirectory directory, ShardedHeroStore store) {
+        this.directory = directory;
+        this.store = store;
+    }
+
+    /**
+     * Retorna una página de héroes. Con universo se consulta un único shard; sin él, todos en paralelo.
+     */
+    public Page<HeroResponseDto> getAllHeroes(Universe universe, Pageable pageable) {
+        return store.findPage(universe, null, pageable);
+    }
+
+    /**
+     * Busca héroes cuyo nombre contiene el texto indicado en todos los shards.
+     */
+    public Page<HeroResponseDto> searchHeroesByName(String searchName, Pageable pageable) {
+        if (searchName == null || searchName.trim().length() < 2) {
+            throw new IllegalArgumentException("Parameter 'name' must have at least 2 non-blank characters");
+        }
+        return store.findPage(null, searchName.trim(), pageable);
+    }
+
+    public HeroResponseDto getHeroById(Long id) {
+        Universe universe = directory.universeOf(id)
+                .orElseThrow(() -> new HeroNotFoundException(id));
+        return store.findById(universe, id)
+                .orElseThrow(() -> new HeroNotFoundException(id));
+    }
+
+    public HeroResponseDto createHero(HeroRequestDto requestDto) {
+        String name = requestDto.getName().trim();
+
+        long id;
+        try {
+            id = directory.register(name, requestDto.getUniverse());
+        } catch (DataIntegrityViolationException e) {
+            throw new HeroAlreadyExistsException(name);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        HeroResponseDto hero = new HeroResponseDto();
+        hero.setId(id);
+        hero.setName(name);
+        hero.setAlias(requestDto.getAlias());
+        hero.setUniverse(requestDto.getUniverse());
+        hero.setPowerLevel(requestDto.getPowerLevel());
+        hero.setActive(requestDto.getActive() != null ? requestDto.getActive() : Boolean.TRUE);
+        hero.setCreatedAt(now);
+        hero.setUpdatedAt(now);
+        hero.setVersion(0L);
+
+        try {
+            store.insert(hero);
+        } catch (RuntimeException e) {
+            directory.remove(id);
+            throw e;
+        }
+        return hero;
+    }
+
+    /**
+     * Actualiza un héroe. Si cambia de universo se mueve de shard en este orden: alta en el shard nuevo,
+     * actualización del directorio y baja en el shard anterior; un fallo en cualquier paso deshace los
+     * anteriores, de modo que el héroe sigue enrutado a un shard que lo contiene.
+     * <p>
+     * La escritura en el shard exige la versión leída: si otra actualización modificó o movió el héroe entretanto
+     * se deshace el cambio del directorio y se responde con conflicto.
+     *
+     * @throws HeroVersionConflictException si el héroe cambió entre la lectura y la escritura.
+     */
+    public HeroResponseDto updateHero(Long id, HeroRequestDto requestDto) {
+        HeroResponseDto existing = getHeroById(id);
+        String newName = requestDto.getName().trim();
+        String oldName = existing.getName();
+        Universe oldUniverse = existing.getUniverse();
+        Universe newUniverse = requestDto.getUniverse();
+
+        existing.setName(newName);
+        existing.setAlias(requestDto.getAlias());
+        existing.setUniverse(newUniverse);
+        existing.setPowerLevel(requestDto.getPowerLevel());
+        if (requestDto.getActive() != null) {
+            existing.setActive(requestDto.getActive());
+        }
+
+        if (oldUniverse == newUniverse) {
+            // El directorio valida la unicidad global del nombre antes de tocar el shard
+            updateDirectory(id, newName, newUniverse);
+            int updated;
+            try {
+                updated = store.update(existing);
+            } catch (RuntimeException e) {
+                directory.update(id, oldName, oldUniverse);
+                throw e;
+            }
+            if (updated == 0) {
+                directory.update(id, oldName, oldUniverse);
+                throw new HeroVersionConflictException(id, existing.getVersion());
+            }
+        } else {
+            moveHero(existing, oldName, oldUniverse);
+        }
+        return getHeroById(id);
+    }
+
+    private void moveHero(HeroResponseDto hero, String oldName, Universe oldUniverse) {
+        Long id = hero.getId();
+        long oldVersion = hero.getVersion();
+        hero.setUpdatedAt(LocalDateTime.now());
+        hero.setVersion(hero.getVersion() + 1);
+
+        try {
+            store.insert(hero);
+        } catch (DataIntegrityViolationException e) {
+            throw new HeroAlreadyExistsException(hero.getName());
+        }
+
+        try {
+            updateDirectory(id, hero.getName(), hero.getUniverse());
+        } catch (RuntimeException e) {
+            store.delete(hero.getUniverse(), id);
+            throw e;
+        }
+
+        int deleted;
+        try {
+            deleted = store.delete(oldUniverse, id, oldVersion);
+        } catch (RuntimeException e) {
+            directory.update(id, oldName, oldUniverse);
+            store.delete(hero.getUniverse(), id);
+            throw e;
+        }
+        if (deleted == 0) {
+            directory.update(id, oldName, oldUniverse);
+            store.delete(hero.getUniverse(), id);
+            throw new HeroVersionConflictException(id, oldVersion);
+        }
+    }
+
+    private void updateDirectory(Long id, String name, Universe universe) {
+        try {
+            directory.update(id, name, universe);
+        } catch (DataIntegrityViolationException e) {
+            throw new HeroAlreadyExistsException(name);
+        }
+    }
+
+    public void deleteHero(Long id) {
+        Universe universe = directory.universeOf(id)
+                .orElseThrow(() -> new HeroNotFoundException(id));
+        store.delete(universe, id);
+        directory.remove(id);
+    }
+}
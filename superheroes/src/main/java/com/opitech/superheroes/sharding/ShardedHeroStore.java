@@ -0,0 +1,265 @@
+package com.opitech.superheroes.sharding;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.model.Universe;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Acceso JDBC a la tabla {@code heroes} de cada shard.
+ * <p>
+ * Las consultas sobre un único universo se envían solo a su shard. Las consultas cross-shard se lanzan en paralelo
+ * (scatter): cada shard devuelve sus primeras {@code offset + size} filas ya ordenadas y su total, y el resultado
+ * global se obtiene con un merge k-way que respeta el {@link Sort} pedido (gather).
+ */
+public class ShardedHeroStore implements AutoCloseable {
+
+    private static final String COLUMNS =
+            "id, name, alias, universe, power_level, active, created_at, updated_at, version";
+
+    /**
+     * Propiedades ordenables: columna SQL y extractor equivalente para el merge en memoria.
+     */
+    private static final Map<String, SortableColumn> SORTABLE = Map.of(
+            "id", new SortableColumn("id", HeroResponseDto::getId),
+            "name", new SortableColumn("name", HeroResponseDto::getName),
+            "alias", new SortableColumn("alias", HeroResponseDto::getAlias),
+            "universe", new SortableColumn("universe", hero -> hero.getUniverse().name()),
+            "powerLevel", new SortableColumn("power_level", HeroResponseDto::getPowerLevel),
+            "active", new SortableColumn("active", HeroResponseDto::getActive),
+            "createdAt", new SortableColumn("created_at", HeroResponseDto::getCreatedAt),
+            "updatedAt", new SortableColumn("updated_at", HeroResponseDto::getUpdatedAt)
+    );
+
+    private static final RowMapper<HeroResponseDto> ROW_MAPPER = (rs, rowNum) -> {
+        HeroResponseDto dto = new HeroResponseDto();
+        dto.setId(rs.getLong("id"));
+        dto.setName(rs.getString("name"));
+        dto.setAlias(rs.getString("alias"));
+        dto.setUniverse(Universe.valueOf(rs.getString("universe")));
+        dto.setPowerLevel(rs.getInt("power_level"));
+        dto.setActive(rs.getBoolean("active"));
+        dto.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        dto.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        dto.setVersion(rs.getLong("version"));
+        return dto;
+    };
+
+    private final HeroShardRouter router;
+    private final ShardingProperties properties;
+    private final ExecutorService executor;
+
+    public ShardedHeroStore(HeroShardRouter router, ShardingProperties properties) {
+        this.router = router;
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Universe.values().length * 2, runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Optional<HeroResponseDto> findById(Universe universe, Long id) {
+        List<HeroResponseDto> rows = router.shardFor(universe)
+                .query("SELECT " + COLUMNS + " FROM heroes WHERE id = ?", ROW_MAPPER, id);
+        return rows.stream().findFirst();
+    }
+
+    public void insert(HeroResponseDto hero) {
+        router.shardFor(hero.getUniverse()).update(
+                "INSERT INTO heroes (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                hero.getId(), hero.getName(), hero.getAlias(), hero.getUniverse().name(), hero.getPowerLevel(),
+                hero.getActive(), Timestamp.valueOf(hero.getCreatedAt()), Timestamp.valueOf(hero.getUpdatedAt()),
+                hero.getVersion()
+        );
+    }
+
+    /**
+     * Actualiza el héroe en el shard de su universo si sigue en la versión leída ({@code hero.getVersion()}).
+     *
+     * @return filas afectadas: 0 si otra escritura lo modificó o lo sacó del shard entretanto.
+     */
+    public int update(HeroResponseDto hero) {
+        return router.shardFor(hero.getUniverse()).update(
+                "UPDATE heroes SET name = ?, alias = ?, power_level = ?, active = ?, updated_at = ?, "
+                        + "version = version + 1 WHERE id = ? AND version = ?",
+                hero.getName(), hero.getAlias(), hero.getPowerLevel(), hero.getActive(),
+                Timestamp.valueOf(LocalDateTime.now()), hero.getId(), hero.getVersion()
+        );
+    }
+
+    public int delete(Universe universe, Long id) {
+        return router.shardFor(universe).update("DELETE FROM heroes WHERE id = ?", id);
+    }
+
+    /**
+     * Elimina el héroe del shard solo si sigue en la versión indicada.
+     *
+     * @return filas afectadas: 0 si otra escritura lo modificó o lo sacó del shard entretanto.
+     */
+    public int delete(Universe universe, Long id, long expectedVersion) {
+        return router.shardFor(universe).update("DELETE FROM heroes WHERE id = ? AND version = ?",
+                id, expectedVersion);
+    }
+
+    /**
+     * Retorna una página de héroes, opcionalmente filtrada por universo y por texto contenido en el nombre.
+     *
+     * @param universe     universo (se consulta solo su shard), o null para consultar todos.
+     * @param nameContains texto a buscar en el nombre (case-insensitive), o null para no filtrar.
+     * @param pageable     paginación y ordenamiento.
+     * @return página de héroes.
+     */
+    public Page<HeroResponseDto> findPage(Universe universe, String nameContains, Pageable pageable) {
+        Sort sort = pageable.getSort();
+        String where = nameContains != null ? " WHERE LOWER(name) LIKE ? ESCAPE '\\'" : "";
+        Object[] args = nameContains != null ? new Object[]{likePattern(nameContains)} : new Object[0];
+        String orderBy = orderBy(sort);
+
+        if (universe != null) {
+            JdbcTemplate shard = router.shardFor(universe);
+            List<HeroResponseDto> content = shard.query(
+                    "SELECT " + COLUMNS + " FROM heroes" + where + orderBy + " LIMIT " + pageable.getPageSize()
+                            + " OFFSET " + pageable.getOffset(),
+                    ROW_MAPPER, args);
+            Long total = shard.queryForObject("SELECT COUNT(*) FROM heroes" + where, Long.class, args);
+            return new PageImpl<>(content, pageable, total != null ? total : 0);
+        }
+
+        long window = pageable.getOffset() + pageable.getPageSize();
+        if (window > properties.getMaxScatterWindow()) {
+            throw new IllegalArgumentException("Cross-shard pages are limited to the first "
+                    + properties.getMaxScatterWindow() + " results; filter by universe to page further");
+        }
+
+        String pageSql = "SELECT " + COLUMNS + " FROM heroes" + where + orderBy + " LIMIT " + window;
+        String countSql = "SELECT COUNT(*) FROM heroes" + where;
+
+        List<CompletableFuture<List<HeroResponseDto>>> runs = new ArrayList<>();
+        List<CompletableFuture<Long>> counts = new ArrayList<>();
+        for (JdbcTemplate shard : router.allShards().values()) {
+            runs.add(CompletableFuture.supplyAsync(() -> shard.query(pageSql, ROW_MAPPER, args), executor));
+            counts.add(CompletableFuture.supplyAsync(() -> shard.queryForObject(countSql, Long.class, args), executor));
+        }
+        awaitAll(runs, counts);
+
+        List<List<HeroResponseDto>> sortedRuns = runs.stream().map(CompletableFuture::join).toList();
+        long total = counts.stream().map(CompletableFuture::join).mapToLong(count -> count != null ? count : 0).sum();
+        List<HeroResponseDto> content = KWayMerge.page(
+                sortedRuns, comparator(sort), pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private void awaitAll(List<? extends CompletableFuture<?>> runs, List<? extends CompletableFuture<?>> counts) {
+        List<CompletableFuture<?>> all = new ArrayList<>(runs);
+        all.addAll(counts);
+        try {
+            CompletableFuture.allOf(all.toArray(new CompletableFuture[0]))
+                    .get(properties.getQueryTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            all.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Cross-shard query timed out after " + properties.getQueryTimeout());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Cross-shard query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cross-shard query interrupted", e);
+        }
+    }
+
+    /**
+     * Construye el ORDER BY; siempre termina en {@code id} para que el orden sea total y coincida con el merge.
+     */
+    static String orderBy(Sort sort) {
+        StringBuilder sql = new StringBuilder(" ORDER BY ");
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            SortableColumn column = sortableColumn(order.getProperty());
+            hasId |= "id".equals(column.column());
+            sql.append(column.column())
+                    .append(order.isAscending() ? " ASC NULLS FIRST" : " DESC NULLS LAST")
+                    .append(", ");
+        }
+        if (hasId) {
+            sql.setLength(sql.length() - 2);
+        } else {
+            sql.append("id ASC");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Comparador equivalente a {@link #orderBy(Sort)} (null se considera el menor valor).
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Comparator<HeroResponseDto> comparator(Sort sort) {
+        Comparator<HeroResponseDto> comparator = null;
+        for (Sort.Order order : sort) {
+            Function<HeroResponseDto, Comparable> extractor = sortableColumn(order.getProperty()).extractor();
+            Comparator<HeroResponseDto> next = (a, b) -> compareNullsFirst(extractor.apply(a), extractor.apply(b));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<HeroResponseDto> byId = Comparator.comparing(HeroResponseDto::getId);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareNullsFirst(Comparable a, Comparable b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static SortableColumn sortableColumn(String property) {
+        SortableColumn column = SORTABLE.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Cannot sort by '" + property + "'");
+        }
+        return column;
+    }
+
+    private static String likePattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private record SortableColumn(String column, Function<HeroResponseDto, Comparable> extractor) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.opitech.superheroes.sharding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Beans del almacenamiento particionado por universo. Solo se crean con {@code superheroes.sharding.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "superheroes.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public HeroShardRouter heroShardRouter(ShardingProperties properties) {
+        return new HeroShardRouter(properties);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardedHeroStore shardedHeroStore(HeroShardRouter router, ShardingProperties properties) {
+        return new ShardedHeroStore(router, properties);
+    }
+
+    @Bean
+    public HeroDirectory heroDirectory(JdbcTemplate jdbcTemplate) {
+        return new HeroDirectory(jdbcTemplate);
+    }
+
+    @Bean
+    public ShardedHeroService shardedHeroService(HeroDirectory directory, ShardedHeroStore store) {
+        return new ShardedHeroService(directory, store);
+    }
+}
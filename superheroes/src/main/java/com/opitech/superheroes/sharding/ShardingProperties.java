@@ -0,0 +1,98 @@
+package com.opitech.superheroes.sharding;
+
+import com.opitech.superheroes.model.Universe;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración del almacenamiento particionado por universo ({@code superheroes.sharding.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.sharding")
+public class ShardingProperties {
+
+    /**
+     * Activa los shards y la API {@code /api/v1/sharded/heroes}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Tiempo máximo de espera de una consulta scatter-gather sobre todos los shards.
+     */
+    private Duration queryTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Máximo de filas (offset + tamaño de página) que se piden a cada shard en una consulta cross-shard.
+     */
+    private int maxScatterWindow = 10000;
+
+    /**
+     * Conexión de cada shard. Debe existir una entrada por cada {@link Universe}.
+     */
+    private Map<Universe, Shard> shards = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    public void setQueryTimeout(Duration queryTimeout) {
+        this.queryTimeout = queryTimeout;
+    }
+
+    public int getMaxScatterWindow() {
+        return maxScatterWindow;
+    }
+
+    public void setMaxScatterWindow(int maxScatterWindow) {
+        this.maxScatterWindow = maxScatterWindow;
+    }
+
+    public Map<Universe, Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(Map<Universe, Shard> shards) {
+        this.shards = shards;
+    }
+
+    public static class Shard {
+
+        private String url;
+        private String username = "sa";
+        private String password = "";
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.opitech.superheroes.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta las {@link WarmUpTask} en paralelo en cuanto están creados todos los singletons, de modo que la carga de
+ * cachés e índices se solapa con el resto del arranque (otros inicializadores, servidor web, pollers).
+ * <p>
+ * Como {@link ApplicationRunner} espera a que terminen: el {@code ApplicationReadyEvent}, el estado de readiness
+ * y la métrica {@code application.ready.time} solo se alcanzan con las cachés cargadas. Si una tarea falla, el
+ * arranque falla. Duración de cada tarea: {@code superheroes.startup.warmup} (tag {@code task}).
+ */
+@Component
+public class StartupWarmUp implements SmartInitializingSingleton, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    private final List<WarmUpTask> tasks;
+    private final MeterRegistry registry;
+
+    private CompletableFuture<Void> completion = CompletableFuture.completedFuture(null);
+    private long startedAt;
+
+    public StartupWarmUp(List<WarmUpTask> tasks, MeterRegistry registry) {
+        this.tasks = tasks;
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        startedAt = System.nanoTime();
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("warm-up-", 0).factory());
+        CompletableFuture<?>[] futures = tasks.stream()
+                .map(task -> CompletableFuture.runAsync(() -> run(task), executor))
+                .toArray(CompletableFuture[]::new);
+        completion = CompletableFuture.allOf(futures).whenComplete((result, error) -> executor.shutdown());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        completion.join();
+        log.info("Warm-up of {} caches and indexes finished in {} ms", tasks.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void run(WarmUpTask task) {
+        String name = ClassUtils.getUserClass(task).getSimpleName();
+        Timer.builder("superheroes.startup.warmup").tag("task", name).register(registry).record(task::warmUp);
+    }
+}
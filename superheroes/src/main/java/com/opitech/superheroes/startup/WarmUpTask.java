@@ -0,0 +1,10 @@
+package com.opitech.superheroes.startup;
+
+/**
+ * Carga inicial de una caché o índice en memoria. {@link StartupWarmUp} ejecuta todas las tareas en paralelo,
+ * mientras termina el arranque del contexto, y no da la aplicación por lista hasta que acaban.
+ */
+public interface WarmUpTask {
+
+    void warmUp();
+}
@@ -0,0 +1,320 @@
+package com.opitech.superheroes.writebehind;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.exception.WriteBufferFullException;
+import com.opitech.superheroes.repository.HeroPatchCommand;
+import com.opitech.superheroes.repository.HeroRepository;
+import com.opitech.superheroes.service.HeroService;
+import com.opitech.superheroes.service.PendingHeroNames;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Modo write-behind para actualizaciones de héroes muy frecuentes (p. ej. un feed que cambia
+ * {@code powerLevel} y {@code active} varias veces por segundo).
+ * <p>
+ * Con {@code superheroes.write-behind.enabled=true}, {@link #updateHero} responde en cuanto la actualización entra
+ * en un {@link HeroWriteBuffer} con una entrada por héroe. Solo la primera actualización de cada héroe en una
+ * ventana lee la base de datos (existencia y nombre duplicado); las siguientes parten del estado del buffer, que
+ * además rechaza con 409 un nombre que otro héroe tiene en una actualización aún sin volcar. Un hilo
+ * vuelca el último estado de cada héroe con {@link HeroRepository#patchAll} (un UPDATE en lotes JDBC por volcado)
+ * cuando hay {@code batch-size} héroes pendientes o pasa {@code flush-interval}, y publica un único
+ * {@link HeroChangedEvent} por lote dentro de su transacción.
+ * <p>
+ * Cada volcado exige la versión que tenía el héroe cuando se aceptó su primera actualización pendiente: si otra
+ * escritura (PATCH, operación masiva) se confirmó entretanto, la actualización pendiente se descarta y se cuenta en
+ * {@code superheroes.writebehind.conflicts} en lugar de sobrescribir un cambio posterior. Los nombres pendientes
+ * se exponen como {@link PendingHeroNames} para que {@link HeroService} tampoco los asigne a otro héroe.
+ * <p>
+ * Las lecturas por id y los listados aplican encima el estado pendiente ({@link #overlay}), así que un cliente ve
+ * sus propias escrituras antes del volcado. Con el buffer lleno, las actualizaciones de héroes nuevos esperan
+ * {@code offer-timeout} y después se rechazan con 503. Al parar la aplicación (después del servidor web) se vuelca
+ * todo lo pendiente antes de cerrar el DataSource. Desactivado, delega en {@link HeroService#updateHero}.
+ */
+public class HeroWriteBehindService implements SmartLifecycle, PendingHeroNames {
+
+    private static final Logger log = LoggerFactory.getLogger(HeroWriteBehindService.class);
+
+    private final HeroService heroService;
+    private final HeroRepository heroRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindProperties properties;
+    private final HeroWriteBuffer buffer;
+
+    private final Counter accepted;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter flushed;
+    private final Counter dropped;
+    private final Counter conflicts;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public HeroWriteBehindService(HeroService heroService,
+                                  HeroRepository heroRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  WriteBehindProperties properties,
+                                  MeterRegistry registry) {
+        this.heroService = heroService;
+        this.heroRepository = heroRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.buffer = new HeroWriteBuffer(properties.getCapacity(), properties.getBatchSize());
+
+        this.accepted = updates(registry, "accepted");
+        this.coalesced = updates(registry, "coalesced");
+        this.rejected = updates(registry, "rejected");
+        this.flushed = Counter.builder("superheroes.writebehind.flushed").register(registry);
+        this.dropped = Counter.builder("superheroes.writebehind.dropped").register(registry);
+        this.conflicts = Counter.builder("superheroes.writebehind.conflicts").register(registry);
+        this.flushTimer = Timer.builder("superheroes.writebehind.flush").register(registry);
+        Gauge.builder("superheroes.writebehind.pending", buffer, HeroWriteBuffer::size).register(registry);
+    }
+
+    /**
+     * Actualiza un héroe: en modo write-behind lo deja pendiente de volcar y retorna el estado aceptado.
+     *
+     * @param id         ID del héroe a actualizar.
+     * @param requestDto nuevos datos del héroe.
+     * @return estado del héroe tras la actualización; en modo write-behind {@code version} es la última confirmada.
+     * @throws HeroNotFoundException      si no existe el héroe.
+     * @throws HeroAlreadyExistsException si el nuevo nombre ya pertenece a otro héroe.
+     * @throws WriteBufferFullException   si el buffer sigue lleno tras {@code offer-timeout}.
+     */
+    public HeroResponseDto updateHero(Long id, HeroRequestDto requestDto) {
+        if (!properties.isEnabled() || !running) {
+            return heroService.updateHero(id, requestDto);
+        }
+
+        String name = requestDto.getName() != null ? requestDto.getName().trim() : null;
+        PendingHero base = buffer.get(id);
+        if (base == null) {
+            base = heroRepository.findById(id)
+                    .map(PendingHero::from)
+                    .orElseThrow(() -> new HeroNotFoundException(id));
+        }
+
+        if (name != null && !name.equalsIgnoreCase(base.name())) {
+            heroRepository.findByNameIgnoreCase(name)
+                    .filter(other -> !other.getId().equals(id))
+                    .ifPresent(other -> {
+                        throw new HeroAlreadyExistsException(name);
+                    });
+        }
+
+        PendingHero updated = new PendingHero(id, name, requestDto.getAlias(), requestDto.getUniverse(),
+                requestDto.getPowerLevel(), requestDto.getActive() != null ? requestDto.getActive() : base.active(),
+                base.createdAt(), LocalDateTime.now(), base.version());
+        try {
+            if (buffer.put(updated, properties.getOfferTimeout())) {
+                coalesced.increment();
+            } else {
+                accepted.increment();
+            }
+        } catch (WriteBufferFullException e) {
+            rejected.increment();
+            throw e;
+        }
+        return updated.toDto();
+    }
+
+    /**
+     * Aplica sobre un héroe leído de la base de datos su actualización pendiente, si la tiene.
+     */
+    public HeroResponseDto overlay(HeroResponseDto hero) {
+        if (!properties.isEnabled() || hero == null) {
+            return hero;
+        }
+        PendingHero pending = buffer.get(hero.getId());
+        return pending != null ? pending.toDto() : hero;
+    }
+
+    /**
+     * Aplica sobre una página de héroes las actualizaciones pendientes. Solo cambia los valores: el orden y el total
+     * son los de la base de datos hasta el volcado.
+     */
+    public Page<HeroResponseDto> overlay(Page<HeroResponseDto> page) {
+        if (!properties.isEnabled() || buffer.isEmpty()) {
+            return page;
+        }
+        // La página puede ser compartida (caché, lecturas agrupadas): se crea una nueva en vez de modificarla
+        return page.map(this::overlay);
+    }
+
+    @Override
+    public Optional<Long> ownerOf(String name) {
+        if (!properties.isEnabled() || name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(buffer.ownerOf(name));
+    }
+
+    /**
+     * Vuelca todas las actualizaciones pendientes en lotes de {@code batch-size}.
+     *
+     * @return número de héroes actualizados en la base de datos.
+     */
+    public int flush() {
+        int total = 0;
+        List<PendingHero> batch;
+        while (!(batch = buffer.drain()).isEmpty()) {
+            List<PendingHero> current = batch;
+            total += flushTimer.record(() -> write(current));
+        }
+        return total;
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("hero-write-behind").daemon(true).start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        // Las actualizaciones que lleguen a partir de aquí se escriben de forma síncrona
+        running = false;
+        buffer.wakeUp();
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            log.info("Write-behind stopped; flushed {} pending hero updates", flush());
+        } catch (RuntimeException e) {
+            log.error("Could not flush {} pending hero updates on shutdown", buffer.size(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Fase baja: {@link SmartLifecycle} para primero las fases altas, así que el buffer se vacía después de que el
+     * servidor web deje de aceptar peticiones y antes de destruir el DataSource.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                buffer.awaitBatch(properties.getFlushInterval());
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    // Un fallo puntual (p. ej. base de datos no disponible) no debe parar el volcado; se reintenta
+                    log.warn("Could not flush write-behind buffer: {}", e.getMessage());
+                    Thread.sleep(properties.getFlushInterval().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int write(List<PendingHero> batch) {
+        Set<Long> written = new HashSet<>();
+        try {
+            try {
+                written.addAll(inTransaction(batch));
+            } catch (DataIntegrityViolationException e) {
+                // Un nombre duplicado hace fallar el lote entero: se reintenta héroe a héroe para descartar solo ese
+                for (PendingHero hero : batch) {
+                    try {
+                        written.addAll(inTransaction(List.of(hero)));
+                    } catch (DataIntegrityViolationException conflict) {
+                        dropped.increment();
+                        log.warn("Discarding write-behind update of hero {}: {}", hero.id(), conflict.getMessage());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Sin confirmar: vuelve a pendientes (salvo que ya haya un estado más reciente) para el siguiente volcado
+            buffer.requeue(batch);
+            throw e;
+        }
+        buffer.complete(batch, written);
+        flushed.increment(written.size());
+        return written.size();
+    }
+
+    /**
+     * @return ids de los héroes escritos.
+     */
+    private List<Long> inTransaction(List<PendingHero> batch) {
+        List<Long> written = transactionTemplate.execute(status -> {
+            List<HeroPatchCommand> commands = batch.stream()
+                    .map(hero -> new HeroPatchCommand(hero.id(), hero.version(), hero.changes()))
+                    .toList();
+            int[] counts = heroRepository.patchAll(commands);
+
+            List<Long> updatedIds = new ArrayList<>(commands.size());
+            for (int i = 0; i < counts.length; i++) {
+                Long id = commands.get(i).id();
+                if (counts[i] > 0) {
+                    updatedIds.add(id);
+                } else if (heroRepository.existsById(id)) {
+                    // Otra escritura se confirmó después de aceptar esta: no se sobrescribe
+                    conflicts.increment();
+                    log.warn("Discarding write-behind update of hero {}: no longer at version {}",
+                            id, commands.get(i).expectedVersion());
+                } else {
+                    // Borrado después de aceptar la actualización
+                    dropped.increment();
+                }
+            }
+            if (!updatedIds.isEmpty()) {
+                eventPublisher.publishEvent(HeroChangedEvent.of(HeroChangedEvent.Operation.UPDATE, updatedIds));
+            }
+            return updatedIds;
+        });
+        return written != null ? written : List.of();
+    }
+
+    private static Counter updates(MeterRegistry registry, String outcome) {
+        return Counter.builder("superheroes.writebehind.updates").tag("outcome", outcome).register(registry);
+    }
+}
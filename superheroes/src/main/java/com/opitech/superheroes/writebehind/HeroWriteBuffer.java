@@ -0,0 +1,249 @@
+package com.opitech.superheroes.writebehind;
+
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.exception.WriteBufferFullException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer acotado de actualizaciones pendientes con una entrada por héroe: una actualización de un héroe que ya
+ * estaba pendiente sustituye a la anterior sin ocupar más sitio.
+ * <p>
+ * Al volcar, las entradas pasan de {@code pending} a {@code flushing} y siguen visibles para las lecturas hasta que
+ * se confirma su transacción, así que un héroe aceptado nunca "desaparece" entre el buffer y la base de datos.
+ * <p>
+ * Los nombres de las entradas sin confirmar quedan reservados para su héroe: la base de datos aún no los conoce y
+ * solo el buffer puede impedir que dos héroes queden pendientes con el mismo nombre.
+ */
+class HeroWriteBuffer {
+
+    private final int capacity;
+    private final int batchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition batchReady = lock.newCondition();
+
+    // Orden de llegada de la primera actualización pendiente: se vuelcan primero las más antiguas
+    private final LinkedHashMap<Long, PendingHero> pending = new LinkedHashMap<>();
+    private final Map<Long, PendingHero> flushing = new HashMap<>();
+    // Nombre normalizado -> héroe que lo usa en pending o flushing
+    private final Map<String, Long> names = new HashMap<>();
+
+    HeroWriteBuffer(int capacity, int batchSize) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Retorna el último estado aceptado del héroe, o null si no tiene actualizaciones sin confirmar.
+     */
+    PendingHero get(Long id) {
+        lock.lock();
+        try {
+            PendingHero hero = pending.get(id);
+            return hero != null ? hero : flushing.get(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Añade o sustituye el estado pendiente de un héroe. Si el héroe no estaba pendiente y el buffer está lleno,
+     * espera a que un volcado libere sitio como mucho {@code timeout}.
+     *
+     * @return true si sustituyó a una actualización pendiente del mismo héroe.
+     * @throws HeroAlreadyExistsException si otro héroe tiene el mismo nombre en una actualización sin confirmar.
+     * @throws WriteBufferFullException   si el buffer sigue lleno tras la espera.
+     */
+    boolean put(PendingHero hero, Duration timeout) {
+        lock.lock();
+        try {
+            checkNameAvailable(hero);
+            if (pending.containsKey(hero.id())) {
+                reserveName(hero, pending.put(hero.id(), hero));
+                return true;
+            }
+
+            long remaining = timeout.toNanos();
+            while (size() >= capacity) {
+                if (remaining <= 0) {
+                    throw new WriteBufferFullException(capacity, timeout);
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            // Durante la espera otro héroe ha podido reservar el nombre
+            checkNameAvailable(hero);
+            reserveName(hero, pending.put(hero.id(), hero));
+            if (pending.size() >= batchSize) {
+                batchReady.signal();
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for write-behind buffer space", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Espera hasta que haya un lote completo pendiente o pase {@code interval}.
+     */
+    void awaitBatch(Duration interval) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = interval.toNanos();
+            while (pending.size() < batchSize && remaining > 0) {
+                remaining = batchReady.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Despierta al hilo que espera en {@link #awaitBatch} (p. ej. al parar).
+     */
+    void wakeUp() {
+        lock.lock();
+        try {
+            batchReady.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pasa a volcado hasta {@code batchSize} de las actualizaciones pendientes más antiguas.
+     */
+    List<PendingHero> drain() {
+        lock.lock();
+        try {
+            List<PendingHero> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<PendingHero> oldest = pending.values().iterator();
+            while (oldest.hasNext() && batch.size() < batchSize) {
+                PendingHero hero = oldest.next();
+                oldest.remove();
+                releaseName(flushing.put(hero.id(), hero));
+                batch.add(hero);
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna el héroe que usa el nombre en una entrada sin confirmar, o null si ninguno.
+     */
+    Long ownerOf(String name) {
+        lock.lock();
+        try {
+            return names.get(nameKey(name));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retira un lote ya confirmado (o descartado) y libera su sitio en el buffer.
+     * <p>
+     * Las entradas que llegaron durante el volcado partían del estado del lote, así que pasan a la versión que el
+     * volcado dejó en la base de datos; si no, su propio volcado se tomaría por un conflicto.
+     *
+     * @param written ids del lote que se escribieron (los descartados no cambian la versión).
+     */
+    void complete(List<PendingHero> batch, Collection<Long> written) {
+        lock.lock();
+        try {
+            for (PendingHero hero : batch) {
+                if (flushing.remove(hero.id(), hero)) {
+                    releaseName(hero);
+                }
+                PendingHero next = pending.get(hero.id());
+                if (next != null && hero.version() != null && hero.version().equals(next.version())
+                        && written.contains(hero.id())) {
+                    pending.put(hero.id(), next.withVersion(hero.version() + 1));
+                }
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve a pendientes un lote que no se pudo confirmar, salvo los héroes que ya tienen un estado más reciente.
+     */
+    void requeue(List<PendingHero> batch) {
+        lock.lock();
+        try {
+            for (PendingHero hero : batch) {
+                if (flushing.remove(hero.id(), hero) && pending.putIfAbsent(hero.id(), hero) != null) {
+                    releaseName(hero);
+                }
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkNameAvailable(PendingHero hero) {
+        Long owner = names.get(nameKey(hero.name()));
+        if (owner != null && !owner.equals(hero.id())) {
+            throw new HeroAlreadyExistsException(hero.name());
+        }
+    }
+
+    private void reserveName(PendingHero hero, PendingHero replaced) {
+        names.put(nameKey(hero.name()), hero.id());
+        releaseName(replaced);
+    }
+
+    /**
+     * Libera el nombre de una entrada retirada si ninguna otra entrada de su héroe lo sigue usando.
+     */
+    private void releaseName(PendingHero removed) {
+        if (removed == null) {
+            return;
+        }
+        String key = nameKey(removed.name());
+        if (!key.equals(nameKey(pending, removed.id())) && !key.equals(nameKey(flushing, removed.id()))) {
+            names.remove(key, removed.id());
+        }
+    }
+
+    private static String nameKey(Map<Long, PendingHero> entries, Long id) {
+        PendingHero hero = entries.get(id);
+        return hero != null ? nameKey(hero.name()) : null;
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return pending.size() + flushing.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.opitech.superheroes.writebehind;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.model.Hero;
+import com.opitech.superheroes.model.Universe;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Último estado aceptado de un héroe pendiente de volcar.
+ *
+ * @param version versión confirmada en la base de datos cuando se leyó el héroe: el volcado solo escribe si la fila
+ *                sigue en ella, y la incrementa.
+ */
+record PendingHero(Long id, String name, String alias, Universe universe, Integer powerLevel, Boolean active,
+                   LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+
+    static PendingHero from(Hero hero) {
+        return new PendingHero(hero.getId(), hero.getName(), hero.getAlias(), hero.getUniverse(), hero.getPowerLevel(),
+                hero.getActive(), hero.getCreatedAt(), hero.getUpdatedAt(), hero.getVersion());
+    }
+
+    /**
+     * Mismo estado sobre otra versión confirmada (la que deja el volcado de una entrada anterior del héroe).
+     */
+    PendingHero withVersion(Long newVersion) {
+        return new PendingHero(id, name, alias, universe, powerLevel, active, createdAt, updatedAt, newVersion);
+    }
+
+    /**
+     * Columnas a escribir, siempre las mismas y en el mismo orden para que todo el lote comparta sentencia.
+     */
+    Map<String, Object> changes() {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("name", name);
+        changes.put("alias", alias);
+        changes.put("universe", universe);
+        changes.put("powerLevel", powerLevel);
+        changes.put("active", active);
+        return changes;
+    }
+
+    HeroResponseDto toDto() {
+        HeroResponseDto dto = new HeroResponseDto();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setAlias(alias);
+        dto.setUniverse(universe);
+        dto.setPowerLevel(powerLevel);
+        dto.setActive(active);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        dto.setVersion(version);
+        return dto;
+    }
+}
@@ -0,0 +1,30 @@
+package com.opitech.superheroes.writebehind;
+
+import com.opitech.superheroes.repository.HeroRepository;
+import com.opitech.superheroes.service.HeroService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Modo write-behind (opcional) para {@code PUT /api/v1/heroes/{id}}. El bean existe siempre; desactivado delega
+ * en {@link HeroService} y no arranca el hilo de volcado.
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+
+    @Bean
+    public HeroWriteBehindService heroWriteBehindService(HeroService heroService,
+                                                         HeroRepository heroRepository,
+                                                         PlatformTransactionManager transactionManager,
+                                                         ApplicationEventPublisher eventPublisher,
+                                                         WriteBehindProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new HeroWriteBehindService(heroService, heroRepository, transactionManager, eventPublisher,
+                properties, meterRegistry);
+    }
+}
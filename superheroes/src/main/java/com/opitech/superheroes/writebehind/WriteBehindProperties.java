@@ -0,0 +1,77 @@
+package com.opitech.superheroes.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del modo write-behind para {@code PUT /api/v1/heroes/{id}} ({@code superheroes.write-behind.*}).
+ */
+@ConfigurationProperties(prefix = "superheroes.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Si se activa, las actualizaciones se confirman al entrar en el buffer y se escriben en segundo plano.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Número de héroes pendientes que dispara un volcado inmediato; también es el tamaño máximo de cada lote.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Tiempo máximo que una actualización permanece en el buffer antes de volcarse.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * Héroes distintos que puede haber pendientes (incluidos los que se están volcando).
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Tiempo que espera una actualización de un héroe nuevo con el buffer lleno antes de rechazarse con 503.
+     */
+    private Duration offerTimeout = Duration.ofMillis(500);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    public void setOfferTimeout(Duration offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+}
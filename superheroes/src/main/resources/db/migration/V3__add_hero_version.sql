@@ -0,0 +1,2 @@
+-- Columna de versión para bloqueo optimista (UPDATE ... WHERE id = ? AND version = ?)
+ALTER TABLE heroes ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
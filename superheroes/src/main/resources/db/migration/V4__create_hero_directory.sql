@@ -0,0 +1,8 @@
+-- Directorio global de héroes para el almacenamiento particionado por universo:
+-- asigna ids únicos entre shards, garantiza la unicidad global del nombre y enruta id -> shard.
+CREATE TABLE hero_directory (
+                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        name_key VARCHAR(100) NOT NULL,        -- nombre normalizado (trim + minúsculas)
+                        universe VARCHAR(50) NOT NULL,         -- shard en el que vive el héroe
+                        CONSTRAINT uk_hero_directory_name UNIQUE (name_key)
+);
@@ -0,0 +1,12 @@
+-- Change-log de escrituras sobre heroes. Cada nodo lo lee por high-water-mark (seq) para invalidar
+-- sus cachés e índices locales cuando otro nodo modifica un héroe.
+CREATE TABLE hero_changes (
+                        seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        hero_id BIGINT,                        -- null: operación por filtro, invalidar todo
+                        operation VARCHAR(20) NOT NULL,        -- enum HeroChangedEvent.Operation como texto
+                        version BIGINT,
+                        origin_node VARCHAR(64) NOT NULL,      -- nodo que hizo la escritura
+                        changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_hero_changes_changed_at ON hero_changes (changed_at);
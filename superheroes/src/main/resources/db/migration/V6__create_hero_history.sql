@@ -0,0 +1,28 @@
+-- Historial append-only de héroes. Cada mutación añade una fila con solo los campos cambiados (delta) y, cada
+-- superheroes.history.snapshot-interval filas, una fila completa (snapshot) para acotar la reconstrucción:
+-- el estado en un instante T es el último snapshot <= T más los deltas posteriores hasta T.
+CREATE TABLE hero_history (
+                        seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        hero_id BIGINT NOT NULL,
+                        operation VARCHAR(20) NOT NULL,        -- enum HeroChangedEvent.Operation como texto
+                        snapshot BOOLEAN NOT NULL,             -- true: la fila contiene el estado completo
+                        changed_fields INT NOT NULL,           -- máscara: 1 name, 2 alias, 4 universe, 8 power_level, 16 active
+                        name VARCHAR(100),
+                        alias VARCHAR(100),
+                        universe VARCHAR(50),
+                        power_level INT,
+                        active BOOLEAN,
+                        created_at TIMESTAMP,                  -- solo en snapshots
+                        version BIGINT,
+                        changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_hero_history_hero ON hero_history (hero_id, seq);
+CREATE INDEX idx_hero_history_snapshot ON hero_history (snapshot, hero_id, changed_at);
+
+-- Línea base: el historial empieza con el estado actual de cada héroe
+INSERT INTO hero_history (hero_id, operation, snapshot, changed_fields, name, alias, universe, power_level, active,
+                          created_at, version, changed_at)
+SELECT id, 'CREATE', TRUE, 31, name, alias, universe, power_level, active, created_at, version, updated_at
+FROM heroes
+ORDER BY id;
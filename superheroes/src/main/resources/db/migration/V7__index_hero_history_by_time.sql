@@ -0,0 +1,17 @@
+-- Listados en un instante T: por cada héroe, su última entrada <= T se localiza con una búsqueda en el índice
+-- (hero_id, changed_at, seq) en lugar de agrupar todo hero_history.
+CREATE INDEX idx_hero_history_hero_time ON hero_history (hero_id, changed_at, seq);
+
+-- Un registro por héroe con historial (también los ya borrados) y el instante de su primera entrada: es el
+-- conjunto que recorren esos listados, sin leer hero_history para descubrir qué héroes existen.
+CREATE TABLE hero_history_heroes (
+                        hero_id BIGINT PRIMARY KEY,
+                        first_changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_hero_history_heroes_first ON hero_history_heroes (first_changed_at, hero_id);
+
+INSERT INTO hero_history_heroes (hero_id, first_changed_at)
+SELECT hero_id, MIN(changed_at)
+FROM hero_history
+GROUP BY hero_id;
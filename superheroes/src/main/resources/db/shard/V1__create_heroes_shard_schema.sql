@@ -0,0 +1,15 @@
+-- Esquema de cada shard: misma tabla heroes, con el id asignado por el directorio global.
+CREATE TABLE heroes (
+                        id BIGINT PRIMARY KEY,
+                        name VARCHAR(100) NOT NULL,
+                        alias VARCHAR(100),
+                        universe VARCHAR(50) NOT NULL,
+                        power_level INT NOT NULL,
+                        active BOOLEAN NOT NULL,
+                        created_at TIMESTAMP NOT NULL,
+                        updated_at TIMESTAMP NOT NULL,
+                        version BIGINT DEFAULT 0 NOT NULL,
+                        CONSTRAINT uk_hero_name UNIQUE (name)
+);
+
+CREATE INDEX idx_heroes_power_level ON heroes (power_level);
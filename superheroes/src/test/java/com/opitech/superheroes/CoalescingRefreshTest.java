@@ -0,0 +1,64 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.event.CoalescingRefresh;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class CoalescingRefreshTest {
+
+    @Test
+    void request_shouldRunOnce_forBurstBeforeRefreshStarts() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        try (CoalescingRefresh refresh = new CoalescingRefresh("test-refresh", () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            awaitQuietly(release);
+        })) {
+            // La primera ejecución queda bloqueada; la ráfaga siguiente se colapsa en una sola ejecución más
+            refresh.request();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 100; i++) {
+                refresh.request();
+            }
+            release.countDown();
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(runs).hasValue(2));
+            Thread.sleep(50);
+            assertThat(runs).hasValue(2);
+        }
+    }
+
+    @Test
+    void request_shouldRunAgain_afterPreviousRefreshFailed() {
+        AtomicInteger runs = new AtomicInteger();
+
+        try (CoalescingRefresh refresh = new CoalescingRefresh("test-refresh", () -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+        })) {
+            refresh.request();
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(runs).hasValue(1));
+            refresh.request();
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(runs).hasValue(2));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.fastboot.FastBootConfig;
+import com.opitech.superheroes.fastboot.FastBootProperties;
+import com.opitech.superheroes.service.HeroService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Arranque desde el snapshot generado en {@code process-classes}: la aplicación abre una copia del fichero y sirve
+ * los héroes iniciales sin ejecutar las migraciones.
+ */
+@SpringBootTest(properties = "superheroes.fast-boot.enabled=true")
+class FastBootTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FastBootTest.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HeroService heroService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void context_shouldServeSeedHeroes_fromPrivateSnapshotCopy() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.getMetaData().getURL()).startsWith("jdbc:h2:file:").contains("superheroes-snapshot");
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM heroes", Integer.class)).isEqualTo(66);
+        assertThat(heroService.getHeroById(1L).getName()).isEqualTo("Superman");
+        assertThat(heroService.getHeroById(2L).getName()).isEqualTo("Batman");
+
+        // Tiempo hasta estar lista (incluye el warm-up): misma métrica que se compara con y sin snapshot
+        TimeGauge readyTime = registry.find("application.ready.time").timeGauge();
+        assertThat(readyTime).isNotNull();
+        log.info("Fast boot ready in {} ms", (long) readyTime.value(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void snapshotDatabase_shouldFailFast_whenDatasourceUrlIsNotInMemory() {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:h2:tcp://localhost:9092/./shared");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> new FastBootConfig().snapshotDatabase(new FastBootProperties(), dataSourceProperties));
+        assertThat(ex.getMessage()).contains("jdbc:h2:tcp://localhost:9092/./shared");
+    }
+}
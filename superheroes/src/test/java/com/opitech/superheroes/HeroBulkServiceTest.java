@@ -0,0 +1,128 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroBulkOperationResponseDto;
+import com.opitech.superheroes.dto.HeroBulkSelectionDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.repository.HeroFilter;
+import com.opitech.superheroes.repository.HeroRepository;
+import com.opitech.superheroes.service.HeroBulkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class HeroBulkServiceTest {
+
+    private HeroRepository heroRepository;
+    private PlatformTransactionManager transactionManager;
+    private ApplicationEventPublisher eventPublisher;
+    private HeroBulkService heroBulkService;
+
+    @BeforeEach
+    void setUp() {
+        heroRepository = mock(HeroRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        heroBulkService = new HeroBulkService(heroRepository, transactionManager, eventPublisher, 2);
+    }
+
+    @Test
+    void deleteHeroes_shouldDeleteIdsInChunks_andPublishOneEventPerChunk() {
+        HeroBulkSelectionDto selection = new HeroBulkSelectionDto();
+        selection.setIds(List.of(1L, 2L, 3L, 3L));
+
+        when(heroRepository.lockIdsMatching(any(), eq(false), anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        when(heroRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(heroRepository.deleteAllByIdIn(List.of(3L))).thenReturn(1);
+
+        HeroBulkOperationResponseDto response = heroBulkService.deleteHeroes(selection);
+
+        assertThat(response.getAffected()).isEqualTo(3);
+        assertThat(response.getTransactions()).isEqualTo(2);
+        verify(transactionManager, times(2)).commit(any());
+        verify(eventPublisher, times(2)).publishEvent(any(HeroChangedEvent.class));
+        verify(heroRepository, never()).findById(any());
+    }
+
+    @Test
+    void deactivateHeroes_shouldWalkFilterByKeyset_andPublishChunkIds() {
+        HeroBulkSelectionDto selection = new HeroBulkSelectionDto();
+        selection.setUniverse(Universe.DC);
+
+        HeroFilter filter = new HeroFilter(Universe.DC, null, null);
+        when(heroRepository.findIdsAfter(filter, true, Long.MIN_VALUE, 2)).thenReturn(List.of(10L, 11L));
+        when(heroRepository.findIdsAfter(filter, true, 11L, 2)).thenReturn(List.of(12L, 13L));
+        when(heroRepository.findIdsAfter(filter, true, 13L, 2)).thenReturn(List.of(14L));
+        // 11 dejó de cumplir el filtro entre la lectura y su trozo
+        when(heroRepository.lockIdsMatching(filter, true, List.of(10L, 11L))).thenReturn(List.of(10L));
+        when(heroRepository.lockIdsMatching(filter, true, List.of(12L, 13L))).thenReturn(List.of(12L, 13L));
+        when(heroRepository.lockIdsMatching(filter, true, List.of(14L))).thenReturn(List.of(14L));
+        when(heroRepository.deactivateAllByIdIn(anyList(), any())).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).size());
+
+        HeroBulkOperationResponseDto response = heroBulkService.deactivateHeroes(selection);
+
+        assertThat(response.getTransactions()).isEqualTo(3);
+        assertThat(response.getAffected()).isEqualTo(4);
+        verify(heroRepository).deactivateAllByIdIn(eq(List.of(10L)), any());
+        verify(heroRepository).deactivateAllByIdIn(eq(List.of(12L, 13L)), any());
+        verify(heroRepository).deactivateAllByIdIn(eq(List.of(14L)), any());
+        // Cada evento lleva solo los ids modificados
+        verify(eventPublisher).publishEvent(HeroChangedEvent.of(HeroChangedEvent.Operation.DEACTIVATE, List.of(10L)));
+        verify(eventPublisher).publishEvent(HeroChangedEvent.of(HeroChangedEvent.Operation.DEACTIVATE, List.of(12L, 13L)));
+        verify(eventPublisher).publishEvent(HeroChangedEvent.of(HeroChangedEvent.Operation.DEACTIVATE, List.of(14L)));
+        // El último trozo no estaba lleno: no hace falta otra consulta
+        verify(heroRepository, never()).findIdsAfter(filter, true, 14L, 2);
+    }
+
+    @Test
+    void deleteHeroes_shouldUseOneTransaction_whenMatchingIdsAreSparse() {
+        HeroBulkSelectionDto selection = new HeroBulkSelectionDto();
+        selection.setMinPowerLevel(90);
+
+        HeroFilter filter = new HeroFilter(null, 90, null);
+        when(heroRepository.findIdsAfter(filter, false, Long.MIN_VALUE, 2)).thenReturn(List.of(1L, 10_000_000L));
+        when(heroRepository.findIdsAfter(filter, false, 10_000_000L, 2)).thenReturn(List.of());
+        when(heroRepository.lockIdsMatching(filter, false, List.of(1L, 10_000_000L)))
+                .thenReturn(List.of(1L, 10_000_000L));
+        when(heroRepository.deleteAllByIdIn(List.of(1L, 10_000_000L))).thenReturn(2);
+
+        HeroBulkOperationResponseDto response = heroBulkService.deleteHeroes(selection);
+
+        assertThat(response.getAffected()).isEqualTo(2);
+        assertThat(response.getTransactions()).isEqualTo(1);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void deleteHeroes_shouldNotPublishEvent_whenNoRequestedIdExists() {
+        HeroBulkSelectionDto selection = new HeroBulkSelectionDto();
+        selection.setIds(List.of(998L, 999L));
+
+        when(heroRepository.lockIdsMatching(any(), eq(false), anyList())).thenReturn(List.of());
+
+        HeroBulkOperationResponseDto response = heroBulkService.deleteHeroes(selection);
+
+        assertThat(response.getAffected()).isZero();
+        verify(heroRepository, never()).deleteAllByIdIn(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteHeroes_shouldRejectEmptySelection() {
+        HeroBulkSelectionDto selection = new HeroBulkSelectionDto();
+
+        assertThrows(IllegalArgumentException.class, () -> heroBulkService.deleteHeroes(selection));
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,92 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.coherence.HeroChangeLogPoller;
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.service.HeroService;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Dos instancias de la aplicación sobre la misma base de datos: H2 en fichero, servida en modo TCP, como una base de
+ * datos compartida real (las escrituras de un nodo se confirman en disco y el otro las lee por red).
+ */
+class HeroChangeLogCoherenceTest {
+
+    @TempDir
+    Path databaseDir;
+
+    private Server h2Server;
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        h2Server = Server.createTcpServer(
+                "-tcpPort", String.valueOf(port), "-baseDir", databaseDir.toString(), "-ifNotExists").start();
+
+        // Ruta relativa a -baseDir: coherence.mv.db en el directorio temporal del test
+        String url = "jdbc:h2:tcp://localhost:" + port + "/./coherence";
+        nodeA = startNode("node-a", url);
+        nodeB = startNode("node-b", url);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        h2Server.stop();
+    }
+
+    @Test
+    void createHero_shouldBeSeenByOtherNode_withinMaxStaleness() {
+        HeroRequestDto request = new HeroRequestDto();
+        request.setName("Coherence Man");
+        request.setUniverse(Universe.MARVEL);
+        request.setPowerLevel(50);
+
+        nodeA.getBean(HeroService.class).createHero(request);
+
+        HeroChangeLogPoller pollerA = nodeA.getBean(HeroChangeLogPoller.class);
+        HeroChangeLogPoller pollerB = nodeB.getBean(HeroChangeLogPoller.class);
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(pollerB.getRemoteChangesApplied()).isEqualTo(1));
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(pollerA.getHighWaterMark()).isEqualTo(pollerB.getHighWaterMark()));
+        // El nodo de origen no se notifica a sí mismo
+        assertThat(pollerA.getRemoteChangesApplied()).isZero();
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, String url) {
+        return new SpringApplicationBuilder(SuperheroesApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + url,
+                        "superheroes.coherence.node-id=" + nodeId,
+                        "superheroes.coherence.max-staleness=200ms")
+                .run();
+    }
+}
@@ -0,0 +1,64 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.service.HeroService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Eventos publicados por {@link HeroService}: la versión debe ser la que queda en base de datos tras la escritura,
+ * porque el change-log la difunde a los demás nodos.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:eventtest;DB_CLOSE_DELAY=-1")
+@RecordApplicationEvents
+class HeroChangedEventTest {
+
+    @Autowired
+    private HeroService heroService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void updateHero_shouldPublishVersionStoredInDatabase() {
+        Long id = heroService.createHero(request("Version Man", 50)).getId();
+        heroService.updateHero(id, request("Version Man", 60));
+        heroService.updateHero(id, request("Version Man II", 70));
+
+        List<HeroChangedEvent> published = events.stream(HeroChangedEvent.class)
+                .filter(event -> !event.affectsUnknownIds() && event.heroIds().contains(id))
+                .toList();
+        assertThat(published).extracting(HeroChangedEvent::operation).containsExactly(
+                HeroChangedEvent.Operation.CREATE, HeroChangedEvent.Operation.UPDATE, HeroChangedEvent.Operation.UPDATE);
+        assertThat(published).extracting(HeroChangedEvent::version).containsExactly(0L, 1L, 2L);
+
+        Long stored = jdbcTemplate.queryForObject("SELECT version FROM heroes WHERE id = ?", Long.class, id);
+        assertThat(published.get(2).version()).isEqualTo(stored);
+
+        // El change-log registra la misma versión que el evento
+        Long logged = jdbcTemplate.queryForObject(
+                "SELECT MAX(version) FROM hero_changes WHERE hero_id = ?", Long.class, id);
+        assertThat(logged).isEqualTo(stored);
+    }
+
+    private static HeroRequestDto request(String name, int powerLevel) {
+        HeroRequestDto request = new HeroRequestDto();
+        request.setName(name);
+        request.setUniverse(Universe.DC);
+        request.setPowerLevel(powerLevel);
+        return request;
+    }
+}
@@ -0,0 +1,164 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroHistoryEntryDto;
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.history.HeroHistoryService;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.service.HeroService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:historytest;DB_CLOSE_DELAY=-1",
+        "superheroes.history.snapshot-interval=3"
+})
+class HeroHistoryServiceTest {
+
+    @Autowired
+    private HeroService heroService;
+
+    @Autowired
+    private HeroHistoryService historyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getHeroAsOf_shouldReplayDeltasFromLatestSnapshot_whenHeroChangedSeveralTimes() throws InterruptedException {
+        LocalDateTime beforeCreate = tick();
+        Long id = heroService.createHero(request("History Man", 50)).getId();
+        LocalDateTime afterCreate = tick();
+
+        heroService.updateHero(id, request("History Man", 60));
+        LocalDateTime afterFirstUpdate = tick();
+        heroService.updateHero(id, request("History Man", 70));
+        heroService.updateHero(id, request("History Man", 80));
+        heroService.updateHero(id, request("History Man II", 80));
+        LocalDateTime afterLastUpdate = tick();
+
+        assertThat(historyService.getHeroAsOf(id, afterCreate).getPowerLevel()).isEqualTo(50);
+        assertThat(historyService.getHeroAsOf(id, afterFirstUpdate).getPowerLevel()).isEqualTo(60);
+        HeroResponseDto latest = historyService.getHeroAsOf(id, afterLastUpdate);
+        assertThat(latest.getName()).isEqualTo("History Man II");
+        assertThat(latest.getPowerLevel()).isEqualTo(80);
+        assertThrows(HeroNotFoundException.class, () -> historyService.getHeroAsOf(id, beforeCreate));
+
+        // Con snapshot-interval = 3, la tercera entrada tras el snapshot inicial es otro snapshot
+        Integer snapshots = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM hero_history WHERE hero_id = ? AND snapshot = TRUE", Integer.class, id);
+        assertThat(snapshots).isEqualTo(2);
+    }
+
+    @Test
+    void getHistory_shouldReturnOnlyChangedFields_newestFirst_whenFilteredByField() {
+        Long id = heroService.createHero(request("Audit Man", 10)).getId();
+        heroService.updateHero(id, request("Audit Man", 20));
+        heroService.updateHero(id, request("Audit Woman", 20));
+        heroService.updateHero(id, request("Audit Woman", 30));
+
+        Page<HeroHistoryEntryDto> all = historyService.getHistory(id, null, PageRequest.of(0, 10));
+        assertThat(all.getTotalElements()).isEqualTo(4);
+        assertThat(all.getContent().get(1).getChanges()).containsOnlyKeys("name");
+
+        List<Object> powerLevels = historyService.getHistory(id, "powerLevel", PageRequest.of(0, 10)).stream()
+                .map(entry -> entry.getChanges().get("powerLevel"))
+                .toList();
+        assertThat(powerLevels).containsExactly(30, 20, 10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getHistory(id, "secretIdentity", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void getHeroesAsOf_shouldIncludeDeletedHero_onlyBeforeItsDeletion() throws InterruptedException {
+        Long id = heroService.createHero(request("Gone Man", 40)).getId();
+        LocalDateTime beforeDelete = tick();
+        heroService.deleteHero(id);
+        LocalDateTime afterDelete = tick();
+
+        PageRequest byName = PageRequest.of(0, 1000, Sort.by("name"));
+        assertThat(historyService.getHeroesAsOf(beforeDelete, byName).map(HeroResponseDto::getId))
+                .contains(id);
+        assertThat(historyService.getHeroesAsOf(afterDelete, byName).map(HeroResponseDto::getId))
+                .doesNotContain(id);
+        assertThrows(HeroNotFoundException.class, () -> historyService.getHeroAsOf(id, afterDelete));
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getHeroesAsOf(afterDelete, PageRequest.of(0, 10, Sort.by("secretIdentity"))));
+    }
+
+    @Test
+    void getHeroesAsOf_shouldPageInSqlLikeInMemory_whenSortedBySingleField() throws InterruptedException {
+        Long renamed = heroService.createHero(request("Zz Paging Man", 90)).getId();
+        Long deleted = heroService.createHero(request("Zz Paging Gone", 35)).getId();
+        heroService.deleteHero(deleted);
+        LocalDateTime at = tick();
+        heroService.updateHero(renamed, request("Aa Paging Man", 10));
+
+        // Con dos criterios se ordena en memoria: sirve de referencia para la paginación en SQL
+        assertSamePages(at, Sort.by("name"), Sort.by("name", "id"));
+        assertSamePages(at, Sort.by(Sort.Direction.DESC, "powerLevel"),
+                Sort.by(Sort.Order.desc("powerLevel"), Sort.Order.asc("id")));
+        assertSamePages(at, Sort.unsorted(), Sort.by("id", "name"));
+
+        // Ordena por el nombre que tenía en ese instante y no incluye al héroe ya borrado
+        List<HeroResponseDto> byName = historyService.getHeroesAsOf(at, PageRequest.of(0, 1000, Sort.by("name")))
+                .getContent();
+        assertThat(byName).extracting(HeroResponseDto::getId).doesNotContain(deleted);
+        assertThat(byName.get(byName.size() - 1).getId()).isEqualTo(renamed);
+        assertThat(byName.get(byName.size() - 1).getName()).isEqualTo("Zz Paging Man");
+
+        // Más allá de la última página no hay filas de las que leer el total: se cuenta aparte
+        Page<HeroResponseDto> beyond = historyService.getHeroesAsOf(at, PageRequest.of(1000, 7, Sort.by("name")));
+        assertThat(beyond.getContent()).isEmpty();
+        assertThat(beyond.getTotalElements()).isEqualTo(byName.size());
+
+        // El héroe borrado sigue registrado: existía antes de su borrado
+        Integer registered = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM hero_history_heroes WHERE hero_id = ?", Integer.class, deleted);
+        assertThat(registered).isEqualTo(1);
+    }
+
+    private void assertSamePages(LocalDateTime at, Sort paged, Sort inMemory) {
+        Page<HeroResponseDto> expected = historyService.getHeroesAsOf(at, PageRequest.of(0, 1000, inMemory));
+        for (int page = 0; page * 7 < expected.getTotalElements(); page++) {
+            Page<HeroResponseDto> actual = historyService.getHeroesAsOf(at, PageRequest.of(page, 7, paged));
+            Page<HeroResponseDto> reference = historyService.getHeroesAsOf(at, PageRequest.of(page, 7, inMemory));
+            assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+            assertThat(actual.getContent()).extracting(HeroResponseDto::getId)
+                    .containsExactlyElementsOf(reference.map(HeroResponseDto::getId).getContent());
+            assertThat(actual.getContent()).extracting(HeroResponseDto::getPowerLevel)
+                    .containsExactlyElementsOf(reference.map(HeroResponseDto::getPowerLevel).getContent());
+        }
+    }
+
+    /**
+     * Instante estrictamente separado de las escrituras anteriores y posteriores.
+     */
+    private static LocalDateTime tick() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+
+    private static HeroRequestDto request(String name, int powerLevel) {
+        HeroRequestDto request = new HeroRequestDto();
+        request.setName(name);
+        request.setUniverse(Universe.MARVEL);
+        request.setPowerLevel(powerLevel);
+        return request;
+    }
+}
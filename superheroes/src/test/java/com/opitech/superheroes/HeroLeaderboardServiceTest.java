@@ -0,0 +1,115 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroLeaderboardEntryDto;
+import com.opitech.superheroes.dto.HeroRankDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.exception.HeroNotFoundException;
+import com.opitech.superheroes.leaderboard.HeroLeaderboardService;
+import com.opitech.superheroes.model.Hero;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.repository.HeroRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class HeroLeaderboardServiceTest {
+
+    private HeroRepository heroRepository;
+    private HeroLeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        heroRepository = mock(HeroRepository.class);
+        when(heroRepository.findByActiveTrue()).thenReturn(List.of(
+                hero(1L, "Iron Man", Universe.MARVEL, 85),
+                hero(2L, "Superman", Universe.DC, 100),
+                hero(3L, "Thor", Universe.MARVEL, 95),
+                hero(4L, "Batman", Universe.DC, 85)
+        ));
+        leaderboardService = new HeroLeaderboardService(heroRepository, mock(PlatformTransactionManager.class));
+        leaderboardService.warmUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboardService.close();
+    }
+
+    @Test
+    void getTop_shouldOrderByPowerDesc_thenById() {
+        List<HeroLeaderboardEntryDto> top = leaderboardService.getTop(null, 3);
+
+        assertThat(top).extracting(HeroLeaderboardEntryDto::getId).containsExactly(2L, 3L, 1L);
+        assertThat(top).extracting(HeroLeaderboardEntryDto::getRank).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void getRank_shouldReturnGlobalAndUniverseRank() {
+        HeroRankDto rank = leaderboardService.getRank(4L);
+
+        assertThat(rank.getGlobalRank()).isEqualTo(4);
+        assertThat(rank.getGlobalTotal()).isEqualTo(4);
+        assertThat(rank.getUniverseRank()).isEqualTo(2);
+        assertThat(rank.getUniverseTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void onHeroChanged_shouldReRankUpdatedHero_withoutReloadingAll() {
+        when(heroRepository.findAllById(List.of(1L))).thenReturn(List.of(hero(1L, "Iron Man", Universe.MARVEL, 99)));
+
+        leaderboardService.onHeroChanged(HeroChangedEvent.of(HeroChangedEvent.Operation.UPDATE, 1L, 2L));
+
+        assertThat(leaderboardService.getTop(Universe.MARVEL, 10))
+                .extracting(HeroLeaderboardEntryDto::getId).containsExactly(1L, 3L);
+        verify(heroRepository, times(1)).findByActiveTrue();
+    }
+
+    @Test
+    void onHeroChanged_shouldDropDeactivatedHero_withoutDatabaseAccess() {
+        leaderboardService.onHeroChanged(HeroChangedEvent.of(HeroChangedEvent.Operation.DEACTIVATE, List.of(2L)));
+
+        assertThat(leaderboardService.getTop(null, 10)).extracting(HeroLeaderboardEntryDto::getId)
+                .containsExactly(3L, 1L, 4L);
+        assertThrows(HeroNotFoundException.class, () -> leaderboardService.getRank(2L));
+        verify(heroRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void onHeroChanged_shouldReloadInBackgroundOnce_forBurstOfEventsWithoutIds() {
+        when(heroRepository.findByActiveTrue()).thenReturn(List.of(hero(2L, "Superman", Universe.DC, 100)));
+
+        for (int i = 0; i < 50; i++) {
+            leaderboardService.onHeroChanged(HeroChangedEvent.unknownIds(HeroChangedEvent.Operation.DEACTIVATE));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(leaderboardService.getTop(null, 10))
+                .extracting(HeroLeaderboardEntryDto::getId).containsExactly(2L));
+        // La carga inicial y, como mucho, dos recargas: la ráfaga puede llegar con la primera ya en curso
+        verify(heroRepository, atMost(3)).findByActiveTrue();
+    }
+
+    @Test
+    void getTop_shouldRejectLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getTop(null, 0));
+    }
+
+    private static Hero hero(Long id, String name, Universe universe, int powerLevel) {
+        Hero hero = new Hero();
+        ReflectionTestUtils.setField(hero, "id", id);
+        hero.setName(name);
+        hero.setUniverse(universe);
+        hero.setPowerLevel(powerLevel);
+        hero.setActive(true);
+        return hero;
+    }
+}
@@ -0,0 +1,126 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.pagecache.HeroPageCache;
+import com.opitech.superheroes.pagecache.PageCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HeroPageCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("name"));
+
+    private SimpleMeterRegistry registry;
+    private HeroPageCache cache;
+    private AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new HeroPageCache(new PageCacheProperties(), registry);
+        queries = new AtomicInteger();
+    }
+
+    @Test
+    void get_shouldServeRepeatedPageFromCache_andNormalizeSearchText() {
+        Page<HeroResponseDto> first = cache.get(HeroPageCache.SEARCH_HEROES_BY_NAME, "Man ", FIRST_PAGE, this::load);
+        Page<HeroResponseDto> second = cache.get(HeroPageCache.SEARCH_HEROES_BY_NAME, "man", FIRST_PAGE, this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(queries).hasValue(1);
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+        assertThat(registry.get("superheroes.pagecache.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    void get_shouldQueryAgain_whenSortOrPageDiffers() {
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, FIRST_PAGE, this::load);
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, PageRequest.of(0, 10, Sort.by("powerLevel")), this::load);
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, PageRequest.of(1, 10, Sort.by("name")), this::load);
+
+        assertThat(queries).hasValue(3);
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    void get_shouldQueryAgain_afterAnyHeroChange() {
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, FIRST_PAGE, this::load);
+
+        cache.onHeroChanged(HeroChangedEvent.of(HeroChangedEvent.Operation.UPDATE, 7L, 2L));
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, FIRST_PAGE, this::load);
+
+        assertThat(queries).hasValue(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldNotCachePage_whenWriteCommitsDuringQuery() {
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, FIRST_PAGE, () -> {
+            Page<HeroResponseDto> page = load();
+            cache.onHeroChanged(HeroChangedEvent.unknownIds(HeroChangedEvent.Operation.DEACTIVATE));
+            return page;
+        });
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, FIRST_PAGE, this::load);
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsedPages_whenMemoryLimitIsExceeded() {
+        PageCacheProperties properties = new PageCacheProperties();
+        properties.setMaxMemory(DataSize.ofKilobytes(12));
+        cache = new HeroPageCache(properties, registry);
+
+        for (int page = 0; page < 10; page++) {
+            cache.get(HeroPageCache.GET_ALL_HEROES, null, PageRequest.of(page, 10), this::load);
+            // La página 0 se usa en cada vuelta, así que nunca es la menos usada recientemente
+            cache.get(HeroPageCache.GET_ALL_HEROES, null, PageRequest.of(0, 10), this::load);
+        }
+        int queriesBefore = queries.get();
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, PageRequest.of(0, 10), this::load);
+        cache.get(HeroPageCache.GET_ALL_HEROES, null, PageRequest.of(1, 10), this::load);
+
+        assertThat(cache.memoryBytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(12).toBytes());
+        assertThat(cache.size()).isLessThan(10);
+        assertThat(queries.get() - queriesBefore).isEqualTo(1);
+        assertThat(registry.get("superheroes.pagecache.evictions").counter().count()).isPositive();
+    }
+
+    @Test
+    void get_shouldNotCacheFailures() {
+        assertThrows(IllegalArgumentException.class, () -> cache.get(HeroPageCache.SEARCH_HEROES_BY_NAME, "a",
+                FIRST_PAGE, () -> {
+                    throw new IllegalArgumentException("Parameter 'name' must have at least 2 non-blank characters");
+                }));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private Page<HeroResponseDto> load() {
+        queries.incrementAndGet();
+        List<HeroResponseDto> heroes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            HeroResponseDto hero = new HeroResponseDto();
+            hero.setId((long) i);
+            hero.setName("Hero " + i);
+            hero.setAlias("Alias " + i);
+            heroes.add(hero);
+        }
+        return new PageImpl<>(heroes, FIRST_PAGE, 100);
+    }
+}
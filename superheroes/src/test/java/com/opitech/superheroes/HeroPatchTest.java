@@ -0,0 +1,163 @@
+package com.opitech.superheroes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opitech.superheroes.profiling.SqlStatementProfiler;
+import com.opitech.superheroes.profiling.StatementStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH de héroes (JSON Merge Patch) sobre la base de datos de la aplicación, con los héroes iniciales.
+ * Cada test usa héroes distintos para no depender del orden de ejecución.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:patchtest;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class HeroPatchTest {
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementProfiler profiler;
+
+    @Test
+    void patchHero_shouldIssueOneUpdate_andLeaveOtherFieldsUnchanged() throws Exception {
+        JsonNode before = getHero(1);
+
+        profiler.reset();
+        patchHero(1, "{\"powerLevel\": 97}", null).andExpect(status().isNoContent());
+        assertThat(executions("update heroes")).isEqualTo(1);
+
+        JsonNode after = getHero(1);
+        assertThat(after.path("powerLevel").asInt()).isEqualTo(97);
+        assertThat(after.path("name").asText()).isEqualTo(before.path("name").asText());
+        assertThat(after.path("alias").asText()).isEqualTo(before.path("alias").asText());
+        assertThat(after.path("universe").asText()).isEqualTo(before.path("universe").asText());
+        assertThat(after.path("active").asBoolean()).isEqualTo(before.path("active").asBoolean());
+        assertThat(after.path("version").asLong()).isEqualTo(before.path("version").asLong() + 1);
+    }
+
+    @Test
+    void patchHero_shouldClearAlias_whenNullIsExplicit_andKeepIt_whenAbsent() throws Exception {
+        patchHero(2, "{\"powerLevel\": 86}", null).andExpect(status().isNoContent());
+        assertThat(getHero(2).path("alias").asText()).isEqualTo("Bruce Wayne");
+
+        patchHero(2, "{\"alias\": null}", null).andExpect(status().isNoContent());
+        assertThat(getHero(2).path("alias").isNull()).isTrue();
+
+        patchHero(2, "{\"name\": null}", null)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("name: must not be null"));
+    }
+
+    @Test
+    void patchHero_shouldReturnNotFound_whenNoRowIsUpdated() throws Exception {
+        patchHero(999_999, "{\"powerLevel\": 50}", null)
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+        patchHero(999_999, "{\"powerLevel\": 50}", "\"0\"").andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchHero_shouldReturnPreconditionFailed_whenIfMatchVersionIsStale() throws Exception {
+        long version = getHero(3).path("version").asLong();
+
+        patchHero(3, "{\"powerLevel\": 91}", "W/\"" + version + "\"").andExpect(status().isNoContent());
+
+        patchHero(3, "{\"powerLevel\": 90}", "W/\"" + version + "\"")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+        patchHero(3, "{\"powerLevel\": 90}", "\"" + version + "\"").andExpect(status().isPreconditionFailed());
+
+        patchHero(3, "{\"powerLevel\": 90}", "\"" + (version + 1) + "\"").andExpect(status().isNoContent());
+        patchHero(3, "{\"powerLevel\": 90}", "not-a-version").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchHeroes_shouldApplyItemsInOneJdbcBatch_andReportNotUpdatedIds() throws Exception {
+        long staleVersion = getHero(5).path("version").asLong() - 1;
+
+        profiler.reset();
+        mockMvc.perform(patch("/api/v1/heroes")
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("""
+                                {"items": [
+                                  {"id": 4, "powerLevel": 70},
+                                  {"id": 5, "version": %d, "powerLevel": 71},
+                                  {"id": 6, "powerLevel": 72},
+                                  {"id": 999999, "powerLevel": 73}
+                                ]}""".formatted(staleVersion)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(4))
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.notUpdatedIds", contains(5, 999999)));
+
+        // Un executeBatch por sentencia distinta (con y sin condición de versión), no uno por héroe
+        assertThat(executions("update heroes")).isEqualTo(2);
+        assertThat(getHero(4).path("powerLevel").asInt()).isEqualTo(70);
+        assertThat(getHero(5).path("powerLevel").asInt()).isNotEqualTo(71);
+        assertThat(getHero(6).path("powerLevel").asInt()).isEqualTo(72);
+    }
+
+    @Test
+    void patchHeroes_shouldReturnConflict_andUpdateNothing_whenNameBelongsToAnotherHero() throws Exception {
+        int powerLevel = getHero(7).path("powerLevel").asInt();
+
+        mockMvc.perform(patch("/api/v1/heroes")
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("""
+                                {"items": [
+                                  {"id": 7, "powerLevel": 10},
+                                  {"id": 8, "name": "Superman"}
+                                ]}"""))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+
+        assertThat(getHero(7).path("powerLevel").asInt()).isEqualTo(powerLevel);
+        assertThat(getHero(8).path("name").asText()).isEqualTo("Green Arrow");
+    }
+
+    private ResultActions patchHero(long id, String body, String ifMatch) throws Exception {
+        var request = patch("/api/v1/heroes/{id}", id).contentType(MERGE_PATCH_JSON).content(body);
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private JsonNode getHero(long id) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/heroes/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    /**
+     * Ejecuciones registradas por el profiler de las sentencias que empiezan por el prefijo (sin distinguir
+     * mayúsculas); un executeBatch cuenta como una.
+     */
+    private long executions(String prefix) {
+        return profiler.snapshot().statements().stream()
+                .filter(statement -> statement.sql().toLowerCase().startsWith(prefix))
+                .mapToLong(StatementStats.Snapshot::executions)
+                .sum();
+    }
+}
@@ -0,0 +1,87 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.search.HeroSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeroSearchIndexTest {
+
+    @Test
+    void search_shouldFindHeroByAlias_ignoringCaseAndAccents() {
+        HeroSearchIndex index = new HeroSearchIndex();
+        index.put(1, "Batman", "Bruce Wayne", Universe.DC, true);
+        index.put(2, "Superman", "Clark Kent", Universe.DC, true);
+        index.put(3, "Pantera Negra", "T'Challa Udaku", Universe.MARVEL, true);
+
+        assertThat(index.search("BRUCE", 10)).extracting(HeroSearchIndex.Hit::id).containsExactly(1L);
+        assertThat(index.search("údaku", 10)).extracting(HeroSearchIndex.Hit::id).containsExactly(3L);
+    }
+
+    @Test
+    void search_shouldRankNameMatchesAboveAliasMatches() {
+        HeroSearchIndex index = new HeroSearchIndex();
+        index.put(1, "Iron Man", "Tony Stark", Universe.MARVEL, true);
+        index.put(2, "War Machine", "James Rhodes, the Iron Patriot", Universe.MARVEL, true);
+        index.put(3, "Spider-Man", "Peter Parker", Universe.MARVEL, true);
+
+        List<HeroSearchIndex.Hit> hits = index.search("iron", 10);
+
+        assertThat(hits).extracting(HeroSearchIndex.Hit::id).containsExactly(1L, 2L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void search_shouldReflectUpdatesAndRemovals() {
+        HeroSearchIndex index = new HeroSearchIndex();
+        index.put(1, "Batman", "Bruce Wayne", Universe.DC, true);
+        index.put(2, "Robin", "Dick Grayson", Universe.DC, true);
+
+        index.put(2, "Nightwing", "Dick Grayson", Universe.DC, true);
+        index.setActive(1, false);
+
+        assertThat(index.search("robin", 10)).isEmpty();
+        assertThat(index.search("nightwing", 10)).extracting(HeroSearchIndex.Hit::id).containsExactly(2L);
+        assertThat(index.search("batman", 10)).singleElement()
+                .extracting(HeroSearchIndex.Hit::active).isEqualTo(false);
+
+        index.remove(1);
+
+        assertThat(index.search("batman bruce", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void search_shouldReturnSameTopKAsExhaustiveScoring_whenSkippingWithWand() {
+        HeroSearchIndex index = new HeroSearchIndex();
+        String[] words = {"captain", "iron", "spider", "man", "woman", "dark", "knight", "black", "widow", "green",
+                "lantern", "arrow", "flash", "storm", "star", "lord", "doctor", "strange"};
+        Random random = new Random(7);
+        for (long id = 1; id <= 2_000; id++) {
+            index.put(id, phrase(words, random), phrase(words, random), Universe.MARVEL, true);
+        }
+        for (long id = 1; id <= 2_000; id += 7) {
+            index.remove(id);
+        }
+
+        for (String query : List.of("iron man", "dark knight woman", "star lord strange", "flash")) {
+            List<HeroSearchIndex.Hit> exhaustive = index.search(query, index.size());
+            List<HeroSearchIndex.Hit> top = index.search(query, 10);
+
+            assertThat(top).containsExactlyElementsOf(exhaustive.subList(0, 10));
+        }
+    }
+
+    private static String phrase(String[] words, Random random) {
+        StringBuilder phrase = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            phrase.append(i == 0 ? "" : " ").append(words[random.nextInt(words.length)]);
+        }
+        return phrase.toString();
+    }
+}
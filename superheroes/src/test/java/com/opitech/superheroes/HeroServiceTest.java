@@ -10,6 +10,8 @@ import com.opitech.superheroes.service.HeroService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -26,7 +28,7 @@ class HeroServiceTest {
     @BeforeEach
     void setUp() {
         heroRepository = mock(HeroRepository.class);
-        heroService = new HeroService(heroRepository);
+        heroService = new HeroService(heroRepository, mock(ApplicationEventPublisher.class), mock(ObjectProvider.class));
     }
 
     @Test
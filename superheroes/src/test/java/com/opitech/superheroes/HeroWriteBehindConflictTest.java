@@ -0,0 +1,76 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroPatchDto;
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.service.HeroService;
+import com.opitech.superheroes.writebehind.HeroWriteBehindService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Write-behind frente a escrituras síncronas confirmadas mientras una actualización está pendiente. Sin volcados
+ * automáticos: cada test vuelca explícitamente con {@link HeroWriteBehindService#flush()}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writebehindtest;DB_CLOSE_DELAY=-1",
+        "superheroes.write-behind.enabled=true",
+        "superheroes.write-behind.flush-interval=1h"
+})
+class HeroWriteBehindConflictTest {
+
+    @Autowired
+    private HeroService heroService;
+
+    @Autowired
+    private HeroWriteBehindService writeBehindService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void flush_shouldKeepLaterDeactivation_whenUpdateWasBufferedBefore() {
+        Long id = heroService.createHero(request("Buffered Man", 50)).getId();
+        double conflictsBefore = registry.counter("superheroes.writebehind.conflicts").count();
+
+        writeBehindService.updateHero(id, request("Buffered Man", 60));
+        HeroPatchDto deactivate = new HeroPatchDto();
+        deactivate.setActive(false);
+        heroService.patchHero(id, deactivate, null);
+
+        assertThat(writeBehindService.flush()).isZero();
+
+        assertThat(heroService.getHeroById(id).getActive()).isFalse();
+        assertThat(heroService.getHeroById(id).getPowerLevel()).isEqualTo(50);
+        assertThat(registry.counter("superheroes.writebehind.conflicts").count()).isEqualTo(conflictsBefore + 1);
+    }
+
+    @Test
+    void patchHero_shouldThrowConflict_whenAnotherHeroHasNamePendingInBuffer() {
+        Long pendingId = heroService.createHero(request("Pending Man", 40)).getId();
+        Long otherId = heroService.createHero(request("Other Man", 40)).getId();
+        writeBehindService.updateHero(pendingId, request("Taken Name", 40));
+
+        HeroPatchDto rename = new HeroPatchDto();
+        rename.setName("taken name");
+        assertThrows(HeroAlreadyExistsException.class, () -> heroService.patchHero(otherId, rename, null));
+        assertThrows(HeroAlreadyExistsException.class, () -> heroService.createHero(request("Taken Name", 10)));
+
+        assertThat(writeBehindService.flush()).isEqualTo(1);
+        assertThat(heroService.getHeroById(pendingId).getName()).isEqualTo("Taken Name");
+    }
+
+    private static HeroRequestDto request(String name, int powerLevel) {
+        HeroRequestDto request = new HeroRequestDto();
+        request.setName(name);
+        request.setUniverse(Universe.MARVEL);
+        request.setPowerLevel(powerLevel);
+        return request;
+    }
+}
@@ -0,0 +1,231 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.event.HeroChangedEvent;
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.exception.WriteBufferFullException;
+import com.opitech.superheroes.model.Hero;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.repository.HeroPatchCommand;
+import com.opitech.superheroes.repository.HeroRepository;
+import com.opitech.superheroes.service.HeroService;
+import com.opitech.superheroes.writebehind.HeroWriteBehindService;
+import com.opitech.superheroes.writebehind.WriteBehindProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class HeroWriteBehindServiceTest {
+
+    private HeroService heroService;
+    private HeroRepository heroRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private WriteBehindProperties properties;
+    private SimpleMeterRegistry registry;
+    private HeroWriteBehindService writeBehindService;
+
+    @BeforeEach
+    void setUp() {
+        heroService = mock(HeroService.class);
+        heroRepository = mock(HeroRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(heroRepository.findById(1L)).thenReturn(Optional.of(hero(1L, "Iron Man", 80)));
+        when(heroRepository.findById(2L)).thenReturn(Optional.of(hero(2L, "Thor", 90)));
+        when(heroRepository.patchAll(anyList())).thenAnswer(invocation -> {
+            List<?> commands = invocation.getArgument(0);
+            int[] counts = new int[commands.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+
+        properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        // Sin volcados automáticos durante el test: se vuelca explícitamente con flush()
+        properties.setFlushInterval(Duration.ofHours(1));
+        writeBehindService = createService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehindService.stop();
+    }
+
+    @Test
+    void updateHero_shouldCoalesceUpdates_andFlushOnlyLatestStateInOneBatch() {
+        writeBehindService.updateHero(1L, request("Iron Man", 81));
+        writeBehindService.updateHero(1L, request("Iron Man", 82));
+        writeBehindService.updateHero(2L, request("Thor", 95));
+        writeBehindService.updateHero(1L, request("Iron Man", 83));
+
+        verify(heroRepository, never()).patchAll(anyList());
+        verify(heroRepository, times(1)).findById(1L);
+
+        assertThat(writeBehindService.flush()).isEqualTo(2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<HeroPatchCommand>> commands = ArgumentCaptor.forClass(List.class);
+        verify(heroRepository, times(1)).patchAll(commands.capture());
+        assertThat(commands.getValue()).extracting(HeroPatchCommand::id).containsExactly(1L, 2L);
+        assertThat(commands.getValue().get(0).changes()).containsEntry("powerLevel", 83);
+        verify(eventPublisher).publishEvent(HeroChangedEvent.of(HeroChangedEvent.Operation.UPDATE, List.of(1L, 2L)));
+        assertThat(writeBehindService.getPendingCount()).isZero();
+    }
+
+    @Test
+    void overlay_shouldReturnPendingState_untilFlushed() {
+        HeroResponseDto stored = new HeroResponseDto();
+        stored.setId(1L);
+        stored.setName("Iron Man");
+        stored.setPowerLevel(80);
+
+        writeBehindService.updateHero(1L, request("Iron Man", 99));
+
+        assertThat(writeBehindService.overlay(stored).getPowerLevel()).isEqualTo(99);
+
+        writeBehindService.flush();
+
+        assertThat(writeBehindService.overlay(stored)).isSameAs(stored);
+    }
+
+    @Test
+    void updateHero_shouldThrowConflict_whenAnotherPendingHeroHasSameName() {
+        writeBehindService.updateHero(1L, request("Hulk", 81));
+
+        assertThrows(HeroAlreadyExistsException.class, () -> writeBehindService.updateHero(2L, request("hulk ", 95)));
+        assertThat(writeBehindService.getPendingCount()).isEqualTo(1);
+
+        // Una vez que el héroe 1 deja de usar el nombre en el buffer, queda libre
+        writeBehindService.updateHero(1L, request("Iron Man", 82));
+        writeBehindService.updateHero(2L, request("Hulk", 95));
+        assertThat(writeBehindService.flush()).isEqualTo(2);
+    }
+
+    @Test
+    void flush_shouldDiscardUpdate_andCountConflict_whenHeroChangedAfterItWasAccepted() {
+        writeBehindService.updateHero(1L, request("Iron Man", 81));
+        // Otra escritura confirmó la versión 1 antes del volcado
+        when(heroRepository.patchAll(anyList())).thenReturn(new int[]{0});
+        when(heroRepository.existsById(1L)).thenReturn(true);
+
+        assertThat(writeBehindService.flush()).isZero();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<HeroPatchCommand>> commands = ArgumentCaptor.forClass(List.class);
+        verify(heroRepository).patchAll(commands.capture());
+        assertThat(commands.getValue().get(0).expectedVersion()).isZero();
+        assertThat(registry.counter("superheroes.writebehind.conflicts").count()).isEqualTo(1);
+        verify(eventPublisher, never()).publishEvent(any(HeroChangedEvent.class));
+        assertThat(writeBehindService.getPendingCount()).isZero();
+    }
+
+    @Test
+    void flush_shouldExpectVersionLeftByPreviousFlush_whenHeroWasUpdatedDuringIt() {
+        writeBehindService.updateHero(1L, request("Iron Man", 81));
+        when(heroRepository.patchAll(anyList())).thenAnswer(invocation -> {
+            // Llega mientras se vuelca la versión 0: parte del estado en volcado
+            writeBehindService.updateHero(1L, request("Iron Man", 82));
+            return new int[]{1};
+        }).thenReturn(new int[]{1});
+
+        assertThat(writeBehindService.flush()).isEqualTo(2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<HeroPatchCommand>> commands = ArgumentCaptor.forClass(List.class);
+        verify(heroRepository, times(2)).patchAll(commands.capture());
+        assertThat(commands.getAllValues()).extracting(batch -> batch.get(0).expectedVersion())
+                .containsExactly(0L, 1L);
+    }
+
+    @Test
+    void ownerOf_shouldReturnHeroWithPendingName_untilFlushed() {
+        writeBehindService.updateHero(1L, request("Hulk", 81));
+
+        assertThat(writeBehindService.ownerOf(" hulk")).contains(1L);
+        assertThat(writeBehindService.ownerOf("Thor")).isEmpty();
+
+        writeBehindService.flush();
+
+        assertThat(writeBehindService.ownerOf("Hulk")).isEmpty();
+    }
+
+    @Test
+    void updateHero_shouldRejectNewHero_whenBufferIsFull() {
+        properties.setCapacity(1);
+        properties.setOfferTimeout(Duration.ofMillis(20));
+        writeBehindService.stop();
+        writeBehindService = createService();
+
+        writeBehindService.updateHero(1L, request("Iron Man", 81));
+        // El mismo héroe sustituye su entrada y no necesita sitio nuevo
+        writeBehindService.updateHero(1L, request("Iron Man", 82));
+
+        assertThrows(WriteBufferFullException.class, () -> writeBehindService.updateHero(2L, request("Thor", 95)));
+    }
+
+    @Test
+    void stop_shouldFlushPendingUpdates() {
+        writeBehindService.updateHero(1L, request("Iron Man", 81));
+
+        writeBehindService.stop();
+
+        verify(heroRepository).patchAll(anyList());
+        assertThat(writeBehindService.getPendingCount()).isZero();
+    }
+
+    @Test
+    void updateHero_shouldDelegateToHeroService_whenDisabled() {
+        properties.setEnabled(false);
+        writeBehindService.stop();
+        writeBehindService = createService();
+        HeroRequestDto request = request("Iron Man", 81);
+
+        writeBehindService.updateHero(1L, request);
+
+        verify(heroService).updateHero(1L, request);
+        verify(heroRepository, never()).findById(any());
+    }
+
+    private HeroWriteBehindService createService() {
+        registry = new SimpleMeterRegistry();
+        HeroWriteBehindService service = new HeroWriteBehindService(heroService, heroRepository,
+                mock(PlatformTransactionManager.class), eventPublisher, properties, registry);
+        service.start();
+        return service;
+    }
+
+    private static HeroRequestDto request(String name, int powerLevel) {
+        HeroRequestDto request = new HeroRequestDto();
+        request.setName(name);
+        request.setUniverse(Universe.MARVEL);
+        request.setPowerLevel(powerLevel);
+        return request;
+    }
+
+    private static Hero hero(Long id, String name, int powerLevel) {
+        Hero hero = new Hero();
+        ReflectionTestUtils.setField(hero, "id", id);
+        hero.setName(name);
+        hero.setUniverse(Universe.MARVEL);
+        hero.setPowerLevel(powerLevel);
+        hero.setActive(true);
+        ReflectionTestUtils.setField(hero, "version", 0L);
+        return hero;
+    }
+}
@@ -0,0 +1,49 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.sharding.KWayMerge;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KWayMergeTest {
+
+    private final List<List<Integer>> runs = List.of(
+            List.of(1, 4, 7, 10),
+            List.of(2, 5, 8),
+            List.of(),
+            List.of(3, 6, 9)
+    );
+
+    @Test
+    void page_shouldMergeRunsInGlobalOrder() {
+        List<Integer> page = KWayMerge.page(runs, Comparator.naturalOrder(), 0, 5);
+
+        assertThat(page).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void page_shouldSkipOffsetAcrossRuns() {
+        List<Integer> page = KWayMerge.page(runs, Comparator.naturalOrder(), 5, 3);
+
+        assertThat(page).containsExactly(6, 7, 8);
+    }
+
+    @Test
+    void page_shouldReturnRemainingElements_whenLastPageIsShort() {
+        List<Integer> page = KWayMerge.page(runs, Comparator.naturalOrder(), 8, 5);
+
+        assertThat(page).containsExactly(9, 10);
+    }
+
+    @Test
+    void page_shouldRespectDescendingOrder() {
+        List<List<Integer>> descendingRuns = List.of(List.of(9, 3), List.of(8, 7, 1));
+
+        List<Integer> page = KWayMerge.page(descendingRuns, Comparator.<Integer>reverseOrder(), 0, 4);
+
+        assertThat(page).containsExactly(9, 8, 7, 3);
+    }
+}
@@ -0,0 +1,120 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.memstore.MemoryHeroStore;
+import com.opitech.superheroes.memstore.MemoryStoreProperties;
+import com.opitech.superheroes.model.Universe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MemoryHeroStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private MemoryStoreProperties properties;
+    private MemoryHeroStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MemoryStoreProperties();
+        properties.setDirectory(directory);
+        store = new MemoryHeroStore(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void save_shouldSurviveRestart_byReplayingJournal() {
+        HeroResponseDto batman = store.save(hero("Batman", Universe.DC, 85));
+        HeroResponseDto thor = store.save(hero("Thor", Universe.MARVEL, 95));
+        thor.setPowerLevel(99);
+        store.save(thor);
+        store.deleteById(batman.getId());
+
+        store.close();
+        store = new MemoryHeroStore(properties);
+
+        assertThat(store.count()).isEqualTo(1);
+        assertThat(store.findById(batman.getId())).isEmpty();
+        HeroResponseDto recovered = store.findById(thor.getId()).orElseThrow();
+        assertThat(recovered.getPowerLevel()).isEqualTo(99);
+        assertThat(recovered.getVersion()).isEqualTo(1);
+        assertThat(store.findByNameIgnoreCase("THOR")).isPresent();
+    }
+
+    @Test
+    void compact_shouldWriteSnapshot_andKeepIdsOfDeletedHeroesReserved() throws IOException {
+        store.save(hero("Batman", Universe.DC, 85));
+        HeroResponseDto flash = store.save(hero("Flash", Universe.DC, 80));
+        store.deleteById(flash.getId());
+
+        store.compact();
+        store.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .anyMatch(name -> name.startsWith("snapshot-"));
+        }
+        store = new MemoryHeroStore(properties);
+
+        assertThat(store.count()).isEqualTo(1);
+        assertThat(store.save(hero("Superman", Universe.DC, 100)).getId()).isGreaterThan(flash.getId());
+    }
+
+    @Test
+    void findByUniverse_shouldSortAndPageInMemory() {
+        store.save(hero("Iron Man", Universe.MARVEL, 85));
+        store.save(hero("Superman", Universe.DC, 100));
+        store.save(hero("Thor", Universe.MARVEL, 95));
+        store.save(hero("Hulk", Universe.MARVEL, 90));
+
+        Page<HeroResponseDto> page = store.findByUniverse(Universe.MARVEL,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "powerLevel")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(HeroResponseDto::getName).containsExactly("Thor", "Hulk");
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase_shouldMatchSubstring() {
+        store.save(hero("Iron Man", Universe.MARVEL, 85));
+        store.save(hero("Superman", Universe.DC, 100));
+        store.save(hero("Thor", Universe.MARVEL, 95));
+
+        Page<HeroResponseDto> page = store.findByNameContainingIgnoreCase("MAN", PageRequest.of(0, 10, Sort.by("name")));
+
+        assertThat(page.getContent()).extracting(HeroResponseDto::getName).containsExactly("Iron Man", "Superman");
+    }
+
+    @Test
+    void save_shouldRejectDuplicateName() {
+        store.save(hero("Thor", Universe.MARVEL, 95));
+
+        assertThrows(DataIntegrityViolationException.class, () -> store.save(hero("thor", Universe.OTHER, 10)));
+    }
+
+    private static HeroResponseDto hero(String name, Universe universe, int powerLevel) {
+        HeroResponseDto hero = new HeroResponseDto();
+        hero.setName(name);
+        hero.setUniverse(universe);
+        hero.setPowerLevel(powerLevel);
+        return hero;
+    }
+}
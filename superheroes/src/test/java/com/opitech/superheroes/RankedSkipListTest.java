@@ -0,0 +1,49 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.leaderboard.RankedSkipList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedSkipListTest {
+
+    @Test
+    void rankOf_shouldMatchSortedOrder_afterRandomInsertsAndRemovals() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertThat(list.add(value)).isEqualTo(expected.add(value));
+            } else {
+                assertThat(list.remove(value)).isEqualTo(expected.remove(value));
+            }
+        }
+
+        assertThat(list.size()).isEqualTo(expected.size());
+        int rank = 1;
+        for (Integer value : expected) {
+            assertThat(list.rankOf(value)).isEqualTo(rank++);
+        }
+        assertThat(list.first(10)).containsExactlyElementsOf(new ArrayList<>(expected).subList(0, 10));
+    }
+
+    @Test
+    void rankOf_shouldReturnZero_whenElementIsMissing() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(Comparator.reverseOrder());
+        list.add(10);
+        list.add(30);
+        list.add(20);
+
+        assertThat(list.rankOf(30)).isEqualTo(1);
+        assertThat(list.rankOf(10)).isEqualTo(3);
+        assertThat(list.rankOf(15)).isZero();
+    }
+}
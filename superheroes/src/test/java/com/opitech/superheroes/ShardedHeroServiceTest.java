@@ -0,0 +1,169 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroRequestDto;
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.exception.HeroAlreadyExistsException;
+import com.opitech.superheroes.exception.HeroVersionConflictException;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.sharding.HeroDirectory;
+import com.opitech.superheroes.sharding.ShardedHeroService;
+import com.opitech.superheroes.sharding.ShardedHeroStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ShardedHeroServiceTest {
+
+    private HeroDirectory directory;
+    private ShardedHeroStore store;
+    private ShardedHeroService service;
+
+    @BeforeEach
+    void setUp() {
+        directory = mock(HeroDirectory.class);
+        store = mock(ShardedHeroStore.class);
+        service = new ShardedHeroService(directory, store);
+
+        when(directory.universeOf(1L)).thenReturn(Optional.of(Universe.DC));
+        when(store.findById(Universe.DC, 1L)).thenAnswer(invocation -> Optional.of(batman()));
+        when(store.update(any())).thenReturn(1);
+        when(store.delete(Universe.DC, 1L, 0L)).thenReturn(1);
+    }
+
+    @Test
+    void updateHero_shouldInsertIntoNewShard_thenUpdateDirectory_thenDeleteFromOldShard_whenUniverseChanges() {
+        when(store.findById(Universe.MARVEL, 1L)).thenReturn(Optional.of(batman()));
+        doAnswer(invocation -> {
+            when(directory.universeOf(1L)).thenReturn(Optional.of(Universe.MARVEL));
+            return null;
+        }).when(directory).update(1L, "Batman", Universe.MARVEL);
+
+        service.updateHero(1L, request("Batman", Universe.MARVEL));
+
+        InOrder inOrder = inOrder(store, directory);
+        inOrder.verify(store).insert(argThat(hero -> hero.getUniverse() == Universe.MARVEL && hero.getVersion() == 1));
+        inOrder.verify(directory).update(1L, "Batman", Universe.MARVEL);
+        inOrder.verify(store).delete(Universe.DC, 1L, 0L);
+    }
+
+    @Test
+    void updateHero_shouldLeaveDirectoryAndOldShardUntouched_whenInsertIntoNewShardFails() {
+        doThrow(new DataAccessResourceFailureException("shard down")).when(store).insert(any());
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> service.updateHero(1L, request("Batman", Universe.MARVEL)));
+
+        verify(directory, never()).update(any(), any(), any());
+        verify(store, never()).delete(any(), any());
+        verify(store, never()).delete(any(), any(), anyLong());
+        assertThat(service.getHeroById(1L).getUniverse()).isEqualTo(Universe.DC);
+    }
+
+    @Test
+    void updateHero_shouldRemoveCopyFromNewShard_andThrowConflict_whenNameIsTakenInDirectory() {
+        doThrow(new DuplicateKeyException("uk_hero_directory_name"))
+                .when(directory).update(1L, "Superman", Universe.MARVEL);
+
+        assertThrows(HeroAlreadyExistsException.class,
+                () -> service.updateHero(1L, request("Superman", Universe.MARVEL)));
+
+        verify(store).delete(Universe.MARVEL, 1L);
+        verify(store, never()).delete(eq(Universe.DC), eq(1L), anyLong());
+    }
+
+    @Test
+    void updateHero_shouldRestoreDirectory_andRemoveCopyFromNewShard_whenOldShardDeleteFails() {
+        when(store.delete(Universe.DC, 1L, 0L)).thenThrow(new DataAccessResourceFailureException("shard down"));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> service.updateHero(1L, request("Batman", Universe.MARVEL)));
+
+        InOrder inOrder = inOrder(store, directory);
+        inOrder.verify(directory).update(1L, "Batman", Universe.MARVEL);
+        inOrder.verify(directory).update(1L, "Batman", Universe.DC);
+        inOrder.verify(store).delete(Universe.MARVEL, 1L);
+    }
+
+    @Test
+    void updateHero_shouldRestoreDirectoryName_whenShardUpdateFails() {
+        when(store.update(any())).thenThrow(new DataAccessResourceFailureException("shard down"));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> service.updateHero(1L, request("Dark Knight", Universe.DC)));
+
+        InOrder inOrder = inOrder(directory);
+        inOrder.verify(directory).update(1L, "Dark Knight", Universe.DC);
+        inOrder.verify(directory).update(1L, "Batman", Universe.DC);
+    }
+
+    @Test
+    void updateHero_shouldRestoreDirectory_andThrowConflict_whenHeroChangedBeforeShardUpdate() {
+        // Otra actualización cambió la versión (o movió el héroe) entre la lectura y la escritura
+        when(store.update(any())).thenReturn(0);
+
+        assertThrows(HeroVersionConflictException.class,
+                () -> service.updateHero(1L, request("Dark Knight", Universe.DC)));
+
+        InOrder inOrder = inOrder(directory);
+        inOrder.verify(directory).update(1L, "Dark Knight", Universe.DC);
+        inOrder.verify(directory).update(1L, "Batman", Universe.DC);
+    }
+
+    @Test
+    void updateHero_shouldRestoreDirectory_andThrowConflict_whenHeroChangedBeforeMove() {
+        when(store.delete(Universe.DC, 1L, 0L)).thenReturn(0);
+
+        assertThrows(HeroVersionConflictException.class,
+                () -> service.updateHero(1L, request("Batman", Universe.MARVEL)));
+
+        InOrder inOrder = inOrder(store, directory);
+        inOrder.verify(directory).update(1L, "Batman", Universe.MARVEL);
+        inOrder.verify(directory).update(1L, "Batman", Universe.DC);
+        inOrder.verify(store).delete(Universe.MARVEL, 1L);
+    }
+
+    @Test
+    void createHero_shouldReleaseNameReservation_whenShardInsertFails() {
+        when(directory.register("Nightwing", Universe.DC)).thenReturn(2L);
+        doThrow(new DataAccessResourceFailureException("shard down")).when(store).insert(any());
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> service.createHero(request("Nightwing", Universe.DC)));
+
+        verify(directory).remove(2L);
+    }
+
+    private static HeroResponseDto batman() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        HeroResponseDto hero = new HeroResponseDto();
+        hero.setId(1L);
+        hero.setName("Batman");
+        hero.setAlias("Bruce Wayne");
+        hero.setUniverse(Universe.DC);
+        hero.setPowerLevel(85);
+        hero.setActive(true);
+        hero.setCreatedAt(createdAt);
+        hero.setUpdatedAt(createdAt);
+        hero.setVersion(0L);
+        return hero;
+    }
+
+    private static HeroRequestDto request(String name, Universe universe) {
+        HeroRequestDto request = new HeroRequestDto();
+        request.setName(name);
+        request.setAlias("Bruce Wayne");
+        request.setUniverse(universe);
+        request.setPowerLevel(85);
+        return request;
+    }
+}
@@ -0,0 +1,160 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.dto.HeroResponseDto;
+import com.opitech.superheroes.model.Universe;
+import com.opitech.superheroes.sharding.HeroDirectory;
+import com.opitech.superheroes.sharding.HeroShardRouter;
+import com.opitech.superheroes.sharding.ShardedHeroStore;
+import com.opitech.superheroes.sharding.ShardingProperties;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Router, almacenamiento y directorio del modo particionado sobre shards H2 en memoria.
+ */
+class ShardedHeroStoreTest {
+
+    private ShardingProperties properties;
+    private HeroShardRouter router;
+    private ShardedHeroStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ShardingProperties();
+        properties.setMaxScatterWindow(100);
+        String prefix = UUID.randomUUID().toString();
+        for (Universe universe : Universe.values()) {
+            properties.getShards().put(universe, shard("jdbc:h2:mem:" + prefix + "-" + universe + ";DB_CLOSE_DELAY=-1"));
+        }
+        router = new HeroShardRouter(properties);
+        store = new ShardedHeroStore(router, properties);
+
+        store.insert(hero(1L, "Superman", Universe.DC, 95));
+        store.insert(hero(2L, "Iron Man", Universe.MARVEL, 90));
+        store.insert(hero(3L, "Batman", Universe.DC, 85));
+        store.insert(hero(4L, "Invincible", Universe.OTHER, 92));
+        store.insert(hero(5L, "Hulk", Universe.MARVEL, 94));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+        router.close();
+    }
+
+    @Test
+    void findPage_shouldMergeShardsInGlobalOrder_whenUniverseIsNull() {
+        Page<HeroResponseDto> page = store.findPage(null, null, PageRequest.of(1, 2, Sort.by("name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(HeroResponseDto::getName).containsExactly("Invincible", "Iron Man");
+    }
+
+    @Test
+    void findPage_shouldQueryOnlyOneShard_whenUniverseIsGiven() {
+        Page<HeroResponseDto> page = store.findPage(
+                Universe.MARVEL, "man", PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "powerLevel")));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).extracting(HeroResponseDto::getId).containsExactly(2L);
+    }
+
+    @Test
+    void findPage_shouldRejectCrossShardPage_whenBeyondMaxScatterWindow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> store.findPage(null, null, PageRequest.of(10, 10)));
+    }
+
+    @Test
+    void updateAndDelete_shouldOnlyTouchTheHeroShard() {
+        HeroResponseDto batman = store.findById(Universe.DC, 3L).orElseThrow();
+        batman.setPowerLevel(86);
+
+        assertThat(store.update(batman)).isEqualTo(1);
+        assertThat(store.findById(Universe.DC, 3L).orElseThrow().getVersion()).isEqualTo(1);
+        // La copia leída sigue en la versión 0: ya no se aplica
+        assertThat(store.update(batman)).isZero();
+        assertThat(store.delete(Universe.DC, 3L, 0L)).isZero();
+        assertThat(store.delete(Universe.MARVEL, 3L)).isZero();
+        assertThat(store.delete(Universe.DC, 3L)).isEqualTo(1);
+        assertThat(store.findById(Universe.DC, 3L)).isEmpty();
+    }
+
+    @Test
+    void constructor_shouldCloseOpenedPools_whenLaterShardIsMissing() throws SQLException {
+        // Sin DB_CLOSE_DELAY la base en memoria desaparece al cerrarse su última conexión
+        String marvelUrl = "jdbc:h2:mem:" + UUID.randomUUID() + "-marvel";
+        ShardingProperties incomplete = new ShardingProperties();
+        incomplete.getShards().put(Universe.MARVEL, shard(marvelUrl));
+
+        assertThrows(IllegalStateException.class, () -> new HeroShardRouter(incomplete));
+
+        try (Connection connection = DriverManager.getConnection(marvelUrl, "sa", "");
+             ResultSet tables = connection.getMetaData().getTables(null, null, "HEROES", null)) {
+            assertThat(tables.next()).isFalse();
+        }
+    }
+
+    @Test
+    void directory_shouldEnforceGlobalNameUniqueness_ignoringCase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE hero_directory (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    name_key VARCHAR(100) NOT NULL,
+                    universe VARCHAR(50) NOT NULL,
+                    CONSTRAINT uk_hero_directory_name UNIQUE (name_key)
+                )""");
+        HeroDirectory directory = new HeroDirectory(jdbcTemplate);
+
+        long superman = directory.register("Superman", Universe.DC);
+        long batman = directory.register("Batman", Universe.DC);
+
+        assertThrows(DataIntegrityViolationException.class, () -> directory.register(" superman ", Universe.MARVEL));
+        assertThrows(DataIntegrityViolationException.class, () -> directory.update(batman, "SUPERMAN", Universe.DC));
+
+        directory.update(superman, "Superman", Universe.OTHER);
+        assertThat(directory.universeOf(superman)).contains(Universe.OTHER);
+        directory.remove(superman);
+        assertThat(directory.universeOf(superman)).isEmpty();
+    }
+
+    private static ShardingProperties.Shard shard(String url) {
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setUrl(url);
+        return shard;
+    }
+
+    private static HeroResponseDto hero(Long id, String name, Universe universe, int powerLevel) {
+        LocalDateTime now = LocalDateTime.now();
+        HeroResponseDto hero = new HeroResponseDto();
+        hero.setId(id);
+        hero.setName(name);
+        hero.setUniverse(universe);
+        hero.setPowerLevel(powerLevel);
+        hero.setActive(true);
+        hero.setCreatedAt(now);
+        hero.setUpdatedAt(now);
+        hero.setVersion(0L);
+        return hero;
+    }
+}
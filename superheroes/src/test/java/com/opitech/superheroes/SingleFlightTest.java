@@ -0,0 +1,117 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.coalescing.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_shouldShareOneCall_whenConcurrentCallsUseSameKey() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("getHeroById", Duration.ofSeconds(5), registry);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+                executions.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "hero-1";
+            }));
+            assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                followers.add(executor.submit(() -> flight.execute(1L, () -> {
+                    executions.incrementAndGet();
+                    return "unexpected";
+                })));
+            }
+            // Los seguidores deben estar esperando antes de que el líder termine
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("hero-1");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("hero-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(flight.coalescingRatio()).isEqualTo(0.8);
+        assertThat(registry.get("superheroes.coalescing.calls").tag("outcome", "shared").counter().count())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void execute_shouldRunOwnCall_whenLeaderExceedsTimeout() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("getHeroById", Duration.ofMillis(50), registry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> flight.execute(1L, () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "slow";
+            }));
+            assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(flight.execute(1L, () -> "own")).isEqualTo("own");
+            assertThat(registry.get("superheroes.coalescing.calls").tag("outcome", "timeout").counter().count())
+                    .isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_shouldNotCacheResult_afterLeaderFinishes() {
+        SingleFlight<Long, String> flight = new SingleFlight<>("getHeroById", Duration.ofSeconds(1), registry);
+        AtomicInteger executions = new AtomicInteger();
+
+        flight.execute(1L, () -> "v" + executions.incrementAndGet());
+        String second = flight.execute(1L, () -> "v" + executions.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+    }
+
+    @Test
+    void execute_shouldPropagateLeaderException() {
+        SingleFlight<Long, String> flight = new SingleFlight<>("getHeroById", Duration.ofSeconds(1), registry);
+
+        assertThrows(IllegalArgumentException.class, () -> flight.execute(1L, () -> {
+            throw new IllegalArgumentException("boom");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.opitech.superheroes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:sqlprofiletest;DB_CLOSE_DELAY=-1")
+class SqlProfileEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void sqlprofile_shouldExposeStatementsAndEndpoints_andResetOnDelete() {
+        restTemplate.delete("/actuator/sqlprofile");
+        assertThat(restTemplate.getForEntity("/api/v1/heroes/1", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/actuator/sqlprofile", JsonNode.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode profile = response.getBody();
+        assertThat(profile.path("slowQueryThresholdMillis").asLong()).isEqualTo(200);
+        assertThat(profile.path("statements").isArray()).isTrue();
+        assertThat(profile.path("statements").get(0).has("rowsReturned")).isTrue();
+
+        JsonNode endpoint = profile.path("endpoints").path("GET /api/v1/heroes/{id}");
+        assertThat(endpoint.path("requests").asLong()).isEqualTo(1);
+        assertThat(endpoint.path("statements").asLong()).isGreaterThanOrEqualTo(1);
+
+        restTemplate.delete("/actuator/sqlprofile");
+        JsonNode reset = restTemplate.getForObject("/actuator/sqlprofile", JsonNode.class);
+        assertThat(reset.path("endpoints").size()).isZero();
+    }
+}
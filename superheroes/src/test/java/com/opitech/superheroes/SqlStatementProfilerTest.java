@@ -0,0 +1,157 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.profiling.SlowQueryLog;
+import com.opitech.superheroes.profiling.SqlProfilerProperties;
+import com.opitech.superheroes.profiling.SqlStatementProfiler;
+import com.opitech.superheroes.profiling.StatementStats;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatementProfilerTest {
+
+    private static final String SELECT = "SELECT id FROM items ORDER BY id";
+
+    private SqlProfilerProperties properties;
+    private SlowQueryLog slowQueryLog;
+    private SqlStatementProfiler profiler;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        properties = new SqlProfilerProperties();
+        properties.setStatementsPerRequestWarnThreshold(2);
+        properties.setSlowQueryThreshold(Duration.ofHours(1));
+        slowQueryLog = mock(SlowQueryLog.class);
+        profiler = new SqlStatementProfiler(properties, slowQueryLog);
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(profiler)
+                .methodListener(profiler)
+                .proxyResultSet()
+                .build();
+
+        execute("CREATE TABLE items (id INT PRIMARY KEY)");
+        execute("INSERT INTO items VALUES (1), (2), (3)");
+        profiler.reset();
+    }
+
+    @Test
+    void snapshot_shouldAttributeReturnedAndAffectedRowsToEachStatement() throws SQLException {
+        assertThat(query(SELECT)).isEqualTo(3);
+        execute("UPDATE items SET id = id + 10 WHERE id > 1");
+
+        StatementStats.Snapshot select = stats(SELECT);
+        assertThat(select.executions()).isEqualTo(1);
+        assertThat(select.rowsReturned()).isEqualTo(3);
+        assertThat(select.totalMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(select.maxMillis()).isEqualTo(select.totalMillis());
+
+        StatementStats.Snapshot update = stats("UPDATE items SET id = id + 10 WHERE id > 1");
+        assertThat(update.rowsAffected()).isEqualTo(2);
+        assertThat(update.rowsReturned()).isZero();
+    }
+
+    @Test
+    void afterMethod_shouldNotCreditRowsToClosedStatement_whenOutsideRequest() throws Exception {
+        assertThat(query(SELECT)).isEqualTo(3);
+
+        // Un ResultSet leído después en el mismo hilo sin pasar por afterQuery (p. ej. metadatos del driver)
+        profiler.afterMethod(MethodExecutionContext.Builder.create()
+                .target(mock(ResultSet.class))
+                .method(ResultSet.class.getMethod("next"))
+                .result(true)
+                .build());
+
+        assertThat(stats(SELECT).rowsReturned()).isEqualTo(3);
+    }
+
+    @Test
+    void endRequest_shouldCountStatementsPerEndpoint_andWarnAboveThreshold(CapturedOutput output) throws SQLException {
+        profiler.beginRequest();
+        query(SELECT);
+        query(SELECT);
+        query(SELECT);
+        profiler.endRequest("GET /api/v1/items");
+
+        profiler.beginRequest();
+        query(SELECT);
+        profiler.endRequest("GET /api/v1/items");
+
+        SqlStatementProfiler.EndpointSnapshot endpoint = profiler.snapshot().endpoints().get("GET /api/v1/items");
+        assertThat(endpoint.requests()).isEqualTo(2);
+        assertThat(endpoint.statements()).isEqualTo(4);
+        assertThat(endpoint.avgStatementsPerRequest()).isEqualTo(2.0);
+        assertThat(endpoint.maxStatementsPerRequest()).isEqualTo(3);
+        assertThat(output).containsOnlyOnce("GET /api/v1/items executed 3 SQL statements in a single request");
+    }
+
+    @Test
+    void afterQuery_shouldSubmitToSlowQueryLog_onlyAtOrAboveThreshold() throws SQLException {
+        query(SELECT);
+        verify(slowQueryLog, never()).submit(anyLong(), anyString(), anyString());
+
+        properties.setSlowQueryThreshold(Duration.ZERO);
+        query(SELECT);
+        verify(slowQueryLog).submit(anyLong(), eq(SELECT), anyString());
+    }
+
+    @Test
+    void afterQuery_shouldGroupUntrackedStatements_whenMaxTrackedStatementsReached() throws SQLException {
+        properties.setMaxTrackedStatements(1);
+        query(SELECT);
+        query("SELECT COUNT(*) FROM items");
+
+        assertThat(profiler.snapshot().statements())
+                .extracting(StatementStats.Snapshot::sql)
+                .containsExactlyInAnyOrder(SELECT, "<other>");
+    }
+
+    private StatementStats.Snapshot stats(String sql) {
+        return profiler.snapshot().statements().stream()
+                .filter(statement -> statement.sql().equals(sql))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+
+    private int query(String sql) throws SQLException {
+        int rows = 0;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,56 @@
+package com.opitech.superheroes;
+
+import com.opitech.superheroes.startup.StartupWarmUp;
+import com.opitech.superheroes.startup.WarmUpTask;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StartupWarmUpTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void run_shouldWaitForAllTasks_runningThemInParallel() {
+        // Cada tarea espera a que la otra haya empezado: solo terminan si se ejecutan a la vez
+        CountDownLatch started = new CountDownLatch(2);
+        WarmUpTask first = () -> awaitBoth(started);
+        WarmUpTask second = () -> awaitBoth(started);
+        StartupWarmUp warmUp = new StartupWarmUp(List.of(first, second), registry);
+
+        warmUp.afterSingletonsInstantiated();
+        warmUp.run(null);
+
+        assertThat(started.getCount()).isZero();
+        assertThat(registry.get("superheroes.startup.warmup").timers()).isNotEmpty();
+    }
+
+    @Test
+    void run_shouldFailStartup_whenTaskFails() {
+        WarmUpTask failing = () -> {
+            throw new IllegalStateException("database unavailable");
+        };
+        StartupWarmUp warmUp = new StartupWarmUp(List.of(failing), registry);
+
+        warmUp.afterSingletonsInstantiated();
+
+        assertThrows(CompletionException.class, () -> warmUp.run(null));
+    }
+
+    private static void awaitBoth(CountDownLatch started) {
+        started.countDown();
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}